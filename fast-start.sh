@@ -0,0 +1,20 @@
+#!/bin/sh
+# Starts the shell from the thin jar built by `./mvnw -P fast-start package`, using the
+# AOT-generated context, a class-data-sharing archive and the fast-start profile.
+# The archive is recorded by a non-interactive training run whenever the jar changes.
+set -e
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+JAR="$TARGET/university-management.jar"
+ARCHIVE="$TARGET/university-management.jsa"
+OPTIONS="-XX:TieredStopAtLevel=1 -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start"
+
+if [ ! -f "$JAR" ]; then
+    echo "$JAR not found, build it with ./mvnw -P fast-start package" >&2
+    exit 1
+fi
+if [ ! -f "$ARCHIVE" ] || [ "$JAR" -nt "$ARCHIVE" ]; then
+    rm -f "$ARCHIVE"
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" $OPTIONS $JAVA_OPTS -jar "$JAR" \
+        < /dev/null > /dev/null
+fi
+exec java -XX:SharedArchiveFile="$ARCHIVE" $OPTIONS $JAVA_OPTS -jar "$JAR" "$@"
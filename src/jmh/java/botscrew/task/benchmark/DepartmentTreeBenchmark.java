@@ -0,0 +1,126 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.model.Employee;
+import botscrew.task.service.DepartmentTreeService;
+import botscrew.task.tree.DepartmentTreeUpdater;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentTreeBenchmark {
+    private static final int LEVELS = 10;
+    private static final String CHILDREN_SQL = "SELECT id FROM departments WHERE parent_id = ?";
+    private static final String SUBTREE_TOTALS_SQL = "SELECT e.degree, COUNT(*), SUM(e.salary) "
+            + "FROM (SELECT DISTINCT ed.employee_id FROM department_closure c "
+            + "JOIN departments d ON d.id = c.descendant_id "
+            + "JOIN employees_departments ed ON d.id = ed.department_id "
+            + "WHERE c.ancestor_id = ?) s JOIN employees e ON e.id = s.employee_id "
+            + "GROUP BY e.degree";
+    private static final String MEMBERS_SQL = "SELECT e.id, e.degree, e.salary FROM employees e "
+            + "JOIN employees_departments ed ON ed.employee_id = e.id "
+            + "WHERE ed.department_id = ?";
+
+    // the subtree root, level 0 holds the whole ten-level tree
+    @Param({"0", "5", "9"})
+    private int level;
+
+    private DepartmentTreeService departmentTreeService;
+    private JdbcTemplate jdbcTemplate;
+    private UniversityState university;
+    private int first;
+    private int width;
+    private int next;
+
+    // level l holds departments l * width + 1 .. (l + 1) * width, each under the one above
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        this.university = university;
+        departmentTreeService = university.getBean(DepartmentTreeService.class);
+        jdbcTemplate = university.getBean(JdbcTemplate.class);
+        width = (university.departments() + LEVELS - 1) / LEVELS;
+        List<Object[]> parents = new ArrayList<>();
+        for (int index = width; index < university.departments(); index++) {
+            int parentLevel = index / width - 1;
+            parents.add(new Object[]{parentLevel * width + index % width / 2 + 1, index + 1});
+        }
+        jdbcTemplate.batchUpdate("UPDATE departments SET parent_id = ? WHERE id = ?", parents);
+        university.getBean(DepartmentTreeUpdater.class).rebuild();
+        first = level * width;
+    }
+
+    @Benchmark
+    public DepartmentCountsDto closureQuery() {
+        return departmentTreeService.findSubtreeCounts(university.departmentName(nextNumber()));
+    }
+
+    // the same single query without the repository and transaction around it
+    @Benchmark
+    public DepartmentCountsDto closureJdbc() {
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        BigDecimal[] salarySum = {BigDecimal.ZERO};
+        jdbcTemplate.query(SUBTREE_TOTALS_SQL, row -> {
+            counts.put(Employee.Degree.valueOf(row.getString(1)), row.getLong(2));
+            salarySum[0] = salarySum[0].add(row.getBigDecimal(3));
+        }, university.departmentId(nextNumber()));
+        return counts(counts, salarySum[0]);
+    }
+
+    @Benchmark
+    public DepartmentCountsDto recursiveLookups() {
+        Map<Long, Object[]> members = new HashMap<>();
+        collect(university.departmentId(nextNumber()), members);
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        BigDecimal salarySum = BigDecimal.ZERO;
+        for (Object[] member : members.values()) {
+            counts.merge((Employee.Degree) member[0], 1L, Long::sum);
+            salarySum = salarySum.add((BigDecimal) member[1]);
+        }
+        return counts(counts, salarySum);
+    }
+
+    // the departments of the level take turns, H2 reuses the result of a repeated query
+    private int nextNumber() {
+        return first + next++ % width;
+    }
+
+    private DepartmentCountsDto counts(Map<Employee.Degree, Long> counts, BigDecimal salarySum) {
+        DepartmentAggregate aggregate = new DepartmentAggregate(null, null, counts, salarySum);
+        return new DepartmentCountsDto(null, aggregate.countsByDegree(),
+                aggregate.count(), aggregate.averageSalary());
+    }
+
+    private void collect(long id, Map<Long, Object[]> members) {
+        jdbcTemplate.query(MEMBERS_SQL, row -> {
+            members.putIfAbsent(row.getLong(1), new Object[]{
+                    Employee.Degree.valueOf(row.getString(2)), row.getBigDecimal(3)});
+        }, id);
+        for (Long child : jdbcTemplate.queryForList(CHILDREN_SQL, Long.class, id)) {
+            collect(child, members);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.dto.EmployeeNameDto;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 100);
+
+    private EmployeeRepository employeeRepository;
+    private Employee.Degree[] degrees;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        employeeRepository = university.getBean(EmployeeRepository.class);
+        degrees = Employee.Degree.values();
+    }
+
+    @Benchmark
+    public Optional<Employee> findByDepartmentAndIsHead(UniversityState university) {
+        return employeeRepository.findByDepartmentAndIsHead(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public int countByDepartmentAndDegree(UniversityState university) {
+        next++;
+        return employeeRepository.countByDepartmentAndDegree(
+                university.departmentName(next), degrees[next % degrees.length]);
+    }
+
+    @Benchmark
+    public List<DegreeAggregateDto> findAggregateByDepartmentId(UniversityState university) {
+        return employeeRepository.findAggregateByDepartmentId(university.departmentId(next++));
+    }
+
+    @Benchmark
+    public BigDecimal findAverageSalaryByDepartment(UniversityState university) {
+        return employeeRepository.findAverageSalaryByDepartment(
+                university.departmentName(next++));
+    }
+
+    @Benchmark
+    public int countByDepartment(UniversityState university) {
+        return employeeRepository.countByDepartment(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public Slice<String> findNamesByNameContains(UniversityState university) {
+        return employeeRepository.findNamesByNameContains(university.namePart(next++),
+                FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<EmployeeNameDto> findNamesAfterId(UniversityState university) {
+        return employeeRepository.findNamesAfterId((long) (next++ % university.employees()),
+                FIRST_PAGE);
+    }
+}
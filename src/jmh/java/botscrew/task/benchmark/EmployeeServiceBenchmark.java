@@ -0,0 +1,58 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.service.EmployeeService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private EmployeeService employeeService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        employeeService = university.getBean(EmployeeService.class);
+    }
+
+    @Benchmark
+    public String headOfDepartment(UniversityState university) {
+        return employeeService.headOfDepartment(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public String showStatistics(UniversityState university) {
+        return employeeService.showStatistics(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public String showAverageSalary(UniversityState university) {
+        return employeeService.showAverageSalary(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public String showCountForDepartment(UniversityState university) {
+        return employeeService.showCountForDepartment(university.departmentName(next++));
+    }
+
+    @Benchmark
+    public String globalSearchBy(UniversityState university) {
+        return employeeService.globalSearchBy(university.namePart(next++), 0, PAGE_SIZE);
+    }
+}
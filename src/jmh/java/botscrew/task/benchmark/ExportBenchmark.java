@@ -0,0 +1,55 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.export.ExportFormat;
+import botscrew.task.service.ExportService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExportBenchmark {
+    @Param({"CSV", "JSONL", "COLUMNAR"})
+    private ExportFormat format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ExportService exportService;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) throws IOException {
+        exportService = university.getBean(ExportService.class);
+        directory = Files.createTempDirectory("export-benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public String export() {
+        return exportService.export(directory.toString(), format, gzip, progress -> { });
+    }
+}
@@ -0,0 +1,118 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.format.OutputBuffer;
+import botscrew.task.format.OutputFormat;
+import botscrew.task.format.ResultWriter;
+import botscrew.task.model.Employee;
+import botscrew.task.res.Messages;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// run with -prof gc: the *Formatted methods are the String.format and stream based output this
+// replaced, gc.alloc.rate.norm compares the bytes each answer allocates
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputFormatBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ResultWriter TEXT = OutputFormat.TEXT.getWriter();
+    private static final ResultWriter JSON = OutputFormat.JSON.getWriter();
+
+    private final DepartmentHeadDto head = new DepartmentHeadDto("Computer Science",
+            "Margaret Hamilton");
+    private final DepartmentCountsDto counts = new DepartmentCountsDto("Computer Science",
+            Map.of(Employee.Degree.ASSISTANT, 120L, Employee.Degree.ASSOCIATE_PROFESSOR, 45L,
+                    Employee.Degree.PROFESSOR, 17L), 182, new BigDecimal("2543.27"));
+    private final NamePageDto names = new NamePageDto(IntStream.range(0, PAGE_SIZE)
+            .mapToObj(i -> "Employee " + i + " Surname")
+            .toList(), true);
+
+    @Benchmark
+    public String headFormatted() {
+        return String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE, head.department(), head.head());
+    }
+
+    @Benchmark
+    public String headWritten() {
+        return TEXT.head(head, OutputBuffer.acquire()).toString();
+    }
+
+    @Benchmark
+    public String statisticsFormatted() {
+        return Arrays.stream(Employee.Degree.values())
+                .map(degree -> String.format(Messages.STATISTIC_LINE_MESSAGE,
+                        degree.getTitle(), counts.count(degree)))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Benchmark
+    public String statisticsWritten() {
+        return TEXT.statistics(counts, OutputBuffer.acquire()).toString();
+    }
+
+    @Benchmark
+    public String averageSalaryFormatted() {
+        return String.format(Messages.AVERAGE_SALARY_MESSAGE, counts.department(),
+                counts.averageSalary());
+    }
+
+    @Benchmark
+    public String averageSalaryWritten() {
+        return TEXT.averageSalary(counts, OutputBuffer.acquire()).toString();
+    }
+
+    @Benchmark
+    public String namesFormatted() {
+        String joined = String.join(", ", names.names());
+        return names.hasMore()
+                ? joined + String.format(Messages.NEXT_PAGE_MESSAGE, 1) : joined;
+    }
+
+    @Benchmark
+    public String namesWritten() {
+        return TEXT.names(names, 0, OutputBuffer.acquire()).toString();
+    }
+
+    @Benchmark
+    public String statisticsJsonMapped() throws JsonProcessingException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Employee.Degree degree : Employee.Degree.values()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("department", counts.department());
+            row.put("degree", degree.name());
+            row.put("count", counts.count(degree));
+            rows.add(row);
+        }
+        return MAPPER.writeValueAsString(rows);
+    }
+
+    @Benchmark
+    public String statisticsJsonWritten() {
+        return JSON.statistics(counts, OutputBuffer.acquire()).toString();
+    }
+}
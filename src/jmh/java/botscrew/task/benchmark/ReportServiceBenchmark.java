@@ -0,0 +1,58 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.service.EmployeeService;
+import botscrew.task.service.ReportService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceBenchmark {
+    private ReportService reportService;
+    private EmployeeService employeeService;
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        reportService = university.getBean(ReportService.class);
+        employeeService = university.getBean(EmployeeService.class);
+        departmentAggregateCache = university.getBean(DepartmentAggregateCache.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void invalidate() {
+        departmentAggregateCache.invalidateAll();
+    }
+
+    @Benchmark
+    public String universityReport(Blackhole blackhole) {
+        return reportService.universityReport(blackhole::consume);
+    }
+
+    @Benchmark
+    public void sequentialCommands(UniversityState university, Blackhole blackhole) {
+        for (int department = 0; department < university.departments(); department++) {
+            String departmentName = university.departmentName(department);
+            blackhole.consume(employeeService.headOfDepartment(departmentName));
+            blackhole.consume(employeeService.showStatistics(departmentName));
+            blackhole.consume(employeeService.showAverageSalary(departmentName));
+            blackhole.consume(employeeService.showCountForDepartment(departmentName));
+        }
+    }
+}
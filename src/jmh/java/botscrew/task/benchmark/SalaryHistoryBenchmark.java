@@ -0,0 +1,110 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.history.SalaryHistory;
+import botscrew.task.history.SalaryRollupUpdater;
+import botscrew.task.model.Employee;
+import botscrew.task.service.SalaryHistoryService;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaryHistoryBenchmark {
+    private static final int BATCH_SIZE = 5_000;
+    private static final int RANGE_MONTHS = 12;
+    private static final int DAYS_IN_SHORTEST_MONTH = 28;
+    private static final String MEMBERSHIPS_SQL =
+            "SELECT employee_id, department_id FROM employees_departments";
+    private static final String INSERT_SQL = "INSERT INTO salary_history "
+            + "(department_id, employee_id, degree, salary, effective_from) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    // every membership gets one salary change a month
+    @Param({"12", "48"})
+    private int months;
+
+    private SalaryHistoryService salaryHistoryService;
+    private SalaryHistory salaryHistory;
+    private UniversityState university;
+    private YearMonth lastMonth;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        this.university = university;
+        salaryHistoryService = university.getBean(SalaryHistoryService.class);
+        salaryHistory = university.getBean(SalaryHistory.class);
+        JdbcTemplate jdbcTemplate = university.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM salary_rollups");
+        jdbcTemplate.update("DELETE FROM salary_history");
+        List<long[]> memberships = jdbcTemplate.query(MEMBERSHIPS_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        Employee.Degree[] degrees = Employee.Degree.values();
+        lastMonth = YearMonth.now().minusMonths(1);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int month = 0; month < months; month++) {
+            YearMonth current = lastMonth.minusMonths(months - 1 - month);
+            for (long[] membership : memberships) {
+                long employee = membership[0];
+                rows.add(new Object[]{membership[1], employee,
+                        degrees[(int) (employee % degrees.length)].name(),
+                        1000 + (employee + month) % 3000,
+                        Timestamp.from(SalaryRollupUpdater.startOf(current)
+                                .plus(Duration.ofDays(employee % DAYS_IN_SHORTEST_MONTH)))});
+                if (rows.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                    rows.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        university.getBean(SalaryRollupUpdater.class).rollUp();
+    }
+
+    @Benchmark
+    public String rollupRange() {
+        return salaryHistoryService.showSalaryHistory(university.departmentName(next++),
+                lastMonth.minusMonths(RANGE_MONTHS - 1).toString(), lastMonth.toString());
+    }
+
+    // the same months answered by as-of queries over the raw history
+    @Benchmark
+    public List<List<DegreeTotalDto>> historyRange() {
+        Long departmentId = university.departmentId(next++);
+        List<List<DegreeTotalDto>> totals = new ArrayList<>(RANGE_MONTHS);
+        for (int month = RANGE_MONTHS - 1; month >= 0; month--) {
+            totals.add(salaryHistory.totalsAsOf(departmentId,
+                    SalaryRollupUpdater.startOf(lastMonth.minusMonths(month).plusMonths(1))));
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<YearMonth, List<DegreeTotalDto>> rollupRows() {
+        return salaryHistory.rollups(university.departmentId(next++),
+                lastMonth.minusMonths(RANGE_MONTHS - 1), lastMonth);
+    }
+}
@@ -0,0 +1,66 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.model.Employee;
+import botscrew.task.service.SnapshotService;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotServiceBenchmark {
+    private static final int BUCKETS = 10;
+
+    private SnapshotService snapshotService;
+    private EmployeeSnapshotStore employeeSnapshotStore;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(UniversityState university) {
+        snapshotService = university.getBean(SnapshotService.class);
+        employeeSnapshotStore = university.getBean(EmployeeSnapshotStore.class);
+    }
+
+    @Benchmark
+    public String showSalaryPercentiles(UniversityState university) {
+        return snapshotService.showSalaryPercentiles(university.departmentName(next++), null);
+    }
+
+    @Benchmark
+    public String showSalaryPercentilesByDegree(UniversityState university) {
+        return snapshotService.showSalaryPercentiles(university.departmentName(next++),
+                Employee.Degree.PROFESSOR);
+    }
+
+    @Benchmark
+    public String showUniversitySalaryPercentiles() {
+        return snapshotService.showSalaryPercentiles(null, null);
+    }
+
+    @Benchmark
+    public String showSalaryHistogram(UniversityState university) {
+        return snapshotService.showSalaryHistogram(university.departmentName(next++), null,
+                BUCKETS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int refresh() {
+        return employeeSnapshotStore.refresh().employees();
+    }
+}
@@ -0,0 +1,119 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.BotsCrewTestTaskApplication;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("university-management.jar");
+    private static final Pattern READY = Pattern.compile("Ready for commands in (\\d+) ms");
+    private static final List<String> FAST_START_OPTIONS = List.of("-XX:TieredStopAtLevel=1",
+            "-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-start");
+
+    @Param({"DEFAULT", "FAST_START"})
+    private String mode;
+
+    private Path directory;
+    private String classpath;
+    private final List<String> options = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        if (!Files.exists(JAR)) {
+            throw new IllegalStateException(JAR + " not found, build it with "
+                    + "mvn -P fast-start package");
+        }
+        directory = Files.createTempDirectory("startup-benchmark");
+        classpath = String.join(File.pathSeparator, JAR.toString(),
+                TARGET.resolve("lib").resolve("*").toString(), h2Jar());
+        if ("FAST_START".equals(mode)) {
+            Path archive = directory.resolve("university-management.jsa");
+            options.addAll(FAST_START_OPTIONS);
+            List<String> training = new ArrayList<>(options);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            launch(training);
+            options.add("-XX:SharedArchiveFile=" + archive);
+        } else {
+            launch(options);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long timeToFirstPrompt() throws IOException, InterruptedException {
+        return launch(options);
+    }
+
+    private long launch(List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-Dspring.shell.interactive.enabled=false",
+                "-Dspring.datasource.url=jdbc:h2:file:" + directory.resolve("university"),
+                "-Dspring.datasource.driver-class-name=org.h2.Driver",
+                "-Dspring.datasource.username=sa",
+                "-Dschema-check.stamp-file=" + directory.resolve("schema-checksum"),
+                "-cp", classpath, BotsCrewTestTaskApplication.class.getName()));
+        // the AOT build fixes the interactive shell on, so end of input is what exits it
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null"))).start();
+        long readyMillis = -1;
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher ready = READY.matcher(line);
+                if (ready.find()) {
+                    readyMillis = Long.parseLong(ready.group(1));
+                }
+            }
+        }
+        if (process.waitFor() != 0 || readyMillis < 0) {
+            throw new IllegalStateException("Application didn't start: " + command);
+        }
+        return readyMillis;
+    }
+
+    private static String h2Jar() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 is not on the classpath"));
+    }
+}
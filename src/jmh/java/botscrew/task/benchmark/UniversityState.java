@@ -0,0 +1,126 @@
+package botscrew.task.benchmark;
+
+import botscrew.task.BotsCrewTestTaskApplication;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.DepartmentStatsService;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.tree.DepartmentTreeUpdater;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@State(Scope.Benchmark)
+public class UniversityState {
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Elvis", "Freddie", "John",
+            "Maria", "Olena", "Peter", "Taras", "Yoko"};
+
+    @Param("20")
+    private int departments;
+
+    @Param("1000")
+    private int employeesPerDepartment;
+
+    @Param("2")
+    private int membershipsPerEmployee;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BotsCrewTestTaskApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.shell.interactive.enabled=false",
+                        "spring.shell.script.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .run();
+        generate(context.getBean(JdbcTemplate.class));
+        context.getBean(DepartmentTreeUpdater.class).rebuild();
+        context.getBean(DepartmentStatsService.class).reconcile();
+        context.getBean(DepartmentRegistry.class).reload();
+        context.getBean(EmployeeNameIndex.class).rebuild();
+        context.getBean(EmployeeSnapshotStore.class).refresh();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public String departmentName(int number) {
+        return "Department " + (number % departments + 1);
+    }
+
+    public Long departmentId(int number) {
+        return (long) (number % departments + 1);
+    }
+
+    public String namePart(int number) {
+        return FIRST_NAMES[number % FIRST_NAMES.length];
+    }
+
+    public int departments() {
+        return departments;
+    }
+
+    public int employees() {
+        return departments * employeesPerDepartment;
+    }
+
+    private void generate(JdbcTemplate jdbcTemplate) {
+        Employee.Degree[] degrees = Employee.Degree.values();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= employees(); id++) {
+            rows.add(new Object[]{id, FIRST_NAMES[id % FIRST_NAMES.length] + " Employee " + id,
+                    degrees[id % degrees.length].name(), 1000 + id % 3000});
+            flushIfFull(jdbcTemplate, "insert into employees (id, name, degree, salary) "
+                    + "values (?, ?, ?, ?)", rows);
+        }
+        flush(jdbcTemplate, "insert into employees (id, name, degree, salary) "
+                + "values (?, ?, ?, ?)", rows);
+        for (int department = 1; department <= departments; department++) {
+            rows.add(new Object[]{department, "Department " + department,
+                    (department - 1) * employeesPerDepartment + 1});
+        }
+        flush(jdbcTemplate, "insert into departments (id, name, head_id) values (?, ?, ?)", rows);
+        int memberships = Math.min(membershipsPerEmployee, departments);
+        for (int id = 1; id <= employees(); id++) {
+            int home = (id - 1) / employeesPerDepartment;
+            for (int offset = 0; offset < memberships; offset++) {
+                rows.add(new Object[]{id, (home + offset) % departments + 1});
+                flushIfFull(jdbcTemplate, "insert into employees_departments "
+                        + "(employee_id, department_id) values (?, ?)", rows);
+            }
+        }
+        flush(jdbcTemplate, "insert into employees_departments (employee_id, department_id) "
+                + "values (?, ?)", rows);
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            flush(jdbcTemplate, sql, rows);
+        }
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package botscrew.task.batch;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public record BatchCommand(BatchCommandType type, String argument, Map<String, String> options) {
+    private static final String OPTION_PREFIX = "--";
+    // the longest prefix wins, so subtree commands aren't read as department ones
+    private static final List<BatchCommandType> TYPES = Arrays.stream(BatchCommandType.values())
+            .sorted(Comparator.comparingInt(
+                    (BatchCommandType type) -> type.getPrefix().length()).reversed())
+            .toList();
+
+    // options follow the argument as --name value or --name=value, like in the shell
+    public static Optional<BatchCommand> parse(String line) {
+        String text = line.strip();
+        int optionsStart = text.startsWith(OPTION_PREFIX) ? 0
+                : text.indexOf(" " + OPTION_PREFIX) + 1;
+        Map<String, String> options = new LinkedHashMap<>();
+        if (optionsStart > 0 && !parseOptions(text.substring(optionsStart), options)) {
+            return Optional.empty();
+        }
+        String command = optionsStart > 0 ? text.substring(0, optionsStart).strip() : text;
+        return TYPES.stream()
+                .filter(type -> command.startsWith(type.getPrefix())
+                        && command.endsWith(type.getSuffix())
+                        && command.length() > type.getPrefix().length()
+                        + type.getSuffix().length())
+                .findFirst()
+                .map(type -> new BatchCommand(type, command.substring(type.getPrefix().length(),
+                        command.length() - type.getSuffix().length()).strip(), Map.copyOf(options)))
+                .filter(parsed -> !parsed.argument().isEmpty()
+                        && parsed.type().getOptions().containsAll(options.keySet()));
+    }
+
+    public BatchCommand withOptions(Map<String, String> added) {
+        Map<String, String> merged = new LinkedHashMap<>(options);
+        merged.putAll(added);
+        return new BatchCommand(type, argument, Map.copyOf(merged));
+    }
+
+    public String option(String name) {
+        return options.get(name);
+    }
+
+    public String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(type.format(argument));
+        options.forEach((name, value) -> line.append(' ').append(OPTION_PREFIX).append(name)
+                .append('=').append(value));
+        return line.toString();
+    }
+
+    private static boolean parseOptions(String text, Map<String, String> options) {
+        for (String option : text.substring(OPTION_PREFIX.length()).split(" " + OPTION_PREFIX)) {
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                separator = option.indexOf(' ');
+            }
+            if (separator <= 0) {
+                return false;
+            }
+            String value = unquote(option.substring(separator + 1).strip());
+            if (value.isEmpty()) {
+                return false;
+            }
+            options.put(option.substring(0, separator).strip(), value);
+        }
+        return true;
+    }
+
+    private static String unquote(String value) {
+        return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,33 @@
+package botscrew.task.batch;
+
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BatchCommandType {
+    HEAD_OF_DEPARTMENT("Who is head of department ", "", true, Set.of()),
+    AVERAGE_SALARY("Show the average salary for the department ", "", true, Set.of("as-of")),
+    COUNT_FOR_DEPARTMENT("Show count of employee for ", "", true, Set.of()),
+    STATISTICS("Show ", " statistics", true, Set.of()),
+    GLOBAL_SEARCH("Global search by ", "", false, Set.of("page", "size")),
+    SALARY_HISTORY("Show salary history for ", "", false, Set.of("from", "to")),
+    SUBTREE_STATISTICS("Show subtree statistics for ", "", false, Set.of()),
+    SUBTREE_AVERAGE_SALARY("Show the average salary for the subtree ", "", false, Set.of()),
+    SUBTREE_COUNT("Show count of employee for subtree ", "", false, Set.of()),
+    MOVE_DEPARTMENT("Move department ", "", false, Set.of("under"));
+
+    private final String prefix;
+    private final String suffix;
+    private final boolean departmentScoped;
+    private final Set<String> options;
+
+    public String format(String argument) {
+        return prefix + argument + suffix;
+    }
+
+    public boolean isWrite() {
+        return this == MOVE_DEPARTMENT;
+    }
+}
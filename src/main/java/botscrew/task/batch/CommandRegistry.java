@@ -0,0 +1,111 @@
+package botscrew.task.batch;
+
+import botscrew.task.format.ResultWriter;
+import botscrew.task.res.Messages;
+import botscrew.task.service.DepartmentTreeService;
+import botscrew.task.service.EmployeeService;
+import botscrew.task.service.SalaryHistoryService;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+// one place that maps parsed commands to services, shared by batches, --exec and the daemon
+@Component
+public class CommandRegistry {
+    private static final String DEFAULT_PAGE = "0";
+    private static final String DEFAULT_SIZE = "100";
+
+    private final Map<BatchCommandType, Function<BatchCommand, String>> answers =
+            new EnumMap<>(BatchCommandType.class);
+    private final Map<BatchCommandType, RowWriter> rowWriters =
+            new EnumMap<>(BatchCommandType.class);
+
+    public CommandRegistry(EmployeeService employeeService,
+                           SalaryHistoryService salaryHistoryService,
+                           DepartmentTreeService departmentTreeService) {
+        answers.put(BatchCommandType.HEAD_OF_DEPARTMENT,
+                command -> employeeService.headOfDepartment(command.argument()));
+        answers.put(BatchCommandType.STATISTICS,
+                command -> employeeService.showStatistics(command.argument()));
+        answers.put(BatchCommandType.AVERAGE_SALARY, command -> command.option("as-of") == null
+                ? employeeService.showAverageSalary(command.argument())
+                : salaryHistoryService.showAverageSalaryAsOf(command.argument(),
+                        command.option("as-of")));
+        answers.put(BatchCommandType.COUNT_FOR_DEPARTMENT,
+                command -> employeeService.showCountForDepartment(command.argument()));
+        answers.put(BatchCommandType.GLOBAL_SEARCH, command -> employeeService.globalSearchBy(
+                command.argument(), page(command), size(command)));
+        answers.put(BatchCommandType.SALARY_HISTORY, command -> salaryHistoryService
+                .showSalaryHistory(command.argument(), command.option("from"),
+                        command.option("to")));
+        answers.put(BatchCommandType.SUBTREE_STATISTICS,
+                command -> departmentTreeService.showSubtreeStatistics(command.argument()));
+        answers.put(BatchCommandType.SUBTREE_AVERAGE_SALARY,
+                command -> departmentTreeService.showSubtreeAverageSalary(command.argument()));
+        answers.put(BatchCommandType.SUBTREE_COUNT,
+                command -> departmentTreeService.showSubtreeCount(command.argument()));
+        answers.put(BatchCommandType.MOVE_DEPARTMENT, command -> departmentTreeService
+                .moveDepartment(command.argument(), command.option("under")));
+
+        rowWriters.put(BatchCommandType.HEAD_OF_DEPARTMENT, (writer, command, out) ->
+                writer.head(employeeService.findHead(command.argument()), out));
+        rowWriters.put(BatchCommandType.STATISTICS, (writer, command, out) ->
+                writer.statistics(employeeService.findCounts(command.argument()), out));
+        rowWriters.put(BatchCommandType.AVERAGE_SALARY, (writer, command, out) ->
+                writer.averageSalary(command.option("as-of") == null
+                        ? employeeService.findCounts(command.argument())
+                        : salaryHistoryService.findCountsAsOf(command.argument(),
+                                date(command.option("as-of"))), out));
+        rowWriters.put(BatchCommandType.COUNT_FOR_DEPARTMENT, (writer, command, out) ->
+                writer.count(employeeService.findCounts(command.argument()), out));
+        rowWriters.put(BatchCommandType.GLOBAL_SEARCH, (writer, command, out) ->
+                writer.names(employeeService.findNames(command.argument(), page(command),
+                        size(command)), page(command), out));
+        rowWriters.put(BatchCommandType.SUBTREE_STATISTICS, (writer, command, out) ->
+                writer.statistics(departmentTreeService.findSubtreeCounts(command.argument()),
+                        out));
+        rowWriters.put(BatchCommandType.SUBTREE_AVERAGE_SALARY, (writer, command, out) ->
+                writer.averageSalary(departmentTreeService.findSubtreeCounts(command.argument()),
+                        out));
+        rowWriters.put(BatchCommandType.SUBTREE_COUNT, (writer, command, out) ->
+                writer.count(departmentTreeService.findSubtreeCounts(command.argument()), out));
+    }
+
+    public String answer(BatchCommand command) {
+        return answers.get(command.type()).apply(command);
+    }
+
+    public StringBuilder write(BatchCommand command, ResultWriter writer, StringBuilder out) {
+        RowWriter rowWriter = rowWriters.get(command.type());
+        if (rowWriter == null) {
+            throw new IllegalArgumentException(String.format(Messages.TEXT_ONLY_COMMAND_MESSAGE,
+                    command.type().getPrefix().strip()));
+        }
+        return rowWriter.write(writer, command, out);
+    }
+
+    private static int page(BatchCommand command) {
+        return Integer.parseInt(command.option("page", DEFAULT_PAGE));
+    }
+
+    private static int size(BatchCommand command) {
+        return Integer.parseInt(command.option("size", DEFAULT_SIZE));
+    }
+
+    private static LocalDate date(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(Messages.INVALID_DATE_MESSAGE,
+                    date), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        StringBuilder write(ResultWriter writer, BatchCommand command, StringBuilder out);
+    }
+}
@@ -0,0 +1,88 @@
+package botscrew.task.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class CsvRecordReader implements ImportRecordReader {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+    private final int[] columnPositions;
+
+    public CsvRecordReader(BufferedReader reader, List<String> columns) throws IOException {
+        this(reader, columns, Set.of());
+    }
+
+    // optional columns missing from the header read as null
+    public CsvRecordReader(BufferedReader reader, List<String> columns,
+                           Set<String> optionalColumns) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file has no header");
+        }
+        List<String> headerColumns = parse(header);
+        columnPositions = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnPositions[i] = headerColumns.indexOf(columns.get(i));
+            if (columnPositions[i] < 0 && !optionalColumns.contains(columns.get(i))) {
+                throw new IllegalArgumentException("CSV header has no column " + columns.get(i));
+            }
+        }
+    }
+
+    @Override
+    public String[] read() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = parse(line);
+        String[] values = new String[columnPositions.length];
+        for (int i = 0; i < columnPositions.length; i++) {
+            values[i] = columnPositions[i] >= 0 && columnPositions[i] < fields.size()
+                    ? fields.get(columnPositions[i]) : null;
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,62 @@
+package botscrew.task.bulk;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportKind {
+    EMPLOYEES("insert into employees (id, name, degree, salary) values (?, ?, ?, ?)",
+            List.of("id", "name", "degree", "salary"), Set.of()) {
+        @Override
+        public Object[] toRow(String[] values) {
+            return new Object[]{Long.valueOf(values[0]), values[1],
+                    Employee.Degree.valueOf(values[2]).name(), new BigDecimal(values[3])};
+        }
+    },
+    DEPARTMENTS("insert into departments (id, name, head_id) values (?, ?, ?)",
+            List.of("id", "name", "head_id", "parent_id"), Set.of("parent_id")) {
+        @Override
+        public Object[] toRow(String[] values) {
+            return new Object[]{Long.valueOf(values[0]), values[1], optionalId(values[2])};
+        }
+
+        // a parent may come later in the file than its children, so it is linked separately
+        @Override
+        public Object[] toParentLink(String[] values) {
+            Long parentId = optionalId(values[3]);
+            return parentId == null ? null : new Object[]{parentId, Long.valueOf(values[0])};
+        }
+    },
+    MEMBERSHIPS("insert into employees_departments (employee_id, department_id) values (?, ?)",
+            List.of("employee_id", "department_id"), Set.of()) {
+        @Override
+        public Object[] toRow(String[] values) {
+            return new Object[]{Long.valueOf(values[0]), Long.valueOf(values[1])};
+        }
+    };
+
+    private final String insertSql;
+    private final List<String> columns;
+    private final Set<String> optionalColumns;
+
+    public String getLabel() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public abstract Object[] toRow(String[] values);
+
+    // parent id and id of the record, or null when it has no parent to link
+    public Object[] toParentLink(String[] values) {
+        return null;
+    }
+
+    private static Long optionalId(String value) {
+        return value == null || value.isBlank() ? null : Long.valueOf(value.strip());
+    }
+}
@@ -0,0 +1,8 @@
+package botscrew.task.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ImportRecordReader extends Closeable {
+    String[] read() throws IOException;
+}
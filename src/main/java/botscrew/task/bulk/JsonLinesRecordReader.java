@@ -0,0 +1,42 @@
+package botscrew.task.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+public class JsonLinesRecordReader implements ImportRecordReader {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final List<String> columns;
+
+    public JsonLinesRecordReader(BufferedReader reader, List<String> columns) {
+        this.reader = reader;
+        this.columns = columns;
+    }
+
+    @Override
+    public String[] read() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        JsonNode node = OBJECT_MAPPER.readTree(line);
+        String[] values = new String[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            JsonNode value = node.get(columns.get(i));
+            values[i] = value == null || value.isNull() ? null : value.asText();
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
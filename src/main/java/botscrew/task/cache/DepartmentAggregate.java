@@ -0,0 +1,43 @@
+package botscrew.task.cache;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record DepartmentAggregate(Long headId, String headName,
+                                  Map<Employee.Degree, Long> countsByDegree,
+                                  BigDecimal salarySum) {
+    private static final int AVERAGE_SALARY_SCALE = 2;
+
+    public DepartmentAggregate {
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        counts.putAll(countsByDegree);
+        countsByDegree = Collections.unmodifiableMap(counts);
+        salarySum = salarySum == null ? BigDecimal.ZERO : salarySum;
+    }
+
+    public long count() {
+        long count = 0;
+        for (long degreeCount : countsByDegree.values()) {
+            count += degreeCount;
+        }
+        return count;
+    }
+
+    public long count(Employee.Degree degree) {
+        return countsByDegree.getOrDefault(degree, 0L);
+    }
+
+    public BigDecimal averageSalary() {
+        long count = count();
+        return count == 0 ? null : salarySum.divide(BigDecimal.valueOf(count),
+                AVERAGE_SALARY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public DepartmentAggregate withHeadName(String newHeadName) {
+        return new DepartmentAggregate(headId, newHeadName, countsByDegree, salarySum);
+    }
+}
@@ -0,0 +1,193 @@
+package botscrew.task.cache;
+
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class DepartmentAggregateCache {
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+    private static final long BYTES_PER_CHAR = 2;
+    private static final long BYTES_PER_DEGREE = 32;
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxSizeBytes;
+    private final Map<Long, DepartmentAggregate> entries =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public DepartmentAggregateCache(EmployeeRepository employeeRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${aggregate-cache.max-size-bytes:1048576}")
+                                    long maxSizeBytes) {
+        this.employeeRepository = employeeRepository;
+        // joins a read-only caller, so a batch reads its aggregates in its own snapshot
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public Optional<DepartmentAggregate> get(Long departmentId) {
+        long loadGeneration;
+        synchronized (this) {
+            DepartmentAggregate aggregate = entries.get(departmentId);
+            if (aggregate != null) {
+                hits++;
+                return Optional.of(aggregate);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        Optional<DepartmentAggregate> loaded = load(departmentId);
+        synchronized (this) {
+            if (loaded.isPresent() && loadGeneration == generation) {
+                put(departmentId, loaded.get());
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized Optional<DepartmentAggregate> getIfPresent(Long departmentId) {
+        DepartmentAggregate aggregate = entries.get(departmentId);
+        if (aggregate != null) {
+            hits++;
+        }
+        return Optional.ofNullable(aggregate);
+    }
+
+    public Map<Long, DepartmentAggregate> getAll(Collection<Long> departmentIds) {
+        Map<Long, DepartmentAggregate> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Long departmentId : departmentIds) {
+                DepartmentAggregate aggregate = entries.get(departmentId);
+                if (aggregate != null) {
+                    hits++;
+                    found.put(departmentId, aggregate);
+                } else if (missing.add(departmentId)) {
+                    misses++;
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Map<Long, DepartmentAggregate> loaded = loadAll(missing);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                loaded.forEach(this::put);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    // reads the database without looking at or filling the cached entries
+    public Map<Long, DepartmentAggregate> loadAll(Collection<Long> departmentIds) {
+        return readOnlyTransaction
+                .execute(status -> employeeRepository.findAggregateByDepartmentIds(departmentIds))
+                .stream()
+                .collect(Collectors.groupingBy(DegreeAggregateDto::departmentId,
+                        Collectors.collectingAndThen(Collectors.toList(),
+                                DepartmentAggregateCache::toAggregate)));
+    }
+
+    public synchronized void updateHeadName(Long headId, String headName) {
+        generation++;
+        entries.replaceAll((departmentId, aggregate) -> headId.equals(aggregate.headId())
+                ? aggregate.withHeadName(headName) : aggregate);
+        sizeBytes = entries.entrySet().stream()
+                .mapToLong(entry -> estimateSize(entry.getValue()))
+                .sum();
+    }
+
+    public synchronized void invalidate(Long departmentId) {
+        generation++;
+        remove(departmentId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hits, misses, evictions, entries.size(), sizeBytes, maxSizeBytes);
+    }
+
+    private void put(Long departmentId, DepartmentAggregate aggregate) {
+        remove(departmentId);
+        entries.put(departmentId, aggregate);
+        sizeBytes += estimateSize(aggregate);
+        Iterator<Map.Entry<Long, DepartmentAggregate>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > maxSizeBytes && eldest.hasNext()) {
+            Map.Entry<Long, DepartmentAggregate> entry = eldest.next();
+            sizeBytes -= estimateSize(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(Long departmentId) {
+        DepartmentAggregate removed = entries.remove(departmentId);
+        if (removed != null) {
+            sizeBytes -= estimateSize(removed);
+        }
+    }
+
+    private Optional<DepartmentAggregate> load(Long departmentId) {
+        List<DegreeAggregateDto> degreeAggregates = readOnlyTransaction.execute(
+                status -> employeeRepository.findAggregateByDepartmentId(departmentId));
+        return degreeAggregates.isEmpty() ? Optional.empty()
+                : Optional.of(toAggregate(degreeAggregates));
+    }
+
+    private static DepartmentAggregate toAggregate(List<DegreeAggregateDto> degreeAggregates) {
+        Map<Employee.Degree, Long> countsByDegree = new EnumMap<>(Employee.Degree.class);
+        BigDecimal salarySum = BigDecimal.ZERO;
+        for (DegreeAggregateDto degreeAggregate : degreeAggregates) {
+            if (degreeAggregate.degree() != null) {
+                countsByDegree.put(degreeAggregate.degree(), degreeAggregate.count());
+                salarySum = salarySum.add(degreeAggregate.salarySum());
+            }
+        }
+        DegreeAggregateDto first = degreeAggregates.get(0);
+        return new DepartmentAggregate(first.headId(), first.headName(),
+                countsByDegree, salarySum);
+    }
+
+    private static long estimateSize(DepartmentAggregate aggregate) {
+        long headNameLength = aggregate.headName() == null ? 0 : aggregate.headName().length();
+        return ENTRY_OVERHEAD_BYTES
+                + headNameLength * BYTES_PER_CHAR
+                + aggregate.countsByDegree().size() * BYTES_PER_DEGREE;
+    }
+
+    public record Statistics(long hits, long misses, long evictions, int entries,
+                             long sizeBytes, long maxSizeBytes) {
+    }
+}
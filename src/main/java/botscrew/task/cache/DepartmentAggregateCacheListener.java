@@ -0,0 +1,132 @@
+package botscrew.task.cache;
+
+import static botscrew.task.util.TransactionCallbacks.afterCommit;
+
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentAggregateCacheListener implements PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DepartmentAggregateCache departmentAggregateCache;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Employee employee) {
+            onEmployeeUpdate(employee, event);
+        } else if (event.getEntity() instanceof Department department) {
+            Long departmentId = department.getId();
+            afterCommit(() -> departmentAggregateCache.invalidate(departmentId));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            Long departmentId = department.getId();
+            afterCommit(() -> departmentAggregateCache.invalidate(departmentId));
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onMembershipChange(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onMembershipChange(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onMembershipChange(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // a delta applied after commit could land on an aggregate already loaded with the new
+    // values, so the departments are dropped; the head name is an absolute value and is safe
+    private void onEmployeeUpdate(Employee employee, PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            afterCommit(departmentAggregateCache::invalidateAll);
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Employee.Degree oldDegree = (Employee.Degree) stateOf(persister, oldState, "degree");
+        BigDecimal oldSalary = (BigDecimal) stateOf(persister, oldState, "salary");
+        String oldName = (String) stateOf(persister, oldState, "name");
+        if (oldDegree != employee.getDegree() || oldSalary.compareTo(employee.getSalary()) != 0) {
+            onMemberChange(employee);
+        }
+        if (!Objects.equals(oldName, employee.getName())) {
+            Long headId = employee.getId();
+            String headName = employee.getName();
+            afterCommit(() -> departmentAggregateCache.updateHeadName(headId, headName));
+        }
+    }
+
+    private void onMemberChange(Employee employee) {
+        if (!Hibernate.isInitialized(employee.getDepartments())) {
+            afterCommit(departmentAggregateCache::invalidateAll);
+            return;
+        }
+        List<Long> departmentIds = employee.getDepartments() == null ? List.of()
+                : employee.getDepartments().stream().map(Department::getId).toList();
+        afterCommit(() -> departmentIds.forEach(departmentAggregateCache::invalidate));
+    }
+
+    private void onMembershipChange(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof Employee) {
+            afterCommit(departmentAggregateCache::invalidateAll);
+        }
+    }
+
+    private static Object stateOf(EntityPersister persister, Object[] state, String property) {
+        return state == null ? null
+                : state[persister.getEntityMetamodel().getPropertyIndex(property)];
+    }
+}
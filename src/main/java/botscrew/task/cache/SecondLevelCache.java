@@ -0,0 +1,80 @@
+package botscrew.task.cache;
+
+import botscrew.task.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SecondLevelCache {
+    public static final String DEPARTMENTS_REGION = "departments";
+    public static final String EMPLOYEES_REGION = "employees";
+    public static final String EMPLOYEE_DEPARTMENTS_REGION = "employee-departments";
+    public static final String DEPARTMENT_AGGREGATES_REGION = "department-aggregates";
+    private static final List<String> ENTITY_REGIONS =
+            List.of(DEPARTMENTS_REGION, EMPLOYEES_REGION, EMPLOYEE_DEPARTMENTS_REGION);
+    private static final List<String> QUERY_REGIONS = List.of(DEPARTMENT_AGGREGATES_REGION);
+    private static final String EMPLOYEE_DEPARTMENTS_ROLE =
+            Employee.class.getName() + ".departments";
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public boolean isEnabled() {
+        return sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    // for writes Hibernate doesn't see, such as JDBC imports and stats rebuilds
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    // for version bumps, which leave the cached copies unable to save
+    public void evictEmployees(Collection<Long> employeeIds) {
+        Cache cache = sessionFactory.getCache();
+        for (Long employeeId : employeeIds) {
+            cache.evictEntityData(Employee.class, employeeId);
+        }
+    }
+
+    // targeted membership writes only touch these employees and the aggregates built on them
+    public void evictMemberships(Collection<Long> employeeIds) {
+        Cache cache = sessionFactory.getCache();
+        for (Long employeeId : employeeIds) {
+            cache.evictEntityData(Employee.class, employeeId);
+            cache.evictCollectionData(EMPLOYEE_DEPARTMENTS_ROLE, employeeId);
+        }
+        cache.evictQueryRegion(DEPARTMENT_AGGREGATES_REGION);
+    }
+
+    public List<RegionStatistics> getStatistics() {
+        List<RegionStatistics> statistics = new ArrayList<>();
+        if (!isEnabled() || !sessionFactory.getStatistics().isStatisticsEnabled()) {
+            return statistics;
+        }
+        for (String region : ENTITY_REGIONS) {
+            statistics.add(RegionStatistics.of(sessionFactory.getStatistics()
+                    .getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            statistics.add(RegionStatistics.of(sessionFactory.getStatistics()
+                    .getQueryRegionStatistics(region)));
+        }
+        return statistics;
+    }
+
+    public record RegionStatistics(String region, long hits, long misses, long puts) {
+        private static RegionStatistics of(CacheRegionStatistics statistics) {
+            return new RegionStatistics(statistics.getRegionName(), statistics.getHitCount(),
+                    statistics.getMissCount(), statistics.getPutCount());
+        }
+    }
+}
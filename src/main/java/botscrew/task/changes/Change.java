@@ -0,0 +1,6 @@
+package botscrew.task.changes;
+
+// a membership change has the employee as entity and the department as related id
+public record Change(ChangeEntity entity, ChangeOperation operation, long entityId,
+                     Long relatedId) {
+}
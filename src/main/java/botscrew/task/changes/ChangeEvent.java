@@ -0,0 +1,7 @@
+package botscrew.task.changes;
+
+import java.time.Instant;
+
+public record ChangeEvent(long sequence, ChangeEntity entity, ChangeOperation operation,
+                          long entityId, Long relatedId, Instant changedAt) {
+}
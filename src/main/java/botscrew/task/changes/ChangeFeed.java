@@ -0,0 +1,56 @@
+package botscrew.task.changes;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeFeed {
+    private static final String READ_SQL = "SELECT sequence, entity, operation, entity_id, "
+            + "related_id, changed_at FROM change_events WHERE sequence > ? "
+            + "ORDER BY sequence LIMIT ?";
+    private static final String LATEST_SEQUENCE_SQL =
+            "SELECT last_sequence FROM change_sequence WHERE id = 1";
+    private static final RowMapper<ChangeEvent> EVENT_MAPPER = (rs, rowNum) -> new ChangeEvent(
+            rs.getLong("sequence"),
+            ChangeEntity.valueOf(rs.getString("entity")),
+            ChangeOperation.valueOf(rs.getString("operation")),
+            rs.getLong("entity_id"),
+            rs.getObject("related_id", Long.class),
+            rs.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ChangeFeed(JdbcTemplate jdbcTemplate,
+                      @Value("${change-feed.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public List<ChangeEvent> read(long afterSequence, int limit) {
+        return jdbcTemplate.query(READ_SQL, EVENT_MAPPER, afterSequence, limit);
+    }
+
+    public long latestSequence() {
+        return jdbcTemplate.queryForObject(LATEST_SEQUENCE_SQL, Long.class);
+    }
+
+    // hands every change after the given sequence to the consumer in batches,
+    // returns the sequence to continue from next time
+    public long catchUp(long afterSequence, Consumer<List<ChangeEvent>> consumer) {
+        long position = afterSequence;
+        List<ChangeEvent> batch;
+        do {
+            batch = read(position, batchSize);
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                position = batch.get(batch.size() - 1).sequence();
+            }
+        } while (batch.size() == batchSize);
+        return position;
+    }
+}
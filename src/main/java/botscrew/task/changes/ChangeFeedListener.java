@@ -0,0 +1,182 @@
+package botscrew.task.changes;
+
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRecreateEvent;
+import org.hibernate.event.spi.PreCollectionRecreateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeFeedListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PreCollectionRecreateEventListener,
+        PreCollectionUpdateEventListener, PreCollectionRemoveEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeFeedWriter changeFeedWriter;
+    private final MembershipLookup membershipLookup;
+    private final boolean enabled;
+    private final Map<SharedSessionContractImplementor, PendingChanges> pending =
+            new ConcurrentHashMap<>();
+
+    public ChangeFeedListener(EntityManagerFactory entityManagerFactory,
+                              ChangeFeedWriter changeFeedWriter,
+                              MembershipLookup membershipLookup,
+                              @Value("${change-feed.enabled:true}") boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.changeFeedWriter = changeFeedWriter;
+        this.membershipLookup = membershipLookup;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeOperation.INSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeOperation.UPDATE);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeOperation.DELETE);
+    }
+
+    @Override
+    public void onPreRecreateCollection(PreCollectionRecreateEvent event) {
+        onMembershipChange(event, true);
+    }
+
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        onMembershipChange(event, true);
+    }
+
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        onMembershipChange(event, false);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onEntityChange(EventSource session, Object entity, ChangeOperation operation) {
+        if (entity instanceof Employee employee) {
+            pendingFor(session).add(new Change(ChangeEntity.EMPLOYEE, operation,
+                    employee.getId(), null));
+        } else if (entity instanceof Department department) {
+            pendingFor(session).add(new Change(ChangeEntity.DEPARTMENT, operation,
+                    department.getId(), null));
+        }
+    }
+
+    // the membership table still holds the old rows before the collection is written
+    private void onMembershipChange(AbstractCollectionEvent event, boolean keepsElements) {
+        if (!(event.getAffectedOwnerOrNull() instanceof Employee employee)) {
+            return;
+        }
+        Set<Long> oldIds = employee.getId() == null ? Set.of()
+                : membershipLookup.findDepartmentIds(event.getSession(), employee.getId());
+        Set<Long> newIds = keepsElements ? departmentIdsOf(event.getCollection()) : Set.of();
+        PendingChanges changes = pendingFor(event.getSession());
+        oldIds.stream()
+                .filter(id -> !newIds.contains(id))
+                .forEach(id -> changes.add(new Change(ChangeEntity.MEMBERSHIP,
+                        ChangeOperation.DELETE, employee.getId(), id)));
+        newIds.stream()
+                .filter(id -> !oldIds.contains(id))
+                .forEach(id -> changes.add(new Change(ChangeEntity.MEMBERSHIP,
+                        ChangeOperation.INSERT, employee.getId(), id)));
+    }
+
+    // changes are written after the last flush of the transaction, on its connection
+    private PendingChanges pendingFor(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            PendingChanges changes = new PendingChanges();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) changes);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) changes);
+            return changes;
+        });
+    }
+
+    private static Set<Long> departmentIdsOf(Object collection) {
+        Set<Long> ids = new HashSet<>();
+        if (collection instanceof Collection<?> departments) {
+            for (Object department : departments) {
+                ids.add(((Department) department).getId());
+            }
+        }
+        return ids;
+    }
+
+    private final class PendingChanges implements BeforeTransactionCompletionProcess,
+            AfterTransactionCompletionProcess {
+        private final List<Change> changes = new ArrayList<>();
+
+        private void add(Change change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pending.remove(session);
+            changeFeedWriter.append(changes);
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success,
+                                                 SharedSessionContractImplementor session) {
+            pending.remove(session);
+        }
+    }
+}
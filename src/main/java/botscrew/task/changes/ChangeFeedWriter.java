@@ -0,0 +1,87 @@
+package botscrew.task.changes;
+
+import botscrew.task.bulk.ImportKind;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeFeedWriter {
+    private static final String RESERVE_SQL =
+            "UPDATE change_sequence SET last_sequence = last_sequence + ? WHERE id = 1";
+    private static final String LAST_SEQUENCE_SQL =
+            "SELECT last_sequence FROM change_sequence WHERE id = 1";
+    private static final String INSERT_SQL = "INSERT INTO change_events "
+            + "(sequence, entity, operation, entity_id, related_id, changed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ChangeFeedWriter(JdbcTemplate jdbcTemplate,
+                            @Value("${change-feed.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // the reserved row stays locked until commit, so sequences become visible in order
+    public void append(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(RESERVE_SQL, changes.size());
+        long first = jdbcTemplate.queryForObject(LAST_SEQUENCE_SQL, Long.class)
+                - changes.size() + 1;
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<Change> batch = changes.subList(from,
+                    Math.min(from + batchSize, changes.size()));
+            long batchFirst = first + from;
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Change change = batch.get(i);
+                    ps.setLong(1, batchFirst + i);
+                    ps.setString(2, change.entity().name());
+                    ps.setString(3, change.operation().name());
+                    ps.setLong(4, change.entityId());
+                    if (change.relatedId() == null) {
+                        ps.setNull(5, Types.BIGINT);
+                    } else {
+                        ps.setLong(5, change.relatedId());
+                    }
+                    ps.setTimestamp(6, changedAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+    }
+
+    public void appendImported(ImportKind kind, List<Object[]> rows) {
+        List<Change> changes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Change change = switch (kind) {
+                case EMPLOYEES -> new Change(ChangeEntity.EMPLOYEE, ChangeOperation.INSERT,
+                        (Long) row[0], null);
+                case DEPARTMENTS -> new Change(ChangeEntity.DEPARTMENT, ChangeOperation.INSERT,
+                        (Long) row[0], null);
+                case MEMBERSHIPS -> new Change(ChangeEntity.MEMBERSHIP, ChangeOperation.INSERT,
+                        (Long) row[0], (Long) row[1]);
+            };
+            changes.add(change);
+        }
+        append(changes);
+    }
+}
@@ -0,0 +1,7 @@
+package botscrew.task.changes;
+
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,151 @@
+package botscrew.task.cli;
+
+import botscrew.task.res.Messages;
+import jakarta.annotation.PreDestroy;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CommandDaemon implements ApplicationRunner {
+    public static final String DAEMON_OPTION = "daemon";
+
+    private final OneShotExecutor oneShotExecutor;
+    private final ConfigurableApplicationContext context;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService deadlines;
+    private final Duration readTimeout;
+    private volatile ServerSocketChannel server;
+
+    public CommandDaemon(OneShotExecutor oneShotExecutor, ConfigurableApplicationContext context,
+                         @Value("${daemon.threads:4}") int threads,
+                         @Value("${daemon.read-timeout:PT5S}") Duration readTimeout) {
+        this.oneShotExecutor = oneShotExecutor;
+        this.context = context;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable,
+                    "command-daemon-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "command-daemon-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.readTimeout = readTimeout;
+    }
+
+    // serves until the context closes, then waits for the JVM to finish shutting down
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<String> values = args.getOptionValues(DAEMON_OPTION);
+        if (values == null) {
+            return;
+        }
+        serve(values.isEmpty() || values.get(0).isBlank()
+                ? DaemonProtocol.DEFAULT_SOCKET : Path.of(values.get(0)));
+        System.exit(SpringApplication.exit(context));
+    }
+
+    public void serve(Path socket) throws IOException {
+        Files.createDirectories(socket.toAbsolutePath().getParent());
+        if (Files.exists(socket)) {
+            try (SocketChannel running = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+                throw new IllegalStateException(Messages.DAEMON_ALREADY_LISTENING_MESSAGE
+                        + socket);
+            } catch (IOException e) {
+                Files.delete(socket);
+            }
+        }
+        // clients must never see a socket that isn't listening yet or is open to other users
+        Path bound = socket.resolveSibling(socket.getFileName() + ".bind");
+        Files.deleteIfExists(bound);
+        try (ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.bind(UnixDomainSocketAddress.of(bound));
+            server = channel;
+            Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+            Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+            log.info(String.format(Messages.DAEMON_LISTENING_MESSAGE, socket));
+            while (true) {
+                SocketChannel client = channel.accept();
+                workers.execute(() -> answer(client));
+            }
+        } catch (ClosedChannelException e) {
+            log.info(String.format(Messages.DAEMON_STOPPED_MESSAGE, socket));
+        } finally {
+            Files.deleteIfExists(bound);
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        ServerSocketChannel channel = server;
+        if (channel != null) {
+            channel.close();
+        }
+        workers.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    private void answer(SocketChannel client) {
+        try (client;
+                DataInputStream in = new DataInputStream(Channels.newInputStream(client));
+                DataOutputStream out = new DataOutputStream(Channels.newOutputStream(client))) {
+            DaemonProtocol.writeResponse(out, oneShotExecutor.execute(readRequest(client, in)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can't answer command client", e);
+        }
+    }
+
+    // unix socket channels have no read timeout, so a client that stalls is disconnected
+    // instead of holding a worker forever
+    private String[] readRequest(SocketChannel client, DataInputStream in) throws IOException {
+        ScheduledFuture<?> deadline = deadlines.schedule(() -> disconnect(client),
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            return DaemonProtocol.readRequest(in);
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private static void disconnect(SocketChannel client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.warn("Can't disconnect command client", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package botscrew.task.cli;
+
+public record CommandResponse(int exitCode, String output, String error) {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_NOT_FOUND = 3;
+
+    public static CommandResponse ok(String output) {
+        return new CommandResponse(EXIT_OK, output, "");
+    }
+
+    public static CommandResponse failure(int exitCode, String error) {
+        return new CommandResponse(exitCode, "", error);
+    }
+}
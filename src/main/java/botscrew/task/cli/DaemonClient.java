@@ -0,0 +1,50 @@
+package botscrew.task.cli;
+
+import botscrew.task.BotsCrewTestTaskApplication;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DaemonClient {
+    private DaemonClient() {
+    }
+
+    // sends the command to a running daemon, or runs it in this JVM when there is none
+    public static void main(String[] args) throws IOException {
+        Path socket = DaemonProtocol.DEFAULT_SOCKET;
+        List<String> forwarded = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(DaemonProtocol.SOCKET_OPTION_PREFIX)) {
+                socket = Path.of(arg.substring(DaemonProtocol.SOCKET_OPTION_PREFIX.length()));
+            } else {
+                forwarded.add(arg);
+            }
+        }
+        CommandResponse response;
+        try {
+            response = send(socket, forwarded.toArray(String[]::new));
+        } catch (SocketException e) {
+            forwarded.add(0, "--" + OneShotRunner.EXEC_OPTION);
+            BotsCrewTestTaskApplication.main(forwarded.toArray(String[]::new));
+            return;
+        }
+        OneShotRunner.print(response);
+        System.exit(response.exitCode());
+    }
+
+    public static CommandResponse send(Path socket, String... args) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+                DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+                DataInputStream in = new DataInputStream(Channels.newInputStream(channel))) {
+            DaemonProtocol.writeRequest(out, args);
+            return DaemonProtocol.readResponse(in);
+        }
+    }
+}
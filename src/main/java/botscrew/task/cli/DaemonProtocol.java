@@ -0,0 +1,71 @@
+package botscrew.task.cli;
+
+import botscrew.task.res.Messages;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public final class DaemonProtocol {
+    public static final Path DEFAULT_SOCKET = Path.of(System.getProperty("user.home"),
+            ".university-management", "daemon.sock");
+    public static final String SOCKET_OPTION_PREFIX = "--socket=";
+    public static final int MAX_REQUEST_ARGS = 1_000;
+    public static final int MAX_REQUEST_ARG_BYTES = 64 * 1024;
+
+    private DaemonProtocol() {
+    }
+
+    public static void writeRequest(DataOutputStream out, String[] args) throws IOException {
+        out.writeInt(args.length);
+        for (String arg : args) {
+            writeString(out, arg);
+        }
+        out.flush();
+    }
+
+    // lengths come from the client, so they are checked before anything is allocated
+    public static String[] readRequest(DataInputStream in) throws IOException {
+        String[] args = new String[readLength(in, MAX_REQUEST_ARGS)];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = readString(in, MAX_REQUEST_ARG_BYTES);
+        }
+        return args;
+    }
+
+    public static void writeResponse(DataOutputStream out, CommandResponse response)
+            throws IOException {
+        out.writeInt(response.exitCode());
+        writeString(out, response.output());
+        writeString(out, response.error());
+        out.flush();
+    }
+
+    public static CommandResponse readResponse(DataInputStream in) throws IOException {
+        return new CommandResponse(in.readInt(), readString(in, Integer.MAX_VALUE),
+                readString(in, Integer.MAX_VALUE));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, int maxBytes) throws IOException {
+        byte[] bytes = new byte[readLength(in, maxBytes)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream in, int max) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > max) {
+            throw new ProtocolException(String.format(
+                    Messages.INVALID_PROTOCOL_LENGTH_MESSAGE, max, length));
+        }
+        return length;
+    }
+}
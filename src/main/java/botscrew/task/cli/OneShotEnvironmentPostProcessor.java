@@ -0,0 +1,47 @@
+package botscrew.task.cli;
+
+import java.util.Map;
+import liquibase.Scope;
+import liquibase.ui.LoggerUIService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+// a single command gets a quiet console and none of the warm-up an interactive session needs
+public class OneShotEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    private static final String PROPERTY_SOURCE_NAME = "oneShot";
+    private static final Map<String, Object> ONE_SHOT_PROPERTIES = Map.of(
+            "spring.main.banner-mode", "off",
+            "spring.main.log-startup-info", "false",
+            "spring.main.lazy-initialization", "true",
+            "spring.jmx.enabled", "false",
+            "logging.threshold.console", "OFF",
+            "schema-check.skip-unchanged", "true",
+            "startup.warmup.enabled", "false",
+            "snapshot.enabled", "false",
+            "name-index.enabled", "false");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment,
+                                       SpringApplication application) {
+        if (environment.containsProperty(OneShotRunner.EXEC_OPTION)
+                && environment.getPropertySources().contains(
+                CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+            environment.getPropertySources().addAfter(
+                    CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME,
+                    new MapPropertySource(PROPERTY_SOURCE_NAME, ONE_SHOT_PROPERTIES));
+            sendLiquibaseMessagesToLog();
+        }
+    }
+
+    // Liquibase prints migration messages to standard output, which belongs to the command
+    private static void sendLiquibaseMessagesToLog() {
+        try {
+            Scope.enter(Map.of(Scope.Attr.ui.name(), new LoggerUIService()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package botscrew.task.cli;
+
+import botscrew.task.batch.BatchCommand;
+import botscrew.task.batch.BatchCommandType;
+import botscrew.task.batch.CommandRegistry;
+import botscrew.task.format.OutputFormat;
+import botscrew.task.res.Messages;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OneShotExecutor {
+    private static final String FORMAT_OPTION = "format";
+    private static final String DEFAULT_FORMAT = "text";
+
+    private final CommandRegistry commandRegistry;
+
+    public CommandResponse execute(String... args) {
+        ApplicationArguments arguments = new DefaultApplicationArguments(args);
+        String line = String.join(" ", arguments.getNonOptionArgs());
+        try {
+            OutputFormat format = OutputFormat.of(option(arguments, FORMAT_OPTION, DEFAULT_FORMAT));
+            BatchCommand command = BatchCommand.parse(line).orElseThrow(() ->
+                    new IllegalArgumentException(Messages.UNKNOWN_BATCH_COMMAND_MESSAGE + line));
+            command = command.withOptions(commandOptions(arguments, command.type()));
+            return CommandResponse.ok(format == OutputFormat.TEXT
+                    ? commandRegistry.answer(command)
+                    : commandRegistry.write(command, format.getWriter(), new StringBuilder())
+                            .toString());
+        } catch (EntityNotFoundException e) {
+            return CommandResponse.failure(CommandResponse.EXIT_NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return CommandResponse.failure(CommandResponse.EXIT_USAGE, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Command {} failed", line, e);
+            return CommandResponse.failure(CommandResponse.EXIT_FAILED, e.toString());
+        }
+    }
+
+    // --page=2 or --as-of=2024-01-31 arrive as application options, not as part of the line
+    private static Map<String, String> commandOptions(ApplicationArguments arguments,
+                                                      BatchCommandType type) {
+        Map<String, String> options = new HashMap<>();
+        for (String name : type.getOptions()) {
+            if (arguments.containsOption(name)) {
+                options.put(name, option(arguments, name, ""));
+            }
+        }
+        return options;
+    }
+
+    private static String option(ApplicationArguments arguments, String name,
+                                 String defaultValue) {
+        List<String> values = arguments.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(values.size() - 1);
+    }
+}
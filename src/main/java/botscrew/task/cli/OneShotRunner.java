@@ -0,0 +1,41 @@
+package botscrew.task.cli;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OneShotRunner implements ApplicationRunner {
+    public static final String EXEC_OPTION = "exec";
+
+    private final OneShotExecutor oneShotExecutor;
+    private final ConfigurableApplicationContext context;
+
+    // runs before the shell runner and exits, so the shell never starts
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(EXEC_OPTION)) {
+            return;
+        }
+        CommandResponse response = oneShotExecutor.execute(args.getSourceArgs());
+        print(response);
+        System.exit(SpringApplication.exit(context, response::exitCode));
+    }
+
+    static void print(CommandResponse response) {
+        if (!response.output().isEmpty()) {
+            System.out.println(response.output());
+        }
+        if (!response.error().isEmpty()) {
+            System.err.println(response.error());
+        }
+        System.out.flush();
+    }
+}
@@ -0,0 +1,25 @@
+package botscrew.task.config;
+
+import botscrew.task.metrics.CommandMetrics;
+import botscrew.task.metrics.MetricsBeanPostProcessor;
+import botscrew.task.metrics.QueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public static MetricsBeanPostProcessor metricsBeanPostProcessor(
+            ObjectProvider<CommandMetrics> commandMetrics,
+            ObjectProvider<QueryCounter> queryCounter) {
+        return new MetricsBeanPostProcessor(commandMetrics, queryCounter);
+    }
+}
@@ -0,0 +1,53 @@
+package botscrew.task.config;
+
+import java.time.Duration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// read-only transactions go to the replica, except for a short window after a local write
+// commits, so a read that follows it can't get data the replica hasn't applied yet
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final long readYourWritesNanos;
+    private volatile long lastWriteNanos;
+
+    public ReadReplicaRoutingDataSource(Duration readYourWritesWindow) {
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+        this.lastWriteNanos = System.nanoTime() - readYourWritesNanos;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            onWrite();
+            return Route.PRIMARY;
+        }
+        return System.nanoTime() - lastWriteNanos < readYourWritesNanos
+                ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    // marked before the commit too, so an after-commit cache invalidation never sees the
+    // window closed
+    private void onWrite() {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        lastWriteNanos = System.nanoTime();
+                    }
+
+                    @Override
+                    public void afterCommit() {
+                        lastWriteNanos = System.nanoTime();
+                    }
+                });
+    }
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+}
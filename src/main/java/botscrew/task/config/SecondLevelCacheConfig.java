@@ -0,0 +1,29 @@
+package botscrew.task.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SecondLevelCacheConfig {
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${second-level-cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                        ConfigSettings.SIMPLE_FACTORY_NAME);
+                properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+                properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package botscrew.task.config;
+
+import botscrew.task.cache.DepartmentAggregateCacheListener;
+import botscrew.task.changes.ChangeFeedListener;
+import botscrew.task.history.SalaryHistoryListener;
+import botscrew.task.metrics.MetricsFileExporter;
+import botscrew.task.registry.DepartmentRegistryListener;
+import botscrew.task.search.EmployeeNameIndexListener;
+import botscrew.task.snapshot.EmployeeSnapshotListener;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.startup.StartupWarmup;
+import botscrew.task.stats.DepartmentStatsListener;
+import botscrew.task.tree.DepartmentTreeListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DepartmentStatsListener.class,
+                DepartmentAggregateCacheListener.class, DepartmentRegistryListener.class,
+                EmployeeNameIndexListener.class, EmployeeSnapshotListener.class,
+                EmployeeSnapshotStore.class, MetricsFileExporter.class, StartupWarmup.class,
+                ChangeFeedListener.class, DepartmentTreeListener.class,
+                SalaryHistoryListener.class);
+    }
+}
@@ -0,0 +1,34 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.BatchService;
+import java.util.Arrays;
+import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class BatchController {
+    private final BatchService batchService;
+    private final Terminal terminal;
+
+    @ShellMethod(key = "Run batch from")
+    public String runBatch(@ShellOption({"path"}) String path) {
+        return batchService.runFile(path, this::print);
+    }
+
+    @ShellMethod(key = "Run department report for")
+    public String runDepartmentReport(@ShellOption({"departments"}) String departments) {
+        return batchService.runDepartmentReport(Arrays.stream(departments.split(","))
+                .map(String::strip)
+                .filter(departmentName -> !departmentName.isEmpty())
+                .toList(), this::print);
+    }
+
+    private void print(String line) {
+        terminal.writer().println(line);
+        terminal.flush();
+    }
+}
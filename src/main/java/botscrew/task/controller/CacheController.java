@@ -0,0 +1,44 @@
+package botscrew.task.controller;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.res.Messages;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class CacheController {
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final SecondLevelCache secondLevelCache;
+
+    @ShellMethod(key = "Show aggregate cache statistics")
+    public String showAggregateCacheStatistics() {
+        DepartmentAggregateCache.Statistics statistics =
+                departmentAggregateCache.getStatistics();
+        return String.format(Messages.AGGREGATE_CACHE_STATISTICS_MESSAGE, statistics.hits(),
+                statistics.misses(), statistics.evictions(), statistics.entries(),
+                statistics.sizeBytes(), statistics.maxSizeBytes());
+    }
+
+    @ShellMethod(key = "Show second-level cache statistics")
+    public String showSecondLevelCacheStatistics() {
+        List<SecondLevelCache.RegionStatistics> statistics = secondLevelCache.getStatistics();
+        if (statistics.isEmpty()) {
+            return Messages.SECOND_LEVEL_CACHE_DISABLED_MESSAGE;
+        }
+        return statistics.stream()
+                .map(region -> String.format(Messages.SECOND_LEVEL_CACHE_REGION_MESSAGE,
+                        region.region(), region.hits(), region.misses(), region.puts()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @ShellMethod(key = "Clear second-level cache")
+    public String clearSecondLevelCache() {
+        secondLevelCache.evictAll();
+        return Messages.SECOND_LEVEL_CACHE_CLEARED_MESSAGE;
+    }
+}
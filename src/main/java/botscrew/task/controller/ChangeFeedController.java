@@ -0,0 +1,19 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ChangeFeedController {
+    private final ChangeFeedService changeFeedService;
+
+    @ShellMethod(key = "Show changes after")
+    public String showChanges(@ShellOption({"sequence"}) long afterSequence,
+                              @ShellOption(value = "limit", defaultValue = "100") int limit) {
+        return changeFeedService.showChanges(afterSequence, limit);
+    }
+}
@@ -0,0 +1,17 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.DepartmentStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class DepartmentStatsController {
+    private final DepartmentStatsService departmentStatsService;
+
+    @ShellMethod(key = "Reconcile department statistics")
+    public String reconcileDepartmentStatistics() {
+        return departmentStatsService.reconcile();
+    }
+}
@@ -0,0 +1,36 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.DepartmentTreeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class DepartmentTreeController {
+    private final DepartmentTreeService departmentTreeService;
+
+    @ShellMethod(key = "Move department")
+    public String moveDepartment(@ShellOption({"department_name"}) String departmentName,
+                                 @ShellOption(value = "under", defaultValue = ShellOption.NULL)
+                                 String parentName) {
+        return departmentTreeService.moveDepartment(departmentName, parentName);
+    }
+
+    @ShellMethod(key = "Show subtree statistics for")
+    public String showSubtreeStatistics(@ShellOption({"department_name"}) String departmentName) {
+        return departmentTreeService.showSubtreeStatistics(departmentName);
+    }
+
+    @ShellMethod(key = "Show the average salary for the subtree")
+    public String showSubtreeAverageSalary(
+            @ShellOption({"department_name"}) String departmentName) {
+        return departmentTreeService.showSubtreeAverageSalary(departmentName);
+    }
+
+    @ShellMethod(key = "Show count of employee for subtree")
+    public String showSubtreeCount(@ShellOption({"department_name"}) String departmentName) {
+        return departmentTreeService.showSubtreeCount(departmentName);
+    }
+}
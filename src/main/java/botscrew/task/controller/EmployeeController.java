@@ -1,6 +1,7 @@
 package botscrew.task.controller;
 
 import botscrew.task.service.EmployeeService;
+import botscrew.task.service.SalaryHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
@@ -10,6 +11,7 @@ import org.springframework.shell.standard.ShellOption;
 @RequiredArgsConstructor
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final SalaryHistoryService salaryHistoryService;
 
     @ShellMethod(key = "Who is head of department")
     public String headOfDepartment(@ShellOption({"department_name"}) String departmentName) {
@@ -22,8 +24,11 @@ public class EmployeeController {
     }
 
     @ShellMethod(key = "Show the average salary for the department ")
-    public String showAverageSalary(@ShellOption({"department_name"}) String departmentName) {
-        return employeeService.showAverageSalary(departmentName);
+    public String showAverageSalary(@ShellOption({"department_name"}) String departmentName,
+                                    @ShellOption(value = "as-of", defaultValue = ShellOption.NULL)
+                                    String date) {
+        return date == null ? employeeService.showAverageSalary(departmentName)
+                : salaryHistoryService.showAverageSalaryAsOf(departmentName, date);
     }
 
     @ShellMethod(key = "Show count of employee for")
@@ -32,7 +37,9 @@ public class EmployeeController {
     }
 
     @ShellMethod(key = "Global search by ")
-    public String globalSearchBy(@ShellOption({"namePart"}) String namePart) {
-        return employeeService.globalSearchBy(namePart);
+    public String globalSearchBy(@ShellOption({"namePart"}) String namePart,
+                                 @ShellOption(value = "page", defaultValue = "0") int page,
+                                 @ShellOption(value = "size", defaultValue = "100") int size) {
+        return employeeService.globalSearchBy(namePart, page, size);
     }
 }
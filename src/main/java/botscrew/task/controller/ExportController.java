@@ -0,0 +1,31 @@
+package botscrew.task.controller;
+
+import botscrew.task.export.ExportFormat;
+import botscrew.task.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ExportController {
+    private final ExportService exportService;
+    private final Terminal terminal;
+
+    @ShellMethod(key = "Export university to")
+    public String exportUniversity(@ShellOption({"directory"}) String directory,
+                                   @ShellOption(value = "format", defaultValue = "csv")
+                                   String format,
+                                   @ShellOption(value = "gzip", defaultValue = "false")
+                                   boolean gzip) {
+        return exportService.export(directory, ExportFormat.of(format), gzip,
+                this::printProgress);
+    }
+
+    private void printProgress(String progress) {
+        terminal.writer().println(progress);
+        terminal.flush();
+    }
+}
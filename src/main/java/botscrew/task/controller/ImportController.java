@@ -0,0 +1,36 @@
+package botscrew.task.controller;
+
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.service.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ImportController {
+    private final ImportService importService;
+    private final Terminal terminal;
+
+    @ShellMethod(key = "Import employees from")
+    public String importEmployees(@ShellOption({"path"}) String path) {
+        return importService.importFile(ImportKind.EMPLOYEES, path, this::printProgress);
+    }
+
+    @ShellMethod(key = "Import departments from")
+    public String importDepartments(@ShellOption({"path"}) String path) {
+        return importService.importFile(ImportKind.DEPARTMENTS, path, this::printProgress);
+    }
+
+    @ShellMethod(key = "Import memberships from")
+    public String importMemberships(@ShellOption({"path"}) String path) {
+        return importService.importFile(ImportKind.MEMBERSHIPS, path, this::printProgress);
+    }
+
+    private void printProgress(String progress) {
+        terminal.writer().println(progress);
+        terminal.flush();
+    }
+}
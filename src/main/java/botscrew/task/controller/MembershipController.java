@@ -0,0 +1,41 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.MembershipService;
+import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class MembershipController {
+    private final MembershipService membershipService;
+
+    @ShellMethod(key = "Assign head of")
+    public String assignHead(@ShellOption({"department_name"}) String departmentName,
+                             @ShellOption({"employee"}) Long employeeId) {
+        return membershipService.assignHead(departmentName, employeeId);
+    }
+
+    @ShellMethod(key = "Add employees to")
+    public String addMembers(@ShellOption({"department_name"}) String departmentName,
+                             @ShellOption({"employees"}) String employees) {
+        return membershipService.addMembers(departmentName, parseIds(employees));
+    }
+
+    @ShellMethod(key = "Remove employees from")
+    public String removeMembers(@ShellOption({"department_name"}) String departmentName,
+                                @ShellOption({"employees"}) String employees) {
+        return membershipService.removeMembers(departmentName, parseIds(employees));
+    }
+
+    private static List<Long> parseIds(String employees) {
+        return Arrays.stream(employees.split(","))
+                .map(String::strip)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class MetricsController {
+    private final MetricsService metricsService;
+
+    @ShellMethod(key = "metrics", value = "Show latency percentiles, queries and rows per command")
+    public String showMetrics() {
+        return metricsService.showMetrics();
+    }
+}
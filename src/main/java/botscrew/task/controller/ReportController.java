@@ -0,0 +1,27 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportService reportService;
+    private final Terminal terminal;
+
+    @ShellMethod(key = "Show university report")
+    public String showUniversityReport(@ShellOption(value = "compare", defaultValue = "false")
+                                       boolean compare) {
+        return compare ? reportService.compareWithSequentialCommands(this::print)
+                : reportService.universityReport(this::print);
+    }
+
+    private void print(String line) {
+        terminal.writer().println(line);
+        terminal.flush();
+    }
+}
@@ -0,0 +1,27 @@
+package botscrew.task.controller;
+
+import botscrew.task.service.SalaryHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class SalaryHistoryController {
+    private final SalaryHistoryService salaryHistoryService;
+
+    @ShellMethod(key = "Show salary history for")
+    public String showSalaryHistory(@ShellOption({"department_name"}) String departmentName,
+                                    @ShellOption(value = "from", defaultValue = ShellOption.NULL)
+                                    String fromMonth,
+                                    @ShellOption(value = "to", defaultValue = ShellOption.NULL)
+                                    String toMonth) {
+        return salaryHistoryService.showSalaryHistory(departmentName, fromMonth, toMonth);
+    }
+
+    @ShellMethod(key = "Roll up salary history")
+    public String rollUp() {
+        return salaryHistoryService.rollUp();
+    }
+}
@@ -0,0 +1,59 @@
+package botscrew.task.controller;
+
+import botscrew.task.model.Employee;
+import botscrew.task.service.SnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class SnapshotController {
+    private final SnapshotService snapshotService;
+
+    @ShellMethod(key = "Show salary percentiles for")
+    public String showSalaryPercentiles(@ShellOption({"department_name"}) String departmentName,
+                                        @ShellOption(value = "degree",
+                                                defaultValue = ShellOption.NULL)
+                                        Employee.Degree degree) {
+        return snapshotService.showSalaryPercentiles(departmentName, degree);
+    }
+
+    @ShellMethod(key = "Show salary histogram for")
+    public String showSalaryHistogram(@ShellOption({"department_name"}) String departmentName,
+                                      @ShellOption(value = "degree",
+                                              defaultValue = ShellOption.NULL)
+                                      Employee.Degree degree,
+                                      @ShellOption(value = "buckets", defaultValue = "10")
+                                      int buckets) {
+        return snapshotService.showSalaryHistogram(departmentName, degree, buckets);
+    }
+
+    @ShellMethod(key = "Show university salary percentiles")
+    public String showUniversitySalaryPercentiles(@ShellOption(value = "degree",
+                                                          defaultValue = ShellOption.NULL)
+                                                  Employee.Degree degree) {
+        return snapshotService.showSalaryPercentiles(null, degree);
+    }
+
+    @ShellMethod(key = "Show university salary histogram")
+    public String showUniversitySalaryHistogram(@ShellOption(value = "degree",
+                                                        defaultValue = ShellOption.NULL)
+                                                Employee.Degree degree,
+                                                @ShellOption(value = "buckets",
+                                                        defaultValue = "10")
+                                                int buckets) {
+        return snapshotService.showSalaryHistogram(null, degree, buckets);
+    }
+
+    @ShellMethod(key = "Refresh employee snapshot")
+    public String refreshEmployeeSnapshot() {
+        return snapshotService.refresh();
+    }
+
+    @ShellMethod(key = "Check employee snapshot")
+    public String checkEmployeeSnapshot() {
+        return snapshotService.check();
+    }
+}
@@ -0,0 +1,8 @@
+package botscrew.task.dto;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+
+public record DegreeAggregateDto(Long departmentId, Long headId, String headName,
+                                 Employee.Degree degree, long count, BigDecimal salarySum) {
+}
@@ -0,0 +1,7 @@
+package botscrew.task.dto;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+
+public record DegreeTotalDto(Employee.Degree degree, long count, BigDecimal salarySum) {
+}
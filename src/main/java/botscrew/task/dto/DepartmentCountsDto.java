@@ -0,0 +1,12 @@
+package botscrew.task.dto;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record DepartmentCountsDto(String department, Map<Employee.Degree, Long> countsByDegree,
+                                  long count, BigDecimal averageSalary) {
+    public long count(Employee.Degree degree) {
+        return countsByDegree.getOrDefault(degree, 0L);
+    }
+}
@@ -0,0 +1,4 @@
+package botscrew.task.dto;
+
+public record DepartmentHeadDto(String department, String head) {
+}
@@ -0,0 +1,4 @@
+package botscrew.task.dto;
+
+public record DepartmentRefDto(Long id, String name, Long headId) {
+}
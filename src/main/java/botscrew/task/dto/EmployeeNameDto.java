@@ -0,0 +1,4 @@
+package botscrew.task.dto;
+
+public record EmployeeNameDto(Long id, String name) {
+}
@@ -0,0 +1,6 @@
+package botscrew.task.dto;
+
+import java.util.List;
+
+public record NamePageDto(List<String> names, boolean hasMore) {
+}
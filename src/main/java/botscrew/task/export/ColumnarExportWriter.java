@@ -0,0 +1,117 @@
+package botscrew.task.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+// values are buffered per column for one row group, so memory depends on the group size only
+final class ColumnarExportWriter implements ExportWriter {
+    static final int ROW_GROUP_SIZE = 8192;
+
+    private final DataOutputStream out;
+    private final ExportColumn.Type[] types;
+    private final ByteArrayOutputStream[] values;
+    private final byte[][] nulls;
+    private final long[] previous;
+    private final int rowGroupSize;
+    private int rows;
+    private long totalRows;
+
+    ColumnarExportWriter(OutputStream out, List<ExportColumn> columns, int rowGroupSize)
+            throws IOException {
+        this.out = new DataOutputStream(out);
+        this.rowGroupSize = rowGroupSize;
+        this.types = new ExportColumn.Type[columns.size()];
+        this.values = new ByteArrayOutputStream[columns.size()];
+        this.nulls = new byte[columns.size()][(rowGroupSize + Byte.SIZE - 1) / Byte.SIZE];
+        this.previous = new long[columns.size()];
+        this.out.writeInt(ColumnarFormat.MAGIC);
+        this.out.writeByte(ColumnarFormat.VERSION);
+        this.out.writeInt(columns.size());
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columns.get(i).type();
+            values[i] = new ByteArrayOutputStream();
+            this.out.writeUTF(columns.get(i).name());
+            this.out.writeByte(types[i].ordinal());
+        }
+    }
+
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case LONG -> {
+                    long value = row.getLong(i + 1);
+                    if (row.wasNull()) {
+                        markNull(i);
+                    } else {
+                        // ordered keys become small deltas
+                        ColumnarFormat.writeVarLong(values[i], value - previous[i]);
+                        previous[i] = value;
+                    }
+                }
+                case STRING -> {
+                    String value = row.getString(i + 1);
+                    if (value == null) {
+                        markNull(i);
+                    } else {
+                        writeBytes(values[i], value.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                default -> {
+                    BigDecimal value = row.getBigDecimal(i + 1);
+                    if (value == null) {
+                        markNull(i);
+                    } else {
+                        ColumnarFormat.writeVarLong(values[i], value.scale());
+                        writeBytes(values[i], value.unscaledValue().toByteArray());
+                    }
+                }
+            }
+        }
+        if (++rows == rowGroupSize) {
+            writeGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows > 0) {
+            writeGroup();
+        }
+        out.writeInt(ColumnarFormat.END_OF_GROUPS);
+        out.writeLong(totalRows);
+        out.flush();
+    }
+
+    private void writeGroup() throws IOException {
+        int nullBytes = (rows + Byte.SIZE - 1) / Byte.SIZE;
+        out.writeInt(rows);
+        for (int i = 0; i < types.length; i++) {
+            out.writeInt(nullBytes + values[i].size());
+            out.write(nulls[i], 0, nullBytes);
+            values[i].writeTo(out);
+            values[i].reset();
+            Arrays.fill(nulls[i], (byte) 0);
+            previous[i] = 0;
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void markNull(int column) {
+        nulls[column][rows / Byte.SIZE] |= (byte) (1 << rows % Byte.SIZE);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        ColumnarFormat.writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+}
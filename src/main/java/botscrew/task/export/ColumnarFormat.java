@@ -0,0 +1,40 @@
+package botscrew.task.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.IOException;
+
+// header: magic, version, columns; then row groups of column chunks; then 0 and the row count
+final class ColumnarFormat {
+    static final int MAGIC = 0x55434F4C;
+    static final int VERSION = 1;
+    static final int END_OF_GROUPS = 0;
+
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+
+    private ColumnarFormat() {
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> (Long.SIZE - 1));
+        while ((zigzag & ~VARINT_MASK) != 0) {
+            out.write((int) (zigzag & VARINT_MASK) | VARINT_MORE);
+            zigzag >>>= VARINT_BITS;
+        }
+        out.write((int) zigzag);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while ((b & VARINT_MORE) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,92 @@
+package botscrew.task.export;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnarReader {
+    private static final ExportColumn.Type[] TYPES = ExportColumn.Type.values();
+
+    private final DataInputStream in;
+    private final List<ExportColumn> columns = new ArrayList<>();
+    private Object[][] group = new Object[0][];
+    private int next;
+    private long expectedRows = -1;
+    private long readRows;
+
+    public ColumnarReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+        if (this.in.readInt() != ColumnarFormat.MAGIC
+                || this.in.readUnsignedByte() != ColumnarFormat.VERSION) {
+            throw new IOException("Not a columnar export file");
+        }
+        int count = this.in.readInt();
+        for (int i = 0; i < count; i++) {
+            columns.add(new ExportColumn(this.in.readUTF(), TYPES[this.in.readUnsignedByte()]));
+        }
+    }
+
+    public List<ExportColumn> columns() {
+        return columns;
+    }
+
+    public Object[] read() throws IOException {
+        if (next == group.length && !readGroup()) {
+            return null;
+        }
+        return group[next++];
+    }
+
+    private boolean readGroup() throws IOException {
+        if (expectedRows >= 0) {
+            return false;
+        }
+        int rows = in.readInt();
+        if (rows == ColumnarFormat.END_OF_GROUPS) {
+            expectedRows = in.readLong();
+            if (expectedRows != readRows) {
+                throw new IOException("File has " + readRows + " rows, footer says "
+                        + expectedRows);
+            }
+            return false;
+        }
+        group = new Object[rows][columns.size()];
+        next = 0;
+        for (int column = 0; column < columns.size(); column++) {
+            in.readInt();
+            byte[] nulls = new byte[(rows + Byte.SIZE - 1) / Byte.SIZE];
+            in.readFully(nulls);
+            long previous = 0;
+            for (int row = 0; row < rows; row++) {
+                if ((nulls[row / Byte.SIZE] & 1 << row % Byte.SIZE) != 0) {
+                    continue;
+                }
+                switch (columns.get(column).type()) {
+                    case LONG -> {
+                        previous += ColumnarFormat.readVarLong(in);
+                        group[row][column] = previous;
+                    }
+                    case STRING -> group[row][column] =
+                            new String(readBytes(), StandardCharsets.UTF_8);
+                    default -> {
+                        int scale = (int) ColumnarFormat.readVarLong(in);
+                        group[row][column] = new BigDecimal(new BigInteger(readBytes()), scale);
+                    }
+                }
+            }
+        }
+        readRows += rows;
+        return true;
+    }
+
+    private byte[] readBytes() throws IOException {
+        byte[] bytes = new byte[(int) ColumnarFormat.readVarLong(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
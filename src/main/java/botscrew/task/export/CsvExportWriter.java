@@ -0,0 +1,72 @@
+package botscrew.task.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+final class CsvExportWriter implements ExportWriter {
+    private static final String SPECIAL_CHARACTERS = ",\"\r\n";
+
+    private final Writer out;
+    private final ExportColumn.Type[] types;
+
+    CsvExportWriter(Writer out, List<ExportColumn> columns) throws IOException {
+        this.out = out;
+        this.types = new ExportColumn.Type[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columns.get(i).type();
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(columns.get(i).name());
+        }
+        out.write('\n');
+    }
+
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = row.getString(i + 1);
+            if (value == null) {
+                continue;
+            }
+            if (types[i] == ExportColumn.Type.STRING && needsQuotes(value)) {
+                quote(value);
+            } else {
+                out.write(value);
+            }
+        }
+        out.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void quote(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.write(c);
+            if (c == '"') {
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(value.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package botscrew.task.export;
+
+public record ExportColumn(String name, Type type) {
+    public enum Type {
+        LONG,
+        STRING,
+        DECIMAL
+    }
+}
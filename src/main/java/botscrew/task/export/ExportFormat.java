@@ -0,0 +1,58 @@
+package botscrew.task.export;
+
+import botscrew.task.res.Messages;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV(".csv") {
+        @Override
+        public ExportWriter open(OutputStream out, List<ExportColumn> columns)
+                throws IOException {
+            return new CsvExportWriter(textWriter(out), columns);
+        }
+    },
+    JSONL(".jsonl") {
+        @Override
+        public ExportWriter open(OutputStream out, List<ExportColumn> columns) {
+            return new JsonLinesExportWriter(textWriter(out), columns);
+        }
+    },
+    COLUMNAR(".ucol") {
+        @Override
+        public ExportWriter open(OutputStream out, List<ExportColumn> columns)
+                throws IOException {
+            return new ColumnarExportWriter(out, columns, ColumnarExportWriter.ROW_GROUP_SIZE);
+        }
+    };
+
+    private final String extension;
+
+    public abstract ExportWriter open(OutputStream out, List<ExportColumn> columns)
+            throws IOException;
+
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format(Messages.UNKNOWN_EXPORT_FORMAT_MESSAGE,
+                name));
+    }
+
+    // OutputStreamWriter allocates on every single character it is given
+    private static Writer textWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package botscrew.task.export;
+
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportTable {
+    EMPLOYEES("SELECT id, name, degree, salary FROM employees ORDER BY id",
+            List.of(new ExportColumn("id", ExportColumn.Type.LONG),
+                    new ExportColumn("name", ExportColumn.Type.STRING),
+                    new ExportColumn("degree", ExportColumn.Type.STRING),
+                    new ExportColumn("salary", ExportColumn.Type.DECIMAL))),
+    DEPARTMENTS("SELECT id, name, head_id, parent_id FROM departments ORDER BY id",
+            List.of(new ExportColumn("id", ExportColumn.Type.LONG),
+                    new ExportColumn("name", ExportColumn.Type.STRING),
+                    new ExportColumn("head_id", ExportColumn.Type.LONG),
+                    new ExportColumn("parent_id", ExportColumn.Type.LONG))),
+    MEMBERSHIPS("SELECT employee_id, department_id FROM employees_departments "
+            + "ORDER BY employee_id, department_id",
+            List.of(new ExportColumn("employee_id", ExportColumn.Type.LONG),
+                    new ExportColumn("department_id", ExportColumn.Type.LONG)));
+
+    private final String selectSql;
+    private final List<ExportColumn> columns;
+
+    public String getLabel() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
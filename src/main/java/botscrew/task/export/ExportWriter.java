@@ -0,0 +1,11 @@
+package botscrew.task.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public interface ExportWriter {
+    void write(ResultSet row) throws SQLException, IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,75 @@
+package botscrew.task.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+final class JsonLinesExportWriter implements ExportWriter {
+    private static final String NULL = "null";
+    private static final int HEX_RADIX = 16;
+
+    private final Writer out;
+    private final ExportColumn.Type[] types;
+    private final String[] names;
+
+    JsonLinesExportWriter(Writer out, List<ExportColumn> columns) {
+        this.out = out;
+        this.types = new ExportColumn.Type[columns.size()];
+        this.names = new String[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columns.get(i).type();
+            names[i] = '"' + columns.get(i).name() + "\":";
+        }
+    }
+
+    @Override
+    public void write(ResultSet row) throws SQLException, IOException {
+        out.write('{');
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(names[i]);
+            String value = row.getString(i + 1);
+            if (value == null) {
+                out.write(NULL);
+            } else if (types[i] == ExportColumn.Type.STRING) {
+                string(value);
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("}\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void string(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < ' ') {
+                        out.write("\\u00");
+                        out.write(Character.forDigit(c / HEX_RADIX, HEX_RADIX));
+                        out.write(Character.forDigit(c % HEX_RADIX, HEX_RADIX));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,72 @@
+package botscrew.task.format;
+
+import java.math.BigDecimal;
+
+final class CsvResultWriter extends TableResultWriter {
+    private static final String SPECIAL_CHARACTERS = ",\"\r\n";
+
+    @Override
+    protected void start(StringBuilder out, String... columns) {
+        for (int i = 0; i < columns.length; i++) {
+            value(out, i, columns[i], columns[i]);
+        }
+    }
+
+    @Override
+    protected void startRow(StringBuilder out, int row) {
+        out.append(System.lineSeparator());
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, String value) {
+        separate(out, column);
+        if (value != null && needsQuotes(value)) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                out.append(c);
+                if (c == '"') {
+                    out.append(c);
+                }
+            }
+            out.append('"');
+        } else if (value != null) {
+            out.append(value);
+        }
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, long value) {
+        separate(out, column).append(value);
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, BigDecimal value) {
+        separate(out, column);
+        if (value != null) {
+            out.append(value.toString());
+        }
+    }
+
+    @Override
+    protected void endRow(StringBuilder out) {
+    }
+
+    @Override
+    protected StringBuilder end(StringBuilder out) {
+        return out;
+    }
+
+    private static StringBuilder separate(StringBuilder out, int column) {
+        return column > 0 ? out.append(',') : out;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(value.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
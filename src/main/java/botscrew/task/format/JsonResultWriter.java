@@ -0,0 +1,80 @@
+package botscrew.task.format;
+
+import java.math.BigDecimal;
+
+final class JsonResultWriter extends TableResultWriter {
+    private static final String NULL = "null";
+    private static final int HEX_RADIX = 16;
+
+    @Override
+    protected void start(StringBuilder out, String... columns) {
+        out.append('[');
+    }
+
+    @Override
+    protected void startRow(StringBuilder out, int row) {
+        if (row > 0) {
+            out.append(',');
+        }
+        out.append('{');
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, String value) {
+        if (value == null) {
+            name(out, column, name).append(NULL);
+        } else {
+            string(name(out, column, name), value);
+        }
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, long value) {
+        name(out, column, name).append(value);
+    }
+
+    @Override
+    protected void value(StringBuilder out, int column, String name, BigDecimal value) {
+        name(out, column, name).append(value == null ? NULL : value.toString());
+    }
+
+    @Override
+    protected void endRow(StringBuilder out) {
+        out.append('}');
+    }
+
+    @Override
+    protected StringBuilder end(StringBuilder out) {
+        return out.append(']');
+    }
+
+    private static StringBuilder name(StringBuilder out, int column, String name) {
+        if (column > 0) {
+            out.append(',');
+        }
+        return string(out, name).append(':');
+    }
+
+    private static StringBuilder string(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        out.append("\\u00").append(Character.forDigit(c / HEX_RADIX, HEX_RADIX))
+                                .append(Character.forDigit(c % HEX_RADIX, HEX_RADIX));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+}
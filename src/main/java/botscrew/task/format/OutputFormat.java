@@ -0,0 +1,25 @@
+package botscrew.task.format;
+
+import botscrew.task.res.Messages;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutputFormat {
+    TEXT(new TextResultWriter()),
+    JSON(new JsonResultWriter()),
+    CSV(new CsvResultWriter());
+
+    private final ResultWriter writer;
+
+    public static OutputFormat of(String name) {
+        for (OutputFormat format : values()) {
+            if (format.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format(Messages.UNKNOWN_FORMAT_MESSAGE, name));
+    }
+}
@@ -0,0 +1,72 @@
+package botscrew.task.format;
+
+import botscrew.task.res.Messages;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class OutputTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("%(.)");
+
+    private final String template;
+    private final String[] literals;
+
+    private OutputTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+    }
+
+    // supports the %s, %d, %n and %% placeholders used by Messages
+    public static OutputTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        int end = 0;
+        while (matcher.find()) {
+            literal.append(template, end, matcher.start());
+            end = matcher.end();
+            switch (matcher.group(1)) {
+                case "n" -> literal.append(System.lineSeparator());
+                case "%" -> literal.append('%');
+                case "s", "d" -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                default -> throw new IllegalArgumentException(String.format(
+                        Messages.UNSUPPORTED_TEMPLATE_MESSAGE, template));
+            }
+        }
+        literals.add(literal.append(template, end, template.length()).toString());
+        return new OutputTemplate(template, literals.toArray(String[]::new));
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object first) {
+        checkArguments(1);
+        return out.append(literals[0]).append(first).append(literals[1]);
+    }
+
+    public StringBuilder appendTo(StringBuilder out, long first) {
+        checkArguments(1);
+        return out.append(literals[0]).append(first).append(literals[1]);
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object first, Object second) {
+        checkArguments(2);
+        return out.append(literals[0]).append(first).append(literals[1]).append(second)
+                .append(literals[2]);
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object first, long second) {
+        checkArguments(2);
+        return out.append(literals[0]).append(first).append(literals[1]).append(second)
+                .append(literals[2]);
+    }
+
+    private void checkArguments(int count) {
+        if (literals.length != count + 1) {
+            throw new IllegalArgumentException(String.format(Messages.TEMPLATE_ARGUMENTS_MESSAGE,
+                    template, literals.length - 1, count));
+        }
+    }
+}
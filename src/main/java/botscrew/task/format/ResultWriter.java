@@ -0,0 +1,17 @@
+package botscrew.task.format;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+
+public interface ResultWriter {
+    StringBuilder head(DepartmentHeadDto head, StringBuilder out);
+
+    StringBuilder statistics(DepartmentCountsDto counts, StringBuilder out);
+
+    StringBuilder averageSalary(DepartmentCountsDto counts, StringBuilder out);
+
+    StringBuilder count(DepartmentCountsDto counts, StringBuilder out);
+
+    StringBuilder names(NamePageDto names, int page, StringBuilder out);
+}
@@ -0,0 +1,87 @@
+package botscrew.task.format;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.util.List;
+
+abstract class TableResultWriter implements ResultWriter {
+    private static final Employee.Degree[] DEGREES = Employee.Degree.values();
+    private static final String DEPARTMENT = "department";
+    private static final String HEAD = "head";
+    private static final String DEGREE = "degree";
+    private static final String COUNT = "count";
+    private static final String AVERAGE_SALARY = "average_salary";
+    private static final String NAME = "name";
+
+    @Override
+    public StringBuilder head(DepartmentHeadDto head, StringBuilder out) {
+        start(out, DEPARTMENT, HEAD);
+        startRow(out, 0);
+        value(out, 0, DEPARTMENT, head.department());
+        value(out, 1, HEAD, head.head());
+        endRow(out);
+        return end(out);
+    }
+
+    @Override
+    public StringBuilder statistics(DepartmentCountsDto counts, StringBuilder out) {
+        start(out, DEPARTMENT, DEGREE, COUNT);
+        for (int i = 0; i < DEGREES.length; i++) {
+            startRow(out, i);
+            value(out, 0, DEPARTMENT, counts.department());
+            value(out, 1, DEGREE, DEGREES[i].name());
+            value(out, 2, COUNT, counts.count(DEGREES[i]));
+            endRow(out);
+        }
+        return end(out);
+    }
+
+    @Override
+    public StringBuilder averageSalary(DepartmentCountsDto counts, StringBuilder out) {
+        start(out, DEPARTMENT, AVERAGE_SALARY);
+        startRow(out, 0);
+        value(out, 0, DEPARTMENT, counts.department());
+        value(out, 1, AVERAGE_SALARY, counts.averageSalary());
+        endRow(out);
+        return end(out);
+    }
+
+    @Override
+    public StringBuilder count(DepartmentCountsDto counts, StringBuilder out) {
+        start(out, DEPARTMENT, COUNT);
+        startRow(out, 0);
+        value(out, 0, DEPARTMENT, counts.department());
+        value(out, 1, COUNT, counts.count());
+        endRow(out);
+        return end(out);
+    }
+
+    @Override
+    public StringBuilder names(NamePageDto names, int page, StringBuilder out) {
+        List<String> values = names.names();
+        start(out, NAME);
+        for (int i = 0; i < values.size(); i++) {
+            startRow(out, i);
+            value(out, 0, NAME, values.get(i));
+            endRow(out);
+        }
+        return end(out);
+    }
+
+    protected abstract void start(StringBuilder out, String... columns);
+
+    protected abstract void startRow(StringBuilder out, int row);
+
+    protected abstract void value(StringBuilder out, int column, String name, String value);
+
+    protected abstract void value(StringBuilder out, int column, String name, long value);
+
+    protected abstract void value(StringBuilder out, int column, String name, BigDecimal value);
+
+    protected abstract void endRow(StringBuilder out);
+
+    protected abstract StringBuilder end(StringBuilder out);
+}
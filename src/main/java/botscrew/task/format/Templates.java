@@ -0,0 +1,18 @@
+package botscrew.task.format;
+
+import botscrew.task.res.Messages;
+
+public record Templates() {
+    public static final OutputTemplate HEAD_OF_DEPARTMENT =
+            OutputTemplate.compile(Messages.HEAD_OF_DEPARTMENT_MESSAGE);
+    public static final OutputTemplate STATISTIC_LINE =
+            OutputTemplate.compile(Messages.STATISTIC_LINE_MESSAGE);
+    public static final OutputTemplate AVERAGE_SALARY =
+            OutputTemplate.compile(Messages.AVERAGE_SALARY_MESSAGE);
+    public static final OutputTemplate NEXT_PAGE =
+            OutputTemplate.compile(Messages.NEXT_PAGE_MESSAGE);
+    public static final OutputTemplate BATCH_COMMAND =
+            OutputTemplate.compile(Messages.BATCH_COMMAND_MESSAGE);
+    public static final OutputTemplate REPORT_DEPARTMENT =
+            OutputTemplate.compile(Messages.REPORT_DEPARTMENT_MESSAGE);
+}
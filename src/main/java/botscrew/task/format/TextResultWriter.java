@@ -0,0 +1,52 @@
+package botscrew.task.format;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.model.Employee;
+import java.util.List;
+
+final class TextResultWriter implements ResultWriter {
+    private static final Employee.Degree[] DEGREES = Employee.Degree.values();
+    private static final String NAME_DELIMITER = ", ";
+
+    @Override
+    public StringBuilder head(DepartmentHeadDto head, StringBuilder out) {
+        return Templates.HEAD_OF_DEPARTMENT.appendTo(out, head.department(), head.head());
+    }
+
+    @Override
+    public StringBuilder statistics(DepartmentCountsDto counts, StringBuilder out) {
+        for (int i = 0; i < DEGREES.length; i++) {
+            if (i > 0) {
+                out.append(System.lineSeparator());
+            }
+            Templates.STATISTIC_LINE.appendTo(out, DEGREES[i].getTitle(),
+                    counts.count(DEGREES[i]));
+        }
+        return out;
+    }
+
+    @Override
+    public StringBuilder averageSalary(DepartmentCountsDto counts, StringBuilder out) {
+        return Templates.AVERAGE_SALARY.appendTo(out, counts.department(),
+                counts.averageSalary());
+    }
+
+    @Override
+    public StringBuilder count(DepartmentCountsDto counts, StringBuilder out) {
+        return out.append(counts.count());
+    }
+
+    @Override
+    public StringBuilder names(NamePageDto names, int page, StringBuilder out) {
+        List<String> values = names.names();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.append(NAME_DELIMITER);
+            }
+            out.append(values.get(i));
+        }
+        return names.hasMore() ? Templates.NEXT_PAGE.appendTo(out, page + 1) : out;
+    }
+}
@@ -0,0 +1,77 @@
+package botscrew.task.history;
+
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.model.Employee;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SalaryHistory {
+    private static final String TOTALS_AS_OF_SQL = "SELECT h.degree, COUNT(*) AS member_count, "
+            + "SUM(h.salary) AS salary_sum FROM salary_history h "
+            + "WHERE h.department_id = ? AND h.effective_from < ? AND h.salary IS NOT NULL AND "
+            + latestBefore("h", "?") + " GROUP BY h.degree";
+    private static final String ROLLUPS_SQL = "SELECT month_start, degree, member_count, "
+            + "salary_sum FROM salary_rollups "
+            + "WHERE department_id = ? AND month_start BETWEEN ? AND ?";
+    private static final String LAST_ROLLED_UP_MONTH_SQL =
+            "SELECT MAX(month_start) FROM salary_rollups";
+    private static final String FIRST_EFFECTIVE_FROM_SQL =
+            "SELECT MIN(effective_from) FROM salary_history";
+    private static final RowMapper<DegreeTotalDto> TOTAL_MAPPER = (rs, rowNum) ->
+            new DegreeTotalDto(Employee.Degree.valueOf(rs.getString("degree")),
+                    rs.getLong("member_count"), rs.getBigDecimal("salary_sum"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // a row is the state of a membership until the next row of the same membership,
+    // the lower bound lets the member index seek straight to the rows after it
+    static String latestBefore(String alias, String before) {
+        return "NOT EXISTS (SELECT 1 FROM salary_history n "
+                + "WHERE n.department_id = " + alias + ".department_id "
+                + "AND n.employee_id = " + alias + ".employee_id "
+                + "AND n.effective_from >= " + alias + ".effective_from "
+                + "AND n.effective_from < " + before + " "
+                + "AND (n.effective_from > " + alias + ".effective_from "
+                + "OR n.id > " + alias + ".id))";
+    }
+
+    public List<DegreeTotalDto> totalsAsOf(Long departmentId, Instant asOf) {
+        Timestamp before = Timestamp.from(asOf);
+        return jdbcTemplate.query(TOTALS_AS_OF_SQL, TOTAL_MAPPER, departmentId, before, before);
+    }
+
+    // totals at the end of each rolled up month, months without members are left out
+    public Map<YearMonth, List<DegreeTotalDto>> rollups(Long departmentId, YearMonth from,
+                                                        YearMonth to) {
+        Map<YearMonth, List<DegreeTotalDto>> rollups = new TreeMap<>();
+        jdbcTemplate.query(ROLLUPS_SQL, rs -> {
+            rollups.computeIfAbsent(YearMonth.from(rs.getDate("month_start").toLocalDate()),
+                    month -> new ArrayList<>()).add(TOTAL_MAPPER.mapRow(rs, 0));
+        }, departmentId, Date.valueOf(from.atDay(1)), Date.valueOf(to.atDay(1)));
+        return rollups;
+    }
+
+    public Optional<YearMonth> lastRolledUpMonth() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(LAST_ROLLED_UP_MONTH_SQL,
+                LocalDate.class)).map(YearMonth::from);
+    }
+
+    public Optional<Instant> firstEffectiveFrom() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIRST_EFFECTIVE_FROM_SQL,
+                Timestamp.class)).map(Timestamp::toInstant);
+    }
+}
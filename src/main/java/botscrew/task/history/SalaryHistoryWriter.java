@@ -0,0 +1,76 @@
+package botscrew.task.history;
+
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SalaryHistoryWriter {
+    private static final String INSERT_SQL = "INSERT INTO salary_history "
+            + "(department_id, employee_id, degree, salary, effective_from) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER_SQL = "INSERT INTO salary_history "
+            + "(department_id, employee_id, degree, salary, effective_from) "
+            + "SELECT ?, e.id, e.degree, e.salary, ? FROM employees e WHERE e.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public SalaryHistoryWriter(JdbcTemplate jdbcTemplate,
+                               @Value("${salary-history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void append(Long departmentId, Long employeeId, Employee.Degree degree,
+                       BigDecimal salary) {
+        jdbcTemplate.update(INSERT_SQL, departmentId, employeeId, degree.name(), salary,
+                Timestamp.from(Instant.now()));
+    }
+
+    public void appendJoined(Long departmentId, Collection<Long> employeeIds) {
+        Timestamp effectiveFrom = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_MEMBER_SQL, employeeIds, batchSize, (ps, employeeId) -> {
+            ps.setLong(1, departmentId);
+            ps.setTimestamp(2, effectiveFrom);
+            ps.setLong(3, employeeId);
+        });
+    }
+
+    // a row without salary closes the membership
+    public void appendLeft(Long departmentId, Long employeeId) {
+        jdbcTemplate.update(INSERT_SQL, departmentId, employeeId, null, null,
+                Timestamp.from(Instant.now()));
+    }
+
+    public void appendLeft(Long departmentId, Collection<Long> employeeIds) {
+        Timestamp effectiveFrom = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, employeeIds, batchSize, (ps, employeeId) -> {
+            ps.setLong(1, departmentId);
+            ps.setLong(2, employeeId);
+            ps.setNull(3, Types.VARCHAR);
+            ps.setNull(4, Types.DECIMAL);
+            ps.setTimestamp(5, effectiveFrom);
+        });
+    }
+
+    public void appendImported(ImportKind kind, List<Object[]> rows) {
+        if (kind != ImportKind.MEMBERSHIPS) {
+            return;
+        }
+        Timestamp effectiveFrom = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_MEMBER_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, (Long) row[1]);
+            ps.setTimestamp(2, effectiveFrom);
+            ps.setLong(3, (Long) row[0]);
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package botscrew.task.history;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SalaryRollupUpdater {
+    // a month is the previous month plus the members whose rows changed during it,
+    // so rolling it up reads only that month's history
+    private static final String ROLL_UP_SQL = "INSERT INTO salary_rollups "
+            + "(department_id, month_start, degree, member_count, salary_sum) "
+            + "SELECT t.department_id, :month, t.degree, SUM(t.member_count), "
+            + "SUM(t.salary_sum) FROM ("
+            + "SELECT r.department_id, r.degree, r.member_count, r.salary_sum "
+            + "FROM salary_rollups r WHERE r.month_start = :previousMonth "
+            + "UNION ALL "
+            + "SELECT h.department_id, h.degree, 1, h.salary FROM salary_history h "
+            + "WHERE h.effective_from >= :start AND h.effective_from < :end "
+            + "AND h.salary IS NOT NULL AND " + SalaryHistory.latestBefore("h", ":end") + " "
+            + "UNION ALL "
+            + "SELECT o.department_id, o.degree, -1, -o.salary FROM "
+            + "(SELECT DISTINCT department_id, employee_id FROM salary_history "
+            + "WHERE effective_from >= :start AND effective_from < :end) c "
+            + "JOIN salary_history o ON o.department_id = c.department_id "
+            + "AND o.employee_id = c.employee_id AND o.effective_from < :start "
+            + "WHERE o.salary IS NOT NULL AND " + SalaryHistory.latestBefore("o", ":start")
+            + ") t GROUP BY t.department_id, t.degree HAVING SUM(t.member_count) > 0";
+
+    private final SalaryHistory salaryHistory;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settleTime;
+
+    public SalaryRollupUpdater(SalaryHistory salaryHistory, JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${salary-history.rollup-settle-time:PT1H}")
+                               Duration settleTime) {
+        this.salaryHistory = salaryHistory;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settleTime = settleTime;
+    }
+
+    public static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    // history is appended with the current time, so a month is final once it has ended
+    // and transactions started before its end have had time to commit
+    public YearMonth lastClosedMonth() {
+        return YearMonth.from(Instant.now().minus(settleTime).atZone(ZoneOffset.UTC))
+                .minusMonths(1);
+    }
+
+    public synchronized int rollUp() {
+        YearMonth lastClosed = lastClosedMonth();
+        Optional<YearMonth> next = salaryHistory.lastRolledUpMonth()
+                .map(month -> month.plusMonths(1))
+                .or(() -> salaryHistory.firstEffectiveFrom()
+                        .map(first -> YearMonth.from(first.atZone(ZoneOffset.UTC))));
+        if (next.isEmpty()) {
+            return 0;
+        }
+        int months = 0;
+        try {
+            for (YearMonth month = next.get(); !month.isAfter(lastClosed); months++) {
+                rollUp(month);
+                month = month.plusMonths(1);
+            }
+        } catch (DuplicateKeyException e) {
+            // another instance is rolling up the same months
+            return months;
+        }
+        return months;
+    }
+
+    private void rollUp(YearMonth month) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("month", Date.valueOf(month.atDay(1)))
+                .addValue("previousMonth", Date.valueOf(month.minusMonths(1).atDay(1)))
+                .addValue("start", Timestamp.from(startOf(month)))
+                .addValue("end", Timestamp.from(startOf(month.plusMonths(1))));
+        transactionTemplate.executeWithoutResult(
+                status -> jdbcTemplate.update(ROLL_UP_SQL, parameters));
+    }
+}
@@ -0,0 +1,109 @@
+package botscrew.task.membership;
+
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// the stats, history and change feed listeners all need the stored departments of the
+// same employee during a flush, so they are read once and kept until the flush ends
+@Component
+@RequiredArgsConstructor
+public class MembershipLookup implements FlushEventListener, AutoFlushEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+    private static final String DEPARTMENT_IDS_SQL =
+            "SELECT department_id FROM employees_departments WHERE employee_id = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<SharedSessionContractImplementor, Map<Long, Set<Long>>> departmentIds =
+            new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.FLUSH, this);
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    // sorted, so concurrent writers update statistic rows in the same order
+    public Set<Long> findDepartmentIds(EventSource session, Long employeeId) {
+        return departmentIdsOf(session).computeIfAbsent(employeeId, id ->
+                Collections.unmodifiableSet(new TreeSet<>(
+                        jdbcTemplate.queryForList(DEPARTMENT_IDS_SQL, Long.class, id))));
+    }
+
+    // appended listeners run after the flush itself
+    @Override
+    public void onFlush(FlushEvent event) {
+        departmentIds.remove(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        departmentIds.remove(event.getSession());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onMembershipWritten(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onMembershipWritten(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onMembershipWritten(event);
+    }
+
+    private void onMembershipWritten(AbstractCollectionEvent event) {
+        Map<Long, Set<Long>> ids = departmentIds.get(event.getSession());
+        if (ids != null && event.getAffectedOwnerOrNull() instanceof Employee employee) {
+            ids.remove(employee.getId());
+        }
+    }
+
+    // a failed flush never reaches onFlush, so the ids are dropped with the transaction too
+    private Map<Long, Set<Long>> departmentIdsOf(EventSource session) {
+        return departmentIds.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess)
+                    (success, completed) -> departmentIds.remove(completed));
+            return new HashMap<>();
+        });
+    }
+}
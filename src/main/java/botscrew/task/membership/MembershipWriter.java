@@ -0,0 +1,170 @@
+package botscrew.task.membership;
+
+import static botscrew.task.util.TransactionCallbacks.afterCommit;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.changes.Change;
+import botscrew.task.changes.ChangeEntity;
+import botscrew.task.changes.ChangeFeedWriter;
+import botscrew.task.changes.ChangeOperation;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.model.Employee;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MembershipWriter {
+    private static final String LOCK_SQL =
+            "UPDATE employees SET version = version + 1 WHERE id = ?";
+    private static final String EMPLOYEES_SQL =
+            "SELECT id, name, degree, salary FROM employees WHERE id IN (:employeeIds)";
+    private static final String MEMBER_IDS_SQL = "SELECT employee_id FROM employees_departments "
+            + "WHERE department_id = :departmentId AND employee_id IN (:employeeIds)";
+    private static final String HEAD_ID_SQL = "SELECT head_id FROM departments WHERE id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO employees_departments (employee_id, department_id) VALUES (?, ?)";
+    private static final String DELETE_SQL =
+            "DELETE FROM employees_departments WHERE employee_id = ? AND department_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final DepartmentStatsUpdater departmentStatsUpdater;
+    private final SalaryHistoryWriter salaryHistoryWriter;
+    private final ChangeFeedWriter changeFeedWriter;
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final EmployeeSnapshotStore employeeSnapshotStore;
+    private final SecondLevelCache secondLevelCache;
+    private final int batchSize;
+
+    public MembershipWriter(JdbcTemplate jdbcTemplate,
+                            DepartmentStatsUpdater departmentStatsUpdater,
+                            SalaryHistoryWriter salaryHistoryWriter,
+                            ChangeFeedWriter changeFeedWriter,
+                            DepartmentAggregateCache departmentAggregateCache,
+                            EmployeeSnapshotStore employeeSnapshotStore,
+                            SecondLevelCache secondLevelCache,
+                            @Value("${membership.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.departmentStatsUpdater = departmentStatsUpdater;
+        this.salaryHistoryWriter = salaryHistoryWriter;
+        this.changeFeedWriter = changeFeedWriter;
+        this.departmentAggregateCache = departmentAggregateCache;
+        this.employeeSnapshotStore = employeeSnapshotStore;
+        this.secondLevelCache = secondLevelCache;
+        this.batchSize = batchSize;
+    }
+
+    // bumping the version fails JPA saves of employees read before this write instead of
+    // letting them rewrite the memberships, and the row locks queue concurrent writers;
+    // ids are locked in ascending order so two writers can't deadlock on them; every locked
+    // employee is evicted after commit, whether or not its memberships changed
+    public Map<Long, Member> lock(Collection<Long> employeeIds) {
+        List<Long> ids = employeeIds.stream().distinct().sorted().toList();
+        Map<Long, Member> members = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return members;
+        }
+        jdbcTemplate.batchUpdate(LOCK_SQL, ids, batchSize, (ps, id) -> ps.setLong(1, id));
+        afterCommit(() -> secondLevelCache.evictEmployees(ids));
+        MapSqlParameterSource parameters = new MapSqlParameterSource("employeeIds", ids);
+        namedJdbcTemplate.query(EMPLOYEES_SQL, parameters, rs -> {
+            Member member = new Member(rs.getLong("id"), rs.getString("name"),
+                    Employee.Degree.valueOf(rs.getString("degree")), rs.getBigDecimal("salary"));
+            members.put(member.id(), member);
+        });
+        return members;
+    }
+
+    public Set<Long> findMemberIds(Long departmentId, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Set.of();
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("departmentId", departmentId)
+                .addValue("employeeIds", employeeIds);
+        return new HashSet<>(namedJdbcTemplate.queryForList(MEMBER_IDS_SQL, parameters,
+                Long.class));
+    }
+
+    public Long findHeadId(Long departmentId) {
+        return jdbcTemplate.queryForObject(HEAD_ID_SQL, Long.class, departmentId);
+    }
+
+    // the members must be locked and not yet in the department
+    public void add(Long departmentId, List<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, members, batchSize, (ps, member) -> {
+            ps.setLong(1, member.id());
+            ps.setLong(2, departmentId);
+        });
+        List<Long> employeeIds = members.stream().map(Member::id).toList();
+        applyStats(departmentId, members, 1);
+        salaryHistoryWriter.appendJoined(departmentId, employeeIds);
+        changeFeedWriter.append(changes(departmentId, employeeIds, ChangeOperation.INSERT));
+        refreshAfterCommit(departmentId, employeeIds);
+    }
+
+    // the members must be locked and in the department
+    public void remove(Long departmentId, List<Member> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, members, batchSize, (ps, member) -> {
+            ps.setLong(1, member.id());
+            ps.setLong(2, departmentId);
+        });
+        List<Long> employeeIds = members.stream().map(Member::id).toList();
+        applyStats(departmentId, members, -1);
+        salaryHistoryWriter.appendLeft(departmentId, employeeIds);
+        changeFeedWriter.append(changes(departmentId, employeeIds, ChangeOperation.DELETE));
+        refreshAfterCommit(departmentId, employeeIds);
+    }
+
+    // one stats update per degree, in the same order in every transaction
+    private void applyStats(Long departmentId, List<Member> members, int sign) {
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        Map<Employee.Degree, BigDecimal> salaries = new EnumMap<>(Employee.Degree.class);
+        for (Member member : members) {
+            counts.merge(member.degree(), 1L, Long::sum);
+            salaries.merge(member.degree(), member.salary(), BigDecimal::add);
+        }
+        counts.forEach((degree, count) -> departmentStatsUpdater.apply(departmentId, degree,
+                sign * count, sign > 0 ? salaries.get(degree) : salaries.get(degree).negate()));
+    }
+
+    private void refreshAfterCommit(Long departmentId, List<Long> employeeIds) {
+        afterCommit(() -> {
+            departmentAggregateCache.invalidate(departmentId);
+            secondLevelCache.evictMemberships(employeeIds);
+            employeeSnapshotStore.markChanged();
+        });
+    }
+
+    private static List<Change> changes(Long departmentId, List<Long> employeeIds,
+                                        ChangeOperation operation) {
+        return employeeIds.stream()
+                .map(employeeId -> new Change(ChangeEntity.MEMBERSHIP, operation, employeeId,
+                        departmentId))
+                .toList();
+    }
+
+    public record Member(long id, String name, Employee.Degree degree, BigDecimal salary) {
+    }
+}
@@ -0,0 +1,155 @@
+package botscrew.task.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class CommandMetrics {
+    public static final String QUERIES_METER = "shell.command.queries";
+    public static final String ROWS_METER = "shell.command.rows";
+    public static final String N_PLUS_ONE_METER = "shell.command.n_plus_one";
+    public static final String REPOSITORY_ROWS_METER = "repository.query.rows";
+    private static final String METHOD_TAG = "method";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final QueryCounter queryCounter;
+    private final int repeatedQueryThreshold;
+
+    public CommandMetrics(MeterRegistry meterRegistry, QueryCounter queryCounter,
+                          @Value("${metrics.n-plus-one-threshold:10}") int repeatedQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.queryCounter = queryCounter;
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+    }
+
+    public Object record(Layer layer, String method, Invocation invocation) throws Throwable {
+        QueryCounter.Scope scope = layer == Layer.COMMAND ? queryCounter.begin() : null;
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            if (layer == Layer.REPOSITORY) {
+                long rows = rowsOf(result);
+                queryCounter.addRows(rows);
+                summary(REPOSITORY_ROWS_METER, method).record(rows);
+            }
+            return result;
+        } finally {
+            timer(layer.getMeterName(), method).record(System.nanoTime() - start,
+                    TimeUnit.NANOSECONDS);
+            if (scope != null) {
+                queryCounter.end();
+                finishCommand(method, scope);
+            }
+        }
+    }
+
+    public List<MeterSnapshot> snapshot() {
+        return meterRegistry.getMeters().stream()
+                .map(meter -> {
+                    String method = meter.getId().getTag(METHOD_TAG);
+                    if (meter instanceof Timer timer) {
+                        return Optional.of(MeterSnapshot.of(meter.getId().getName(), method,
+                                timer.takeSnapshot(), TimeUnit.MILLISECONDS));
+                    }
+                    if (meter instanceof DistributionSummary summary) {
+                        return Optional.of(MeterSnapshot.of(meter.getId().getName(), method,
+                                summary.takeSnapshot(), null));
+                    }
+                    if (meter instanceof Counter counter) {
+                        return Optional.of(new MeterSnapshot(meter.getId().getName(), method,
+                                (long) counter.count(), 0, 0, 0, 0, 0));
+                    }
+                    return Optional.<MeterSnapshot>empty();
+                })
+                .flatMap(Optional::stream)
+                .sorted(Comparator.comparing(MeterSnapshot::name)
+                        .thenComparing(MeterSnapshot::method))
+                .toList();
+    }
+
+    private void finishCommand(String method, QueryCounter.Scope scope) {
+        summary(QUERIES_METER, method).record(scope.getQueries());
+        summary(ROWS_METER, method).record(scope.getRows());
+        scope.getStatements().forEach((sql, count) -> {
+            if (count >= repeatedQueryThreshold) {
+                Counter.builder(N_PLUS_ONE_METER).tag(METHOD_TAG, method)
+                        .register(meterRegistry).increment();
+                log.warn("Possible N+1 in {}: {} executions of {}", method, count, sql);
+            }
+        });
+    }
+
+    private Timer timer(String name, String method) {
+        return Timer.builder(name)
+                .tag(METHOD_TAG, method)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String method) {
+        return DistributionSummary.builder(name)
+                .tag(METHOD_TAG, method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    @FunctionalInterface
+    public interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    public record MeterSnapshot(String name, String method, long count, double mean,
+                                double p50, double p95, double p99, double max) {
+        static MeterSnapshot of(String name, String method, HistogramSnapshot snapshot,
+                                TimeUnit unit) {
+            double[] percentiles = new double[PERCENTILES.length];
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (value.percentile() == PERCENTILES[i]) {
+                        percentiles[i] = unit == null ? value.value() : value.value(unit);
+                    }
+                }
+            }
+            return new MeterSnapshot(name, method, snapshot.count(),
+                    unit == null ? snapshot.mean() : snapshot.mean(unit),
+                    percentiles[0], percentiles[1], percentiles[2],
+                    unit == null ? snapshot.max() : snapshot.max(unit));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package botscrew.task.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// counts statements below Hibernate and JdbcTemplate alike: prepared ones when prepared,
+// plain ones when executed
+class CountingDataSource extends DelegatingDataSource {
+    private static final String PREPARE_PREFIX = "prepare";
+    private static final String EXECUTE_PREFIX = "execute";
+
+    private final QueryCounter queryCounter;
+
+    CountingDataSource(DataSource dataSource, QueryCounter queryCounter) {
+        super(dataSource);
+        this.queryCounter = queryCounter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (method.getName().startsWith(PREPARE_PREFIX) && args[0] instanceof String sql) {
+                queryCounter.count(sql);
+            } else if (result instanceof Statement statement
+                    && method.getReturnType() == Statement.class) {
+                return counting(statement);
+            }
+            return result;
+        });
+    }
+
+    private Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (method, args, result) -> {
+            if (method.getName().startsWith(EXECUTE_PREFIX) && args != null
+                    && args[0] instanceof String sql) {
+                queryCounter.count(sql);
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interception interception) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return interception.after(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Interception {
+        Object after(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,14 @@
+package botscrew.task.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Layer {
+    COMMAND("shell.command"),
+    SERVICE("service.method"),
+    REPOSITORY("repository.query");
+
+    private final String meterName;
+}
@@ -0,0 +1,75 @@
+package botscrew.task.metrics;
+
+import java.util.Arrays;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.util.ClassUtils;
+
+public class MetricsBeanPostProcessor implements BeanPostProcessor {
+    private static final String SERVICE_PACKAGE = "botscrew.task.service";
+    private static final String REPOSITORY_PACKAGE = "botscrew.task.repository";
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<CommandMetrics> commandMetrics;
+    private final ObjectProvider<QueryCounter> queryCounter;
+
+    public MetricsBeanPostProcessor(ObjectProvider<CommandMetrics> commandMetrics,
+                                    ObjectProvider<QueryCounter> queryCounter) {
+        this.commandMetrics = commandMetrics;
+        this.queryCounter = queryCounter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // the data source every repository, listener and JdbcTemplate shares
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+            return queryCounter.getObject().wrap(dataSource);
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (AnnotationUtils.findAnnotation(targetClass, ShellComponent.class) != null) {
+            return instrument(bean, Layer.COMMAND, targetClass.getSimpleName(), true);
+        }
+        if (bean instanceof Repository<?, ?>) {
+            return interfaceIn(bean.getClass(), REPOSITORY_PACKAGE)
+                    .map(type -> instrument(bean, Layer.REPOSITORY, type.getSimpleName(), false))
+                    .orElse(bean);
+        }
+        return interfaceIn(targetClass, SERVICE_PACKAGE)
+                .map(type -> instrument(bean, Layer.SERVICE, type.getSimpleName(), false))
+                .orElse(bean);
+    }
+
+    private Object instrument(Object bean, Layer layer, String component,
+                              boolean proxyTargetClass) {
+        MethodInterceptor interceptor = invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            String method = component + "." + invocation.getMethod().getName();
+            return commandMetrics.getObject().record(layer, method, invocation::proceed);
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static Optional<Class<?>> interfaceIn(Class<?> type, String packageName) {
+        return Arrays.stream(ClassUtils.getAllInterfacesForClass(type))
+                .filter(candidate -> candidate.getPackageName().equals(packageName))
+                .findFirst();
+    }
+}
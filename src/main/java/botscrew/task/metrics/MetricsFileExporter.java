@@ -0,0 +1,82 @@
+package botscrew.task.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty("metrics.export.file")
+public class MetricsFileExporter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final CommandMetrics commandMetrics;
+    private final Path file;
+    private final long intervalSeconds;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "metrics-file-exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public MetricsFileExporter(CommandMetrics commandMetrics,
+                               @Value("${metrics.export.file}") String file,
+                               @Value("${metrics.export.interval-seconds:60}")
+                               long intervalSeconds) {
+        this.commandMetrics = commandMetrics;
+        this.file = Path.of(file);
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleAtFixedRate(this::exportQuietly, intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        exportQuietly();
+    }
+
+    public void export() {
+        List<CommandMetrics.MeterSnapshot> meters = commandMetrics.snapshot();
+        if (meters.isEmpty()) {
+            return;
+        }
+        try {
+            String line = MAPPER.writeValueAsString(Map.of(
+                    "timestamp", Instant.now().toString(), "meters", meters));
+            Files.writeString(file, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (RuntimeException e) {
+            log.warn("Can't export metrics to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package botscrew.task.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class QueryCounter {
+    private final ThreadLocal<Scope> scope = new ThreadLocal<>();
+
+    DataSource wrap(DataSource dataSource) {
+        return new CountingDataSource(dataSource, this);
+    }
+
+    void count(String sql) {
+        Scope current = scope.get();
+        if (current != null) {
+            current.statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    Scope begin() {
+        if (scope.get() != null) {
+            return null;
+        }
+        Scope started = new Scope();
+        scope.set(started);
+        return started;
+    }
+
+    void end() {
+        scope.remove();
+    }
+
+    void addRows(long rows) {
+        Scope current = scope.get();
+        if (current != null) {
+            current.rows += rows;
+        }
+    }
+
+    static final class Scope {
+        private final Map<String, Integer> statements = new HashMap<>();
+        private long rows;
+
+        Map<String, Integer> getStatements() {
+            return statements;
+        }
+
+        int getQueries() {
+            return statements.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        long getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package botscrew.task.model;
+
+import java.io.Serializable;
+import lombok.Data;
+
+@Data
+public class DepartmentClosureId implements Serializable {
+    private Long ancestorId;
+    private Long descendantId;
+}
@@ -0,0 +1,36 @@
+package botscrew.task.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+@Entity
+@Immutable
+@Synchronize({"employees", "employees_departments"})
+@IdClass(DepartmentStatsId.class)
+@Table(name = "department_stats")
+@Data
+public class DepartmentStats {
+    @Id
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "degree", nullable = false)
+    private Employee.Degree degree;
+
+    @Column(name = "member_count", nullable = false)
+    private long memberCount;
+
+    @Column(name = "salary_sum", nullable = false)
+    private BigDecimal salarySum;
+}
@@ -0,0 +1,10 @@
+package botscrew.task.model;
+
+import java.io.Serializable;
+import lombok.Data;
+
+@Data
+public class DepartmentStatsId implements Serializable {
+    private Long departmentId;
+    private Employee.Degree degree;
+}
@@ -1,5 +1,6 @@
 package botscrew.task.model;
 
+import botscrew.task.cache.SecondLevelCache;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,14 +13,22 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "employees")
+@BatchSize(size = 100)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.EMPLOYEES_REGION)
 @Data
 public class Employee {
     @Id
@@ -35,6 +44,9 @@ public class Employee {
     private Degree degree;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+            region = SecondLevelCache.EMPLOYEE_DEPARTMENTS_REGION)
     @JoinTable(name = "employees_departments",
             joinColumns = @JoinColumn(name = "employee_id"),
             inverseJoinColumns = @JoinColumn(name = "department_id"))
@@ -45,9 +57,18 @@ public class Employee {
     @Column(name = "salary", nullable = false)
     private BigDecimal salary;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @Getter
+    @RequiredArgsConstructor
     public enum Degree {
-        ASSISTANT,
-        ASSOCIATE_PROFESSOR,
-        PROFESSOR
+        ASSISTANT("assistants"),
+        ASSOCIATE_PROFESSOR("associate professors"),
+        PROFESSOR("professors");
+
+        private final String title;
     }
 }
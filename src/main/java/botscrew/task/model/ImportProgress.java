@@ -0,0 +1,35 @@
+package botscrew.task.model;
+
+import botscrew.task.bulk.ImportKind;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "import_progress")
+@Data
+public class ImportProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "source", nullable = false)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false)
+    private ImportKind kind;
+
+    @Column(name = "committed_records", nullable = false)
+    private long committedRecords;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+}
@@ -0,0 +1,155 @@
+package botscrew.task.registry;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.res.Messages;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentRegistry {
+    private static final int SHORT_NAME_LENGTH = 4;
+
+    private final DepartmentRepository departmentRepository;
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void reload() {
+        snapshot = Snapshot.of(departmentRepository.findAllRefs());
+    }
+
+    public Optional<DepartmentRefDto> find(String departmentName) {
+        Snapshot current = snapshot;
+        DepartmentRefDto exact = current.byName.get(departmentName);
+        return exact != null ? Optional.of(exact)
+                : Optional.ofNullable(current.byFoldedName.get(fold(departmentName)));
+    }
+
+    public Optional<DepartmentRefDto> findById(Long departmentId) {
+        return Optional.ofNullable(snapshot.byId.get(departmentId));
+    }
+
+    // a typo is reported with its suggestions instead of answered for another department
+    public DepartmentRefDto resolve(String departmentName) {
+        return find(departmentName)
+                .orElseThrow(() -> notFound(departmentName, closest(departmentName)));
+    }
+
+    public synchronized void put(DepartmentRefDto department) {
+        Map<Long, DepartmentRefDto> departments = new HashMap<>(snapshot.byId);
+        departments.put(department.id(), department);
+        snapshot = Snapshot.of(departments.values());
+    }
+
+    public synchronized void remove(Long departmentId) {
+        Map<Long, DepartmentRefDto> departments = new HashMap<>(snapshot.byId);
+        if (departments.remove(departmentId) != null) {
+            snapshot = Snapshot.of(departments.values());
+        }
+    }
+
+    public List<DepartmentRefDto> all() {
+        return snapshot.byId.values().stream()
+                .sorted(Comparator.comparing(DepartmentRefDto::name)
+                        .thenComparing(DepartmentRefDto::id))
+                .toList();
+    }
+
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    private static EntityNotFoundException notFound(String departmentName,
+                                                    List<DepartmentRefDto> closest) {
+        if (closest.isEmpty()) {
+            return new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE
+                    + departmentName);
+        }
+        return new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE + departmentName
+                + String.format(Messages.DID_YOU_MEAN_MESSAGE, String.join(", ",
+                closest.stream().map(DepartmentRefDto::name).toList())));
+    }
+
+    private List<DepartmentRefDto> closest(String departmentName) {
+        String folded = fold(departmentName);
+        int maxDistance = folded.length() <= SHORT_NAME_LENGTH ? 1 : 2;
+        int best = maxDistance + 1;
+        List<DepartmentRefDto> closest = new ArrayList<>();
+        for (Map.Entry<String, DepartmentRefDto> entry : snapshot.byFoldedName.entrySet()) {
+            int distance = distance(folded, entry.getKey(), best);
+            if (distance < best) {
+                best = distance;
+                closest.clear();
+            }
+            if (distance == best) {
+                closest.add(entry.getValue());
+            }
+        }
+        return closest;
+    }
+
+    // optimal string alignment distance, gives up once every path exceeds the limit
+    static int distance(String source, String target, int limit) {
+        if (Math.abs(source.length() - target.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previousPrevious = new int[target.length() + 1];
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                        previous[j - 1] + cost);
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2)
+                        && source.charAt(i - 2) == target.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[target.length()];
+    }
+
+    private static String fold(String departmentName) {
+        return departmentName.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<Long, DepartmentRefDto> byId, Map<String, DepartmentRefDto> byName,
+                            Map<String, DepartmentRefDto> byFoldedName) {
+        static Snapshot of(Iterable<DepartmentRefDto> departments) {
+            Map<Long, DepartmentRefDto> byId = new HashMap<>();
+            Map<String, DepartmentRefDto> byName = new HashMap<>();
+            Map<String, DepartmentRefDto> byFoldedName = new HashMap<>();
+            for (DepartmentRefDto department : departments) {
+                byId.put(department.id(), department);
+                byName.put(department.name(), department);
+                byFoldedName.putIfAbsent(fold(department.name()), department);
+            }
+            return new Snapshot(byId, byName, byFoldedName);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package botscrew.task.registry;
+
+import static botscrew.task.util.TransactionCallbacks.afterCommit;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.model.Department;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentRegistryListener implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DepartmentRegistry departmentRegistry;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            put(department);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            put(department);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            Long id = department.getId();
+            afterCommit(() -> departmentRegistry.remove(id));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void put(Department department) {
+        DepartmentRefDto ref = new DepartmentRefDto(department.getId(), department.getName(),
+                department.getHead() == null ? null : department.getHead().getId());
+        afterCommit(() -> departmentRegistry.put(ref));
+    }
+}
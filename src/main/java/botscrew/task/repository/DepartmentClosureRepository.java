@@ -0,0 +1,12 @@
+package botscrew.task.repository;
+
+import botscrew.task.model.DepartmentClosure;
+import botscrew.task.model.DepartmentClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepartmentClosureRepository
+        extends JpaRepository<DepartmentClosure, DepartmentClosureId> {
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+}
@@ -1,10 +1,23 @@
 package botscrew.task.repository;
 
+import botscrew.task.dto.DepartmentRefDto;
 import botscrew.task.model.Department;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     boolean existsByName(String departmentName);
+
+    @Query("SELECT new botscrew.task.dto.DepartmentRefDto(d.id, d.name, d.head.id) "
+            + "FROM Department d")
+    List<DepartmentRefDto> findAllRefs();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Department> findAllByIdInOrderById(Collection<Long> ids);
 }
@@ -1,11 +1,21 @@
 package botscrew.task.repository;
 
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.dto.EmployeeNameDto;
 import botscrew.task.model.Employee;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -18,6 +28,27 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             + "WHERE e.degree = :degree AND d.name = :departmentName")
     int countByDepartmentAndDegree(String departmentName, Employee.Degree degree);
 
+    // the head is joined through the members, a head who isn't a member isn't reported
+    @Query("SELECT new botscrew.task.dto.DegreeAggregateDto("
+            + "d.id, h.id, h.name, s.degree, COALESCE(s.memberCount, 0), s.salarySum) "
+            + "FROM Department d LEFT JOIN d.employees h ON h.id = d.head.id "
+            + "LEFT JOIN DepartmentStats s ON s.departmentId = d.id "
+            + "WHERE d.id = :departmentId")
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION,
+                    value = SecondLevelCache.DEPARTMENT_AGGREGATES_REGION)})
+    List<DegreeAggregateDto> findAggregateByDepartmentId(Long departmentId);
+
+    @Query("SELECT new botscrew.task.dto.DegreeAggregateDto("
+            + "d.id, h.id, h.name, s.degree, COALESCE(s.memberCount, 0), s.salarySum) "
+            + "FROM Department d LEFT JOIN d.employees h ON h.id = d.head.id "
+            + "LEFT JOIN DepartmentStats s ON s.departmentId = d.id "
+            + "WHERE d.id IN :departmentIds")
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION,
+                    value = SecondLevelCache.DEPARTMENT_AGGREGATES_REGION)})
+    List<DegreeAggregateDto> findAggregateByDepartmentIds(Collection<Long> departmentIds);
+
     @Query("SELECT AVG(e.salary) FROM Employee e JOIN e.departments d "
             + "WHERE d.name = :department")
     BigDecimal findAverageSalaryByDepartment(String department);
@@ -26,5 +57,19 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             + "WHERE d.name = :departmentName")
     int countByDepartment(String departmentName);
 
-    List<Employee> findAllByNameContains(String namePart);
+    // the closure table drives the query, members of several sub-units are counted once
+    @Query("SELECT new botscrew.task.dto.DegreeTotalDto(e.degree, COUNT(e), SUM(e.salary)) "
+            + "FROM (SELECT DISTINCT m.id AS id FROM DepartmentClosure c "
+            + "JOIN Department d ON d.id = c.descendantId JOIN d.employees m "
+            + "WHERE c.ancestorId = :departmentId) s "
+            + "JOIN Employee e ON e.id = s.id GROUP BY e.degree")
+    List<DegreeTotalDto> findTotalsBySubtreeGroupByDegree(Long departmentId);
+
+    @Query("SELECT e.name FROM Employee e "
+            + "WHERE e.name LIKE CONCAT('%', :namePart, '%') ORDER BY e.name, e.id")
+    Slice<String> findNamesByNameContains(String namePart, Pageable pageable);
+
+    @Query("SELECT new botscrew.task.dto.EmployeeNameDto(e.id, e.name) FROM Employee e "
+            + "WHERE e.id > :lastId ORDER BY e.id")
+    List<EmployeeNameDto> findNamesAfterId(Long lastId, Pageable pageable);
 }
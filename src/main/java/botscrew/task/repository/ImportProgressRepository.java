@@ -0,0 +1,12 @@
+package botscrew.task.repository;
+
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.model.ImportProgress;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportProgressRepository extends JpaRepository<ImportProgress, Long> {
+    Optional<ImportProgress> findBySourceAndKind(String source, ImportKind kind);
+}
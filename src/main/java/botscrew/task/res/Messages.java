@@ -2,10 +2,102 @@ package botscrew.task.res;
 
 public record Messages() {
     public static final String HEAD_OF_DEPARTMENT_MESSAGE = "Head of %s department is %s";
-    public static final String STATISTIC_MESSAGE =
-            "assistants - %d%nassociate professors - %d%nprofessors - %d";
+    public static final String STATISTIC_LINE_MESSAGE = "%s - %d";
     public static final String AVERAGE_SALARY_MESSAGE = "The average salary of %s is %s";
     public static final String CANT_FIND_DEPARTMENT_MESSAGE = "Can't find department ";
+    public static final String DID_YOU_MEAN_MESSAGE = ", did you mean %s?";
     public static final String CANT_FIND_HEAD_OF_DEPARTMENT_MESSAGE =
             "Can't find head of department ";
+    public static final String NEXT_PAGE_MESSAGE = "%n... more results on page %d";
+    public static final String INVALID_PAGE_MESSAGE =
+            "Page must be 0 or greater and size from 1 to %d, got page %d and size %d";
+    public static final String IMPORT_PROGRESS_MESSAGE = "Imported %s: %d records committed";
+    public static final String IMPORT_COMPLETED_MESSAGE = "Imported %d %s records from %s";
+    public static final String IMPORT_ALREADY_COMPLETED_MESSAGE = "File %s is already imported";
+    public static final String INVALID_IMPORT_RECORD_MESSAGE = "Invalid record %d: %s";
+    public static final String IMPORT_DEPARTMENT_CYCLE_MESSAGE =
+            "Department %d would be its own ancestor, parents were not linked";
+    public static final String AGGREGATE_CACHE_STATISTICS_MESSAGE =
+            "hits - %d%nmisses - %d%nevictions - %d%nentries - %d%nsize - %d of %d bytes";
+    public static final String SECOND_LEVEL_CACHE_REGION_MESSAGE =
+            "%s - hits: %d, misses: %d, puts: %d";
+    public static final String SECOND_LEVEL_CACHE_DISABLED_MESSAGE =
+            "Second-level cache is disabled";
+    public static final String SECOND_LEVEL_CACHE_CLEARED_MESSAGE = "Second-level cache cleared";
+    public static final String DEPARTMENT_STATISTICS_RECONCILED_MESSAGE =
+            "Department statistics rebuilt: %d rows";
+    public static final String BATCH_COMMAND_MESSAGE = "> %s";
+    public static final String UNKNOWN_BATCH_COMMAND_MESSAGE = "Unknown command ";
+    public static final String UNKNOWN_FORMAT_MESSAGE = "Unknown format %s, use text, json or csv";
+    public static final String TEXT_ONLY_COMMAND_MESSAGE = "%s can only answer as text";
+    public static final String UNSUPPORTED_TEMPLATE_MESSAGE =
+            "Template \"%s\" may only use %%s, %%d, %%n and %%%%";
+    public static final String TEMPLATE_ARGUMENTS_MESSAGE =
+            "Template \"%s\" takes %d arguments, got %d";
+    public static final String BATCH_COMPLETED_MESSAGE = "Batch finished: %d commands, %d failed";
+    public static final String METRIC_LINE_MESSAGE =
+            "%s [%s] count - %d, mean - %.3f, p50 - %.3f, p95 - %.3f, p99 - %.3f, max - %.3f";
+    public static final String SALARY_PERCENTILE_LINE_MESSAGE = "p%d - %s";
+    public static final String SALARY_HISTOGRAM_LINE_MESSAGE = "%s - %s: %d";
+    public static final String SALARY_BOUND_LINE_MESSAGE = "%s - %s";
+    public static final String NO_SALARIES_MESSAGE = "There are no %s in %s";
+    public static final String EMPLOYEES_TITLE = "employees";
+    public static final String UNIVERSITY_TITLE = "the university";
+    public static final String INVALID_BUCKETS_MESSAGE =
+            "Buckets must be between 1 and %d, got %d";
+    public static final String SNAPSHOT_REFRESHED_MESSAGE =
+            "Employee snapshot loaded: %d employees, %d memberships, %d bytes in %d ms";
+    public static final String SNAPSHOT_CONSISTENT_MESSAGE =
+            "Employee snapshot matches the database: %d employees";
+    public static final String SNAPSHOT_EMPLOYEES_MISMATCH_MESSAGE =
+            "Database has %d employees, snapshot has %d";
+    public static final String SNAPSHOT_DEPARTMENT_MISMATCH_MESSAGE =
+            "Department %d: database has %d members earning %s, snapshot has %d earning %s";
+    public static final String REPORT_DEPARTMENT_MESSAGE = "== %s: %d employees ==";
+    public static final String REPORT_COMPLETED_MESSAGE =
+            "Report of %d departments finished in %d ms";
+    public static final String CHANGE_LINE_MESSAGE = "%d %s %s %s %d";
+    public static final String MEMBERSHIP_CHANGE_LINE_MESSAGE =
+            "%d %s %s MEMBERSHIP employee %d in department %d";
+    public static final String NO_CHANGES_MESSAGE =
+            "No changes after %d, the latest change is %d";
+    public static final String INVALID_CHANGE_RANGE_MESSAGE =
+            "Sequence must be 0 or greater and limit must be positive, got %d and %d";
+    public static final String REPORT_SPEEDUP_MESSAGE =
+            "Sequential commands ran %d queries in %d ms, the report was %.1f times faster";
+    public static final String DEPARTMENT_MOVED_MESSAGE = "Department %s is now under %s";
+    public static final String DEPARTMENT_MADE_TOP_LEVEL_MESSAGE =
+            "Department %s is now a top-level department";
+    public static final String DEPARTMENT_CYCLE_MESSAGE =
+            "Can't move department %s under %s, it is part of its subtree";
+    public static final String UNKNOWN_EXPORT_FORMAT_MESSAGE =
+            "Unknown export format %s, use csv, jsonl or columnar";
+    public static final String EXPORT_PROGRESS_MESSAGE = "Exported %s: %d records to %s";
+    public static final String EXPORT_COMPLETED_MESSAGE =
+            "Exported %d records to %s in %d ms, as of change %d";
+    public static final String AVERAGE_SALARY_AS_OF_MESSAGE =
+            "The average salary of %s as of %s is %s";
+    public static final String SALARY_HISTORY_LINE_MESSAGE = "%s - %d employees, average salary %s";
+    public static final String SALARY_HISTORY_EMPTY_LINE_MESSAGE = "%s - no employees";
+    public static final String SALARY_ROLLUP_MESSAGE =
+            "Salary rollups are up to date through %s, %d months rolled up";
+    public static final String INVALID_DATE_MESSAGE = "Invalid date %s, use yyyy-MM-dd";
+    public static final String INVALID_MONTH_MESSAGE = "Invalid month %s, use yyyy-MM";
+    public static final String INVALID_MONTH_RANGE_MESSAGE =
+            "Month range must not end before it starts, got %s to %s";
+    public static final String HEAD_ASSIGNED_MESSAGE = "Head of %s department is now %s";
+    public static final String MEMBERS_ADDED_MESSAGE =
+            "Added %d employees to %s, %d were already members";
+    public static final String MEMBERS_REMOVED_MESSAGE =
+            "Removed %d employees from %s, %d were not members";
+    public static final String CANT_FIND_EMPLOYEES_MESSAGE = "Can't find employees %s";
+    public static final String NOT_A_MEMBER_MESSAGE = "Employee %s is not a member of %s";
+    public static final String CANT_REMOVE_HEAD_MESSAGE =
+            "Can't remove %s from %s, assign another head first";
+    public static final String DAEMON_ALREADY_LISTENING_MESSAGE =
+            "A daemon is already listening on ";
+    public static final String DAEMON_LISTENING_MESSAGE = "Listening for commands on %s";
+    public static final String DAEMON_STOPPED_MESSAGE = "Stopped listening for commands on %s";
+    public static final String INVALID_PROTOCOL_LENGTH_MESSAGE =
+            "Length must be from 0 to %d, got %d";
 }
@@ -0,0 +1,212 @@
+package botscrew.task.search;
+
+import botscrew.task.dto.EmployeeNameDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.repository.EmployeeRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeNameIndex {
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final int compactionThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, NameEntry> addedById = new HashMap<>();
+    private final TreeSet<NameEntry> added = new TreeSet<>(NameSegment.ORDER);
+    private final Set<Long> removedIds = new HashSet<>();
+    private NameSegment segment;
+    private List<Runnable> pendingChanges;
+
+    public EmployeeNameIndex(EmployeeRepository employeeRepository,
+                             @Value("${name-index.enabled:true}") boolean enabled,
+                             @Value("${name-index.load-batch-size:10000}") int loadBatchSize,
+                             @Value("${name-index.compaction-threshold:10000}")
+                             int compactionThreshold) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        NameSegment rebuilt;
+        try {
+            rebuilt = NameSegment.build(loadEntries());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            segment = rebuilt;
+            addedById.clear();
+            added.clear();
+            removedIds.clear();
+            List<Runnable> changes = pendingChanges;
+            pendingChanges = null;
+            changes.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public NamePageDto search(String namePart, Pageable pageable) {
+        if (!enabled) {
+            Slice<String> slice = employeeRepository.findNamesByNameContains(namePart, pageable);
+            return new NamePageDto(slice.getContent(), slice.hasNext());
+        }
+        if (!isBuilt()) {
+            buildIfMissing();
+        }
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        // saturated, a page beyond the last int position just finds no names
+        int maxMatches = (int) Math.min(end + 1, Integer.MAX_VALUE);
+        lock.readLock().lock();
+        try {
+            List<NameEntry> segmentMatches =
+                    segment.search(namePart, removedIds::contains, maxMatches);
+            List<NameEntry> addedMatches = added.stream()
+                    .filter(entry -> NameSegment.containsIgnoreCase(entry.name(), namePart))
+                    .limit(maxMatches)
+                    .toList();
+            List<String> names = merge(segmentMatches, addedMatches, maxMatches);
+            return new NamePageDto(names.subList((int) Math.min(offset, names.size()),
+                    (int) Math.min(end, names.size())), names.size() == maxMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long id, String name) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(() -> put(id, name));
+            }
+            if (segment == null) {
+                return;
+            }
+            removeEntry(id);
+            NameEntry entry = new NameEntry(id, name);
+            addedById.put(id, entry);
+            added.add(entry);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(() -> remove(id));
+            }
+            if (segment == null) {
+                return;
+            }
+            removeEntry(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<NameEntry> loadEntries() {
+        List<NameEntry> entries = new ArrayList<>();
+        long lastId = 0;
+        List<EmployeeNameDto> batch;
+        do {
+            batch = employeeRepository.findNamesAfterId(lastId, Pageable.ofSize(loadBatchSize));
+            for (EmployeeNameDto employee : batch) {
+                entries.add(new NameEntry(employee.id(), employee.name()));
+                lastId = employee.id();
+            }
+        } while (batch.size() == loadBatchSize);
+        return entries;
+    }
+
+    private synchronized void buildIfMissing() {
+        if (!isBuilt()) {
+            rebuild();
+        }
+    }
+
+    private boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return segment != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeEntry(Long id) {
+        NameEntry previous = addedById.remove(id);
+        if (previous != null) {
+            added.remove(previous);
+        }
+        removedIds.add(id);
+    }
+
+    private void compactIfNeeded() {
+        if (added.size() + removedIds.size() < compactionThreshold) {
+            return;
+        }
+        List<NameEntry> entries = new ArrayList<>(segment.size() + added.size());
+        for (NameEntry entry : segment.entries()) {
+            if (!removedIds.contains(entry.id())) {
+                entries.add(entry);
+            }
+        }
+        entries.addAll(added);
+        segment = NameSegment.build(entries);
+        addedById.clear();
+        added.clear();
+        removedIds.clear();
+    }
+
+    private static List<String> merge(List<NameEntry> first, List<NameEntry> second,
+                                      int maxMatches) {
+        List<String> names = new ArrayList<>(Math.min(first.size() + second.size(), maxMatches));
+        int i = 0;
+        int j = 0;
+        while ((i < first.size() || j < second.size()) && names.size() < maxMatches) {
+            if (j == second.size() || i < first.size()
+                    && NameSegment.ORDER.compare(first.get(i), second.get(j)) <= 0) {
+                names.add(first.get(i++).name());
+            } else {
+                names.add(second.get(j++).name());
+            }
+        }
+        return names;
+    }
+}
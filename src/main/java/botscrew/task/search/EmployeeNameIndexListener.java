@@ -0,0 +1,76 @@
+package botscrew.task.search;
+
+import static botscrew.task.util.TransactionCallbacks.afterCommit;
+
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class EmployeeNameIndexListener implements PostInsertEventListener,
+        PostUpdateEventListener, PostDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmployeeNameIndex employeeNameIndex;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Employee employee) {
+            Long id = employee.getId();
+            String name = employee.getName();
+            afterCommit(() -> employeeNameIndex.put(id, name));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Employee employee && isNameChanged(event)) {
+            Long id = employee.getId();
+            String name = employee.getName();
+            afterCommit(() -> employeeNameIndex.put(id, name));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Employee employee) {
+            Long id = employee.getId();
+            afterCommit(() -> employeeNameIndex.remove(id));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static boolean isNameChanged(PostUpdateEvent event) {
+        int nameIndex = event.getPersister().getEntityMetamodel().getPropertyIndex("name");
+        return event.getDirtyProperties() == null
+                || Arrays.stream(event.getDirtyProperties()).anyMatch(index -> index == nameIndex);
+    }
+}
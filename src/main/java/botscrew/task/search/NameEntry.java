@@ -0,0 +1,4 @@
+package botscrew.task.search;
+
+record NameEntry(long id, String name) {
+}
@@ -0,0 +1,170 @@
+package botscrew.task.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+final class NameSegment {
+    static final int GRAM_LENGTH = 3;
+    static final Comparator<NameEntry> ORDER =
+            Comparator.comparing(NameEntry::name).thenComparingLong(NameEntry::id);
+    private static final int VERIFY_THRESHOLD = 64;
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final long[] ids;
+    private final String[] names;
+    private final Map<Long, int[]> postings;
+
+    private NameSegment(long[] ids, String[] names, Map<Long, int[]> postings) {
+        this.ids = ids;
+        this.names = names;
+        this.postings = postings;
+    }
+
+    static NameSegment build(List<NameEntry> entries) {
+        List<NameEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(ORDER);
+        long[] ids = new long[sorted.size()];
+        String[] names = new String[sorted.size()];
+        Map<Long, PositionsBuilder> builders = new HashMap<>();
+        for (int position = 0; position < sorted.size(); position++) {
+            NameEntry entry = sorted.get(position);
+            ids[position] = entry.id();
+            names[position] = entry.name();
+            for (long gram : indexedGrams(entry.name())) {
+                builders.computeIfAbsent(gram, key -> new PositionsBuilder()).add(position);
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((gram, builder) -> postings.put(gram, builder.toArray()));
+        return new NameSegment(ids, names, postings);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    List<NameEntry> entries() {
+        List<NameEntry> entries = new ArrayList<>(ids.length);
+        for (int position = 0; position < ids.length; position++) {
+            entries.add(new NameEntry(ids[position], names[position]));
+        }
+        return entries;
+    }
+
+    List<NameEntry> search(String namePart, LongPredicate removed, int maxMatches) {
+        List<NameEntry> matches = new ArrayList<>();
+        if (namePart.isEmpty()) {
+            for (int position = 0; position < ids.length && matches.size() < maxMatches;
+                    position++) {
+                collect(position, namePart, removed, matches);
+            }
+            return matches;
+        }
+        int[] candidates = candidates(namePart);
+        for (int i = 0; i < candidates.length && matches.size() < maxMatches; i++) {
+            collect(candidates[i], namePart, removed, matches);
+        }
+        return matches;
+    }
+
+    static boolean containsIgnoreCase(String name, String namePart) {
+        int last = name.length() - namePart.length();
+        for (int offset = 0; offset <= last; offset++) {
+            if (name.regionMatches(true, offset, namePart, 0, namePart.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collect(int position, String namePart, LongPredicate removed,
+                         List<NameEntry> matches) {
+        if (!removed.test(ids[position]) && containsIgnoreCase(names[position], namePart)) {
+            matches.add(new NameEntry(ids[position], names[position]));
+        }
+    }
+
+    private int[] candidates(String namePart) {
+        long[] grams = queryGrams(namePart);
+        int[][] lists = new int[grams.length][];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.getOrDefault(grams[i], NO_POSITIONS);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > VERIFY_THRESHOLD; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int count = 0;
+        int from = 0;
+        for (int position : smaller) {
+            int found = Arrays.binarySearch(larger, from, larger.length, position);
+            if (found >= 0) {
+                result[count++] = position;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from == larger.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // unigrams and bigrams are indexed too, so parts shorter than a trigram don't scan
+    private static long[] indexedGrams(String name) {
+        long[] grams = new long[name.length() * GRAM_LENGTH];
+        int count = 0;
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int offset = 0; offset + length <= name.length(); offset++) {
+                grams[count++] = gram(name, offset, length);
+            }
+        }
+        return Arrays.stream(grams, 0, count).sorted().distinct().toArray();
+    }
+
+    private static long[] queryGrams(String namePart) {
+        int length = Math.min(namePart.length(), GRAM_LENGTH);
+        long[] grams = new long[namePart.length() - length + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(namePart, i, length);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    // the length is kept above the characters, so grams of different lengths never collide
+    private static long gram(String name, int offset, int length) {
+        long gram = length;
+        for (int i = offset; i < offset + length; i++) {
+            gram = gram << Character.SIZE | Character.toLowerCase(name.charAt(i));
+        }
+        return gram;
+    }
+
+    private static final class PositionsBuilder {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package botscrew.task.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BatchService {
+    String runFile(String path, Consumer<String> output);
+
+    String runDepartmentReport(List<String> departmentNames, Consumer<String> output);
+}
@@ -0,0 +1,5 @@
+package botscrew.task.service;
+
+public interface ChangeFeedService {
+    String showChanges(long afterSequence, int limit);
+}
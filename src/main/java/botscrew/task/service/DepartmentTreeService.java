@@ -0,0 +1,15 @@
+package botscrew.task.service;
+
+import botscrew.task.dto.DepartmentCountsDto;
+
+public interface DepartmentTreeService {
+    String moveDepartment(String departmentName, String parentName);
+
+    String showSubtreeStatistics(String departmentName);
+
+    String showSubtreeAverageSalary(String departmentName);
+
+    String showSubtreeCount(String departmentName);
+
+    DepartmentCountsDto findSubtreeCounts(String departmentName);
+}
@@ -1,5 +1,9 @@
 package botscrew.task.service;
 
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+
 public interface EmployeeService {
     String headOfDepartment(String departmentName);
 
@@ -9,5 +13,11 @@ public interface EmployeeService {
 
     String showCountForDepartment(String departmentName);
 
-    String globalSearchBy(String namePart);
+    String globalSearchBy(String namePart, int page, int size);
+
+    DepartmentHeadDto findHead(String departmentName);
+
+    DepartmentCountsDto findCounts(String departmentName);
+
+    NamePageDto findNames(String namePart, int page, int size);
 }
@@ -0,0 +1,9 @@
+package botscrew.task.service;
+
+import botscrew.task.export.ExportFormat;
+import java.util.function.Consumer;
+
+public interface ExportService {
+    String export(String directory, ExportFormat format, boolean gzip,
+                  Consumer<String> progressListener);
+}
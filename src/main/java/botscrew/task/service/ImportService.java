@@ -0,0 +1,8 @@
+package botscrew.task.service;
+
+import botscrew.task.bulk.ImportKind;
+import java.util.function.Consumer;
+
+public interface ImportService {
+    String importFile(ImportKind kind, String path, Consumer<String> progressListener);
+}
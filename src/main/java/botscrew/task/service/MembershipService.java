@@ -0,0 +1,11 @@
+package botscrew.task.service;
+
+import java.util.List;
+
+public interface MembershipService {
+    String assignHead(String departmentName, Long employeeId);
+
+    String addMembers(String departmentName, List<Long> employeeIds);
+
+    String removeMembers(String departmentName, List<Long> employeeIds);
+}
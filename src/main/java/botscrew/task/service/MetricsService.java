@@ -0,0 +1,5 @@
+package botscrew.task.service;
+
+public interface MetricsService {
+    String showMetrics();
+}
@@ -0,0 +1,9 @@
+package botscrew.task.service;
+
+import java.util.function.Consumer;
+
+public interface ReportService {
+    String universityReport(Consumer<String> output);
+
+    String compareWithSequentialCommands(Consumer<String> output);
+}
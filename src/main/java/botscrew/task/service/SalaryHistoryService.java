@@ -0,0 +1,14 @@
+package botscrew.task.service;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import java.time.LocalDate;
+
+public interface SalaryHistoryService {
+    String showAverageSalaryAsOf(String departmentName, String date);
+
+    String showSalaryHistory(String departmentName, String fromMonth, String toMonth);
+
+    String rollUp();
+
+    DepartmentCountsDto findCountsAsOf(String departmentName, LocalDate date);
+}
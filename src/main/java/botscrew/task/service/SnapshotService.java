@@ -0,0 +1,13 @@
+package botscrew.task.service;
+
+import botscrew.task.model.Employee;
+
+public interface SnapshotService {
+    String showSalaryPercentiles(String departmentName, Employee.Degree degree);
+
+    String showSalaryHistogram(String departmentName, Employee.Degree degree, int buckets);
+
+    String refresh();
+
+    String check();
+}
@@ -0,0 +1,144 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.batch.BatchCommand;
+import botscrew.task.batch.BatchCommandType;
+import botscrew.task.batch.CommandRegistry;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.format.OutputBuffer;
+import botscrew.task.format.Templates;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.service.BatchService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BatchServiceImpl implements BatchService {
+    private static final String COMMENT_PREFIX = "#";
+    private static final List<BatchCommandType> DEPARTMENT_REPORT = List.of(
+            BatchCommandType.HEAD_OF_DEPARTMENT, BatchCommandType.STATISTICS,
+            BatchCommandType.AVERAGE_SALARY, BatchCommandType.COUNT_FOR_DEPARTMENT);
+
+    private final CommandRegistry commandRegistry;
+    private final DepartmentRegistry departmentRegistry;
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final TransactionTemplate writeTransaction;
+    private final int chunkSize;
+
+    public BatchServiceImpl(CommandRegistry commandRegistry,
+                            DepartmentRegistry departmentRegistry,
+                            DepartmentAggregateCache departmentAggregateCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${batch.chunk-size:500}") int chunkSize) {
+        this.commandRegistry = commandRegistry;
+        this.departmentRegistry = departmentRegistry;
+        this.departmentAggregateCache = departmentAggregateCache;
+        // a write joining the batch's read-only transaction would never be flushed
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String runFile(String path, Consumer<String> output) {
+        BatchRun run = new BatchRun(output);
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(path),
+                StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.strip().startsWith(COMMENT_PREFIX)) {
+                    run.add(line.strip());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String runDepartmentReport(List<String> departmentNames, Consumer<String> output) {
+        BatchRun run = new BatchRun(output);
+        for (String departmentName : departmentNames) {
+            DEPARTMENT_REPORT.forEach(type -> run.add(type.format(departmentName)));
+        }
+        return run.finish();
+    }
+
+    private final class BatchRun {
+        private final Consumer<String> output;
+        private final List<String> lines = new ArrayList<>();
+        private int commands;
+        private int failed;
+
+        private BatchRun(Consumer<String> output) {
+            this.output = output;
+        }
+
+        private void add(String line) {
+            lines.add(line);
+            if (lines.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private String finish() {
+            flush();
+            return String.format(Messages.BATCH_COMPLETED_MESSAGE, commands, failed);
+        }
+
+        private void flush() {
+            List<Optional<BatchCommand>> parsed = lines.stream().map(BatchCommand::parse).toList();
+            Set<Long> departmentIds = new LinkedHashSet<>();
+            parsed.stream()
+                    .flatMap(Optional::stream)
+                    .filter(command -> command.type().isDepartmentScoped())
+                    .forEach(command -> departmentRegistry.find(command.argument())
+                            .ifPresent(department -> departmentIds.add(department.id())));
+            if (!departmentIds.isEmpty()) {
+                departmentAggregateCache.getAll(departmentIds);
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                commands++;
+                output.accept(Templates.BATCH_COMMAND.appendTo(OutputBuffer.acquire(),
+                        lines.get(i)).toString());
+                output.accept(answer(lines.get(i), parsed.get(i)));
+            }
+            lines.clear();
+        }
+
+        private String answer(String line, Optional<BatchCommand> command) {
+            if (command.isEmpty()) {
+                failed++;
+                return Messages.UNKNOWN_BATCH_COMMAND_MESSAGE + line;
+            }
+            try {
+                return command.get().type().isWrite()
+                        ? writeTransaction.execute(status -> commandRegistry.answer(command.get()))
+                        : commandRegistry.answer(command.get());
+            } catch (RuntimeException e) {
+                failed++;
+                return e.getMessage();
+            }
+        }
+    }
+}
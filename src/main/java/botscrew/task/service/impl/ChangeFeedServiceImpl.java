@@ -0,0 +1,41 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.changes.ChangeEntity;
+import botscrew.task.changes.ChangeEvent;
+import botscrew.task.changes.ChangeFeed;
+import botscrew.task.res.Messages;
+import botscrew.task.service.ChangeFeedService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    private final ChangeFeed changeFeed;
+
+    @Override
+    public String showChanges(long afterSequence, int limit) {
+        if (afterSequence < 0 || limit < 1) {
+            throw new IllegalArgumentException(String.format(
+                    Messages.INVALID_CHANGE_RANGE_MESSAGE, afterSequence, limit));
+        }
+        List<ChangeEvent> events = changeFeed.read(afterSequence, limit);
+        if (events.isEmpty()) {
+            return String.format(Messages.NO_CHANGES_MESSAGE, afterSequence,
+                    changeFeed.latestSequence());
+        }
+        StringBuilder out = new StringBuilder();
+        for (ChangeEvent event : events) {
+            if (!out.isEmpty()) {
+                out.append(System.lineSeparator());
+            }
+            out.append(event.entity() == ChangeEntity.MEMBERSHIP
+                    ? String.format(Messages.MEMBERSHIP_CHANGE_LINE_MESSAGE, event.sequence(),
+                    event.changedAt(), event.operation(), event.entityId(), event.relatedId())
+                    : String.format(Messages.CHANGE_LINE_MESSAGE, event.sequence(),
+                    event.changedAt(), event.operation(), event.entity(), event.entityId()));
+        }
+        return out.toString();
+    }
+}
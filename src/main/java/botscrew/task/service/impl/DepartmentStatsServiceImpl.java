@@ -0,0 +1,30 @@
+package botscrew.task.service.impl;
+
+import static botscrew.task.util.TransactionCallbacks.afterCommit;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.res.Messages;
+import botscrew.task.service.DepartmentStatsService;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DepartmentStatsServiceImpl implements DepartmentStatsService {
+    private final DepartmentStatsUpdater departmentStatsUpdater;
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final SecondLevelCache secondLevelCache;
+
+    @Override
+    @Transactional
+    public String reconcile() {
+        int rows = departmentStatsUpdater.rebuild();
+        afterCommit(departmentAggregateCache::invalidateAll);
+        // imports and this rebuild write through JDBC, which Hibernate doesn't see
+        afterCommit(secondLevelCache::evictAll);
+        return String.format(Messages.DEPARTMENT_STATISTICS_RECONCILED_MESSAGE, rows);
+    }
+}
@@ -0,0 +1,105 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.format.OutputBuffer;
+import botscrew.task.format.OutputFormat;
+import botscrew.task.format.ResultWriter;
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.DepartmentClosureRepository;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.res.Messages;
+import botscrew.task.service.DepartmentTreeService;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DepartmentTreeServiceImpl implements DepartmentTreeService {
+    private static final ResultWriter TEXT = OutputFormat.TEXT.getWriter();
+
+    private final DepartmentRegistry departmentRegistry;
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentClosureRepository departmentClosureRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    @Transactional
+    public String moveDepartment(String departmentName, String parentName) {
+        DepartmentRefDto departmentRef = departmentRegistry.resolve(departmentName);
+        if (parentName == null) {
+            Department department = findDepartment(departmentRef);
+            department.setParent(null);
+            departmentRepository.save(department);
+            return String.format(Messages.DEPARTMENT_MADE_TOP_LEVEL_MESSAGE,
+                    department.getName());
+        }
+        DepartmentRefDto parentRef = departmentRegistry.resolve(parentName);
+        // both rows stay locked until commit, so of two moves that would put each department
+        // under the other, the second one sees the first in the closure table
+        departmentRepository.findAllByIdInOrderById(List.of(departmentRef.id(), parentRef.id()));
+        Department department = findDepartment(departmentRef);
+        Department parent = findDepartment(parentRef);
+        if (departmentClosureRepository.existsByAncestorIdAndDescendantId(department.getId(),
+                parent.getId())) {
+            throw new IllegalArgumentException(String.format(Messages.DEPARTMENT_CYCLE_MESSAGE,
+                    department.getName(), parent.getName()));
+        }
+        department.setParent(parent);
+        departmentRepository.save(department);
+        return String.format(Messages.DEPARTMENT_MOVED_MESSAGE, department.getName(),
+                parent.getName());
+    }
+
+    @Override
+    public String showSubtreeStatistics(String departmentName) {
+        return TEXT.statistics(findSubtreeCounts(departmentName), OutputBuffer.acquire())
+                .toString();
+    }
+
+    @Override
+    public String showSubtreeAverageSalary(String departmentName) {
+        return TEXT.averageSalary(findSubtreeCounts(departmentName), OutputBuffer.acquire())
+                .toString();
+    }
+
+    @Override
+    public String showSubtreeCount(String departmentName) {
+        return String.valueOf(findSubtreeCounts(departmentName).count());
+    }
+
+    // one grouped query over the closure table, employees in several sub-units count once
+    @Override
+    public DepartmentCountsDto findSubtreeCounts(String departmentName) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        BigDecimal salarySum = BigDecimal.ZERO;
+        for (DegreeTotalDto total
+                : employeeRepository.findTotalsBySubtreeGroupByDegree(department.id())) {
+            counts.put(total.degree(), total.count());
+            salarySum = salarySum.add(total.salarySum());
+        }
+        DepartmentAggregate aggregate = new DepartmentAggregate(department.headId(), null,
+                counts, salarySum);
+        return new DepartmentCountsDto(department.name(), aggregate.countsByDegree(),
+                aggregate.count(), aggregate.averageSalary());
+    }
+
+    private Department findDepartment(DepartmentRefDto department) {
+        return departmentRepository.findById(department.id()).orElseThrow(
+                () -> new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE
+                        + department.name())
+        );
+    }
+}
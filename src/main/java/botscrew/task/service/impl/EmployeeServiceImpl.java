@@ -1,73 +1,101 @@
 package botscrew.task.service.impl;
 
-import botscrew.task.model.Employee;
-import botscrew.task.repository.DepartmentRepository;
-import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.format.OutputBuffer;
+import botscrew.task.format.OutputFormat;
+import botscrew.task.format.ResultWriter;
+import botscrew.task.registry.DepartmentRegistry;
 import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
 import botscrew.task.service.EmployeeService;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
-    private final EmployeeRepository employeeRepository;
-    private final DepartmentRepository departmentRepository;
+    private static final ResultWriter TEXT = OutputFormat.TEXT.getWriter();
+    private static final int MAX_PAGE_SIZE = 1_000;
+
+    private final DepartmentRegistry departmentRegistry;
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final EmployeeSnapshotStore employeeSnapshotStore;
+    private final EmployeeNameIndex employeeNameIndex;
 
     @Override
     public String headOfDepartment(String departmentName) {
-        checkIfDepartmentExists(departmentName);
-        return String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE, departmentName,
-                findHeadOfDepartment(departmentName).getName());
+        return TEXT.head(findHead(departmentName), OutputBuffer.acquire()).toString();
     }
 
     @Override
     public String showStatistics(String departmentName) {
-        checkIfDepartmentExists(departmentName);
-        int assistantsCount = employeeRepository.countByDepartmentAndDegree(
-                departmentName, Employee.Degree.ASSISTANT);
-        int associateProfessorsCount = employeeRepository.countByDepartmentAndDegree(
-                departmentName, Employee.Degree.ASSOCIATE_PROFESSOR);
-        int professorsCount = employeeRepository.countByDepartmentAndDegree(
-                departmentName, Employee.Degree.PROFESSOR);
-        return String.format(Messages.STATISTIC_MESSAGE, assistantsCount,
-                associateProfessorsCount, professorsCount);
+        return TEXT.statistics(findCounts(departmentName), OutputBuffer.acquire()).toString();
     }
 
     @Override
     public String showAverageSalary(String departmentName) {
-        checkIfDepartmentExists(departmentName);
-        return String.format(Messages.AVERAGE_SALARY_MESSAGE, departmentName,
-                employeeRepository.findAverageSalaryByDepartment(departmentName));
+        return TEXT.averageSalary(findCounts(departmentName), OutputBuffer.acquire()).toString();
     }
 
     @Override
     public String showCountForDepartment(String departmentName) {
-        checkIfDepartmentExists(departmentName);
-        return String.valueOf(employeeRepository.countByDepartment(departmentName));
+        return String.valueOf(findCounts(departmentName).count());
     }
 
     @Override
-    public String globalSearchBy(String namePart) {
-        return employeeRepository.findAllByNameContains(namePart).stream()
-                .map(Employee::getName)
-                .sorted()
-                .collect(Collectors.joining(", "));
+    public String globalSearchBy(String namePart, int page, int size) {
+        return TEXT.names(findNames(namePart, page, size), page, OutputBuffer.acquire())
+                .toString();
     }
 
-    private void checkIfDepartmentExists(String departmentName) {
-        if (!departmentRepository.existsByName(departmentName)) {
-            throw new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE
-                    + departmentName);
+    @Override
+    public DepartmentHeadDto findHead(String departmentName) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        DepartmentAggregate aggregate = findAggregate(department);
+        if (aggregate.headName() == null) {
+            throw new EntityNotFoundException(Messages.CANT_FIND_HEAD_OF_DEPARTMENT_MESSAGE
+                    + department.name());
         }
+        return new DepartmentHeadDto(department.name(), aggregate.headName());
+    }
+
+    @Override
+    public DepartmentCountsDto findCounts(String departmentName) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        DepartmentAggregate aggregate = countsOf(department);
+        return new DepartmentCountsDto(department.name(), aggregate.countsByDegree(),
+                aggregate.count(), aggregate.averageSalary());
+    }
+
+    @Override
+    public NamePageDto findNames(String namePart, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    Messages.INVALID_PAGE_MESSAGE, MAX_PAGE_SIZE, page, size));
+        }
+        return employeeNameIndex.search(namePart, PageRequest.of(page, size));
+    }
+
+    // counts and salaries of uncached departments come from a snapshot without later changes
+    private DepartmentAggregate countsOf(DepartmentRefDto department) {
+        return departmentAggregateCache.getIfPresent(department.id())
+                .or(() -> employeeSnapshotStore.current().map(snapshot ->
+                        snapshot.aggregate(department.id(), department.headId())))
+                .orElseGet(() -> findAggregate(department));
     }
 
-    private Employee findHeadOfDepartment(String departmentName) {
-        return employeeRepository.findByDepartmentAndIsHead(departmentName).orElseThrow(
-                () -> new EntityNotFoundException(Messages.CANT_FIND_HEAD_OF_DEPARTMENT_MESSAGE
-                        + departmentName)
+    private DepartmentAggregate findAggregate(DepartmentRefDto department) {
+        return departmentAggregateCache.get(department.id()).orElseThrow(
+                () -> new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE
+                        + department.name())
         );
     }
 }
@@ -0,0 +1,128 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.changes.ChangeFeed;
+import botscrew.task.export.ExportFormat;
+import botscrew.task.export.ExportTable;
+import botscrew.task.export.ExportWriter;
+import botscrew.task.res.Messages;
+import botscrew.task.service.ExportService;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String PART_EXTENSION = ".part";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ChangeFeed changeFeed;
+    private final int bufferSize;
+
+    public ExportServiceImpl(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ChangeFeed changeFeed,
+                             @Value("${export.fetch-size:10000}") int fetchSize,
+                             @Value("${export.buffer-size:65536}") int bufferSize) {
+        // forward-only, read-only cursor; MySQL streams it with useCursorFetch=true
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.changeFeed = changeFeed;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String export(String directory, ExportFormat format, boolean gzip,
+                         Consumer<String> progressListener) {
+        long start = System.nanoTime();
+        Path target = Path.of(directory).toAbsolutePath().normalize();
+        List<Path> parts = new ArrayList<>();
+        try {
+            Files.createDirectories(target);
+            // every table is read in one transaction, so the files agree with each other
+            long[] totals = snapshotTransaction.execute(status -> {
+                long sequence = changeFeed.latestSequence();
+                long records = 0;
+                for (ExportTable table : ExportTable.values()) {
+                    Path file = target.resolve(table.getLabel() + format.getExtension()
+                            + (gzip ? GZIP_EXTENSION : ""));
+                    Path part = file.resolveSibling(file.getFileName() + PART_EXTENSION);
+                    parts.add(part);
+                    long count = exportTable(table, format, gzip, part);
+                    records += count;
+                    progressListener.accept(String.format(Messages.EXPORT_PROGRESS_MESSAGE,
+                            table.getLabel(), count, file));
+                }
+                return new long[]{records, sequence};
+            });
+            for (Path part : parts) {
+                String name = part.getFileName().toString();
+                Files.move(part, part.resolveSibling(name.substring(0,
+                        name.length() - PART_EXTENSION.length())),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return String.format(Messages.EXPORT_COMPLETED_MESSAGE, totals[0], target,
+                    (System.nanoTime() - start) / 1_000_000, totals[1]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (Path part : parts) {
+                try {
+                    Files.deleteIfExists(part);
+                } catch (IOException e) {
+                    // a leftover part file is overwritten by the next export
+                }
+            }
+        }
+    }
+
+    private long exportTable(ExportTable table, ExportFormat format, boolean gzip, Path part) {
+        long[] count = {0};
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                OutputStream out = open(channel, gzip)) {
+            ExportWriter writer = format.open(out, table.getColumns());
+            jdbcTemplate.query(table.getSelectSql(), (RowCallbackHandler) row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    private OutputStream open(FileChannel channel, boolean gzip) throws IOException {
+        OutputStream out = Channels.newOutputStream(channel);
+        return new BufferedOutputStream(gzip ? new GZIPOutputStream(out, bufferSize) : out,
+                bufferSize);
+    }
+}
@@ -0,0 +1,240 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.bulk.CsvRecordReader;
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.bulk.ImportRecordReader;
+import botscrew.task.bulk.JsonLinesRecordReader;
+import botscrew.task.changes.Change;
+import botscrew.task.changes.ChangeEntity;
+import botscrew.task.changes.ChangeFeedWriter;
+import botscrew.task.changes.ChangeOperation;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.model.ImportProgress;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.ImportProgressRepository;
+import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.DepartmentStatsService;
+import botscrew.task.service.ImportService;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.tree.DepartmentTreeUpdater;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ImportServiceImpl implements ImportService {
+    private static final String JSON_LINES_EXTENSION = ".jsonl";
+    private static final String PARENT_LINK_SQL =
+            "update departments set parent_id = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProgressRepository importProgressRepository;
+    private final DepartmentStatsService departmentStatsService;
+    private final DepartmentRegistry departmentRegistry;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeSnapshotStore employeeSnapshotStore;
+    private final ChangeFeedWriter changeFeedWriter;
+    private final DepartmentTreeUpdater departmentTreeUpdater;
+    private final SalaryHistoryWriter salaryHistoryWriter;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public ImportServiceImpl(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ImportProgressRepository importProgressRepository,
+                             DepartmentStatsService departmentStatsService,
+                             DepartmentRegistry departmentRegistry,
+                             EmployeeNameIndex employeeNameIndex,
+                             EmployeeSnapshotStore employeeSnapshotStore,
+                             ChangeFeedWriter changeFeedWriter,
+                             DepartmentTreeUpdater departmentTreeUpdater,
+                             SalaryHistoryWriter salaryHistoryWriter,
+                             @Value("${bulk-import.batch-size:1000}") int batchSize,
+                             @Value("${bulk-import.chunk-size:10000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importProgressRepository = importProgressRepository;
+        this.departmentStatsService = departmentStatsService;
+        this.departmentRegistry = departmentRegistry;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeSnapshotStore = employeeSnapshotStore;
+        this.changeFeedWriter = changeFeedWriter;
+        this.departmentTreeUpdater = departmentTreeUpdater;
+        this.salaryHistoryWriter = salaryHistoryWriter;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String importFile(ImportKind kind, String path, Consumer<String> progressListener) {
+        Path file = Path.of(path).toAbsolutePath().normalize();
+        ImportProgress progress = importProgressRepository
+                .findBySourceAndKind(file.toString(), kind)
+                .orElseGet(() -> newProgress(file, kind));
+        if (progress.isCompleted()) {
+            return String.format(Messages.IMPORT_ALREADY_COMPLETED_MESSAGE, file);
+        }
+        long resumedFrom = progress.getCommittedRecords();
+        try (ImportRecordReader reader = openReader(kind, file)) {
+            skip(reader, resumedFrom);
+            List<Object[]> chunk = readChunk(reader, kind, progress.getCommittedRecords());
+            while (!chunk.isEmpty()) {
+                progress = commitChunk(kind, chunk, progress);
+                progressListener.accept(String.format(Messages.IMPORT_PROGRESS_MESSAGE,
+                        kind.getLabel(), progress.getCommittedRecords()));
+                chunk = readChunk(reader, kind, progress.getCommittedRecords());
+            }
+            if (kind == ImportKind.DEPARTMENTS) {
+                linkParents(kind, file);
+            }
+        } catch (IOException e) {
+            throw refreshAfterFailure(kind, progress, resumedFrom, new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            throw refreshAfterFailure(kind, progress, resumedFrom, e);
+        }
+        refresh(kind, progress, resumedFrom);
+        progress.setCompleted(true);
+        importProgressRepository.save(progress);
+        return String.format(Messages.IMPORT_COMPLETED_MESSAGE,
+                progress.getCommittedRecords() - resumedFrom, kind.getLabel(), file);
+    }
+
+    // chunks committed before the failure stay, so their derived data is refreshed too,
+    // without letting a refresh error hide the import error
+    private RuntimeException refreshAfterFailure(ImportKind kind, ImportProgress progress,
+                                                 long resumedFrom, RuntimeException failure) {
+        try {
+            refresh(kind, progress, resumedFrom);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+
+    // a resumed department import can link parents without adding any rows
+    private void refresh(ImportKind kind, ImportProgress progress, long resumedFrom) {
+        if (progress.getCommittedRecords() == resumedFrom && kind != ImportKind.DEPARTMENTS) {
+            return;
+        }
+        if (kind == ImportKind.DEPARTMENTS) {
+            departmentTreeUpdater.rebuild();
+        }
+        departmentStatsService.reconcile();
+        departmentRegistry.reload();
+        employeeNameIndex.rebuild();
+        employeeSnapshotStore.markChanged();
+    }
+
+    private ImportProgress commitChunk(ImportKind kind, List<Object[]> chunk,
+                                       ImportProgress progress) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(kind.getInsertSql(), chunk, batchSize, (ps, row) -> {
+                for (int i = 0; i < row.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                }
+            });
+            changeFeedWriter.appendImported(kind, chunk);
+            salaryHistoryWriter.appendImported(kind, chunk);
+            progress.setCommittedRecords(progress.getCommittedRecords() + chunk.size());
+            return importProgressRepository.save(progress);
+        });
+    }
+
+    // reads the whole file again, so departments committed by an earlier run get their
+    // parents too, and links the tree in one transaction once every department exists
+    private void linkParents(ImportKind kind, Path file) throws IOException {
+        List<Object[]> links = new ArrayList<>();
+        try (ImportRecordReader reader = openReader(kind, file)) {
+            String[] values;
+            long recordNumber = 0;
+            while ((values = reader.read()) != null) {
+                recordNumber++;
+                Object[] link;
+                try {
+                    link = kind.toParentLink(values);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException(String.format(
+                            Messages.INVALID_IMPORT_RECORD_MESSAGE, recordNumber,
+                            e.getMessage()), e);
+                }
+                if (link != null) {
+                    links.add(link);
+                }
+            }
+        }
+        if (links.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(PARENT_LINK_SQL, links, batchSize, (ps, link) -> {
+                ps.setObject(1, link[0]);
+                ps.setObject(2, link[1]);
+            });
+            Long cycleMember = departmentTreeUpdater.findCycleMember();
+            if (cycleMember != null) {
+                throw new IllegalArgumentException(String.format(
+                        Messages.IMPORT_DEPARTMENT_CYCLE_MESSAGE, cycleMember));
+            }
+            departmentTreeUpdater.rebuild();
+            changeFeedWriter.append(links.stream()
+                    .map(link -> new Change(ChangeEntity.DEPARTMENT, ChangeOperation.UPDATE,
+                            (Long) link[1], null))
+                    .toList());
+        });
+    }
+
+    private List<Object[]> readChunk(ImportRecordReader reader, ImportKind kind,
+                                     long committedRecords) throws IOException {
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        String[] values;
+        while (chunk.size() < chunkSize && (values = reader.read()) != null) {
+            long recordNumber = committedRecords + chunk.size() + 1;
+            try {
+                chunk.add(kind.toRow(values));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(String.format(
+                        Messages.INVALID_IMPORT_RECORD_MESSAGE, recordNumber, e.getMessage()), e);
+            }
+        }
+        return chunk;
+    }
+
+    private static void skip(ImportRecordReader reader, long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records && reader.read() != null) {
+            skipped++;
+        }
+    }
+
+    private static ImportRecordReader openReader(ImportKind kind, Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            return file.toString().endsWith(JSON_LINES_EXTENSION)
+                    ? new JsonLinesRecordReader(reader, kind.getColumns())
+                    : new CsvRecordReader(reader, kind.getColumns(), kind.getOptionalColumns());
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private static ImportProgress newProgress(Path file, ImportKind kind) {
+        ImportProgress progress = new ImportProgress();
+        progress.setSource(file.toString());
+        progress.setKind(kind);
+        return progress;
+    }
+}
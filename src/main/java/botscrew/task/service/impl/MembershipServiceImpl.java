@@ -0,0 +1,131 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.membership.MembershipWriter;
+import botscrew.task.membership.MembershipWriter.Member;
+import botscrew.task.model.Department;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.res.Messages;
+import botscrew.task.service.MembershipService;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class MembershipServiceImpl implements MembershipService {
+    private final DepartmentRegistry departmentRegistry;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final MembershipWriter membershipWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public MembershipServiceImpl(DepartmentRegistry departmentRegistry,
+                                 DepartmentRepository departmentRepository,
+                                 EmployeeRepository employeeRepository,
+                                 MembershipWriter membershipWriter,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${membership.max-attempts:5}") int maxAttempts) {
+        this.departmentRegistry = departmentRegistry;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.membershipWriter = membershipWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    // the new head is locked like a membership write, so it can't leave the department
+    // while it is being assigned, and the department version catches concurrent edits
+    @Override
+    public String assignHead(String departmentName, Long employeeId) {
+        DepartmentRefDto ref = departmentRegistry.resolve(departmentName);
+        return withRetries(() -> {
+            Member head = lockAll(List.of(employeeId)).get(employeeId);
+            if (membershipWriter.findMemberIds(ref.id(), List.of(employeeId)).isEmpty()) {
+                throw new IllegalArgumentException(String.format(Messages.NOT_A_MEMBER_MESSAGE,
+                        head.name(), ref.name()));
+            }
+            Department department = departmentRepository.findById(ref.id()).orElseThrow(
+                    () -> new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE
+                            + ref.name()));
+            department.setHead(employeeRepository.getReferenceById(employeeId));
+            departmentRepository.saveAndFlush(department);
+            return String.format(Messages.HEAD_ASSIGNED_MESSAGE, department.getName(),
+                    head.name());
+        });
+    }
+
+    @Override
+    public String addMembers(String departmentName, List<Long> employeeIds) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        return withRetries(() -> {
+            Map<Long, Member> members = lockAll(employeeIds);
+            Set<Long> memberIds = membershipWriter.findMemberIds(department.id(),
+                    members.keySet());
+            List<Member> added = members.values().stream()
+                    .filter(member -> !memberIds.contains(member.id()))
+                    .toList();
+            membershipWriter.add(department.id(), added);
+            return String.format(Messages.MEMBERS_ADDED_MESSAGE, added.size(),
+                    department.name(), memberIds.size());
+        });
+    }
+
+    @Override
+    public String removeMembers(String departmentName, List<Long> employeeIds) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        return withRetries(() -> {
+            Map<Long, Member> members = lockAll(employeeIds);
+            Member head = members.get(membershipWriter.findHeadId(department.id()));
+            if (head != null) {
+                throw new IllegalArgumentException(String.format(
+                        Messages.CANT_REMOVE_HEAD_MESSAGE, head.name(), department.name()));
+            }
+            Set<Long> memberIds = membershipWriter.findMemberIds(department.id(),
+                    members.keySet());
+            List<Member> removed = members.values().stream()
+                    .filter(member -> memberIds.contains(member.id()))
+                    .toList();
+            membershipWriter.remove(department.id(), removed);
+            return String.format(Messages.MEMBERS_REMOVED_MESSAGE, removed.size(),
+                    department.name(), members.size() - removed.size());
+        });
+    }
+
+    private Map<Long, Member> lockAll(List<Long> employeeIds) {
+        Map<Long, Member> members = membershipWriter.lock(employeeIds);
+        List<Long> missing = employeeIds.stream()
+                .filter(employeeId -> !members.containsKey(employeeId))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(String.format(
+                    Messages.CANT_FIND_EMPLOYEES_MESSAGE, missing));
+        }
+        return members;
+    }
+
+    // every attempt reads the rows again, so a retried write never saves what it read before
+    private String withRetries(Supplier<String> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Write conflict on attempt {} of {}, retrying", attempt, maxAttempts, e);
+            }
+        }
+    }
+}
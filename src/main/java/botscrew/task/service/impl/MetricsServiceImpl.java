@@ -0,0 +1,23 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.metrics.CommandMetrics;
+import botscrew.task.res.Messages;
+import botscrew.task.service.MetricsService;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MetricsServiceImpl implements MetricsService {
+    private final CommandMetrics commandMetrics;
+
+    @Override
+    public String showMetrics() {
+        return commandMetrics.snapshot().stream()
+                .map(meter -> String.format(Messages.METRIC_LINE_MESSAGE, meter.name(),
+                        meter.method(), meter.count(), meter.mean(), meter.p50(), meter.p95(),
+                        meter.p99(), meter.max()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,152 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.format.OutputBuffer;
+import botscrew.task.format.Templates;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.res.Messages;
+import botscrew.task.service.ReportService;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReportServiceImpl implements ReportService {
+    private static final Employee.Degree[] DEGREES = Employee.Degree.values();
+    // four existence checks, the head, a count per degree, the average and the count
+    private static final int COMMAND_QUERIES = 7 + DEGREES.length;
+
+    private final DepartmentRegistry departmentRegistry;
+    private final DepartmentAggregateCache departmentAggregateCache;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public ReportServiceImpl(DepartmentRegistry departmentRegistry,
+                             DepartmentAggregateCache departmentAggregateCache,
+                             EmployeeRepository employeeRepository,
+                             DepartmentRepository departmentRepository,
+                             @Value("${report.chunk-size:200}") int chunkSize,
+                             @Value("${report.parallelism:4}") int parallelism) {
+        this.departmentRegistry = departmentRegistry;
+        this.departmentAggregateCache = departmentAggregateCache;
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.chunkSize = chunkSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "report-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String universityReport(Consumer<String> output) {
+        return universityReport(output, departmentAggregateCache::getAll);
+    }
+
+    private String universityReport(Consumer<String> output,
+                                    Function<List<Long>, Map<Long, DepartmentAggregate>> loader) {
+        long start = System.nanoTime();
+        List<DepartmentRefDto> departments = departmentRegistry.all();
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < departments.size(); from += chunkSize) {
+            List<DepartmentRefDto> chunk = departments.subList(from,
+                    Math.min(from + chunkSize, departments.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> report(chunk, loader), executor));
+        }
+        try {
+            for (CompletableFuture<List<String>> chunk : chunks) {
+                chunk.join().forEach(output);
+            }
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return String.format(Messages.REPORT_COMPLETED_MESSAGE, departments.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // both sides read the database: the report without the shared aggregate cache, which is
+    // left as it is, and the baseline with the queries of the original commands
+    @Override
+    public String compareWithSequentialCommands(Consumer<String> output) {
+        long start = System.nanoTime();
+        final String completed = universityReport(output, departmentAggregateCache::loadAll);
+        final long reportNanos = System.nanoTime() - start;
+        List<DepartmentRefDto> departments = departmentRegistry.all();
+        start = System.nanoTime();
+        for (DepartmentRefDto department : departments) {
+            sequentialCommands(department.name());
+        }
+        long sequentialNanos = System.nanoTime() - start;
+        return completed + System.lineSeparator() + String.format(
+                Messages.REPORT_SPEEDUP_MESSAGE, (long) departments.size() * COMMAND_QUERIES,
+                sequentialNanos / 1_000_000,
+                (double) sequentialNanos / Math.max(reportNanos, 1));
+    }
+
+    // the queries the head, statistics, average salary and count commands ran one by one
+    // before the aggregate queries, each checking that the department exists
+    private void sequentialCommands(String departmentName) {
+        departmentRepository.existsByName(departmentName);
+        for (Employee.Degree degree : DEGREES) {
+            employeeRepository.countByDepartmentAndDegree(departmentName, degree);
+        }
+        departmentRepository.existsByName(departmentName);
+        employeeRepository.findByDepartmentAndIsHead(departmentName);
+        departmentRepository.existsByName(departmentName);
+        employeeRepository.findAverageSalaryByDepartment(departmentName);
+        departmentRepository.existsByName(departmentName);
+        employeeRepository.countByDepartment(departmentName);
+    }
+
+    private List<String> report(List<DepartmentRefDto> departments,
+                                Function<List<Long>, Map<Long, DepartmentAggregate>> loader) {
+        Map<Long, DepartmentAggregate> aggregates = loader.apply(
+                departments.stream().map(DepartmentRefDto::id).toList());
+        List<String> lines = new ArrayList<>();
+        for (DepartmentRefDto department : departments) {
+            DepartmentAggregate aggregate = aggregates.get(department.id());
+            if (aggregate == null) {
+                lines.add(Messages.CANT_FIND_DEPARTMENT_MESSAGE + department.name());
+                continue;
+            }
+            lines.add(Templates.REPORT_DEPARTMENT.appendTo(OutputBuffer.acquire(),
+                    department.name(), aggregate.count()).toString());
+            lines.add(aggregate.headName() == null
+                    ? Messages.CANT_FIND_HEAD_OF_DEPARTMENT_MESSAGE + department.name()
+                    : Templates.HEAD_OF_DEPARTMENT.appendTo(OutputBuffer.acquire(),
+                    department.name(), aggregate.headName()).toString());
+            for (Employee.Degree degree : DEGREES) {
+                lines.add(Templates.STATISTIC_LINE.appendTo(OutputBuffer.acquire(),
+                        degree.getTitle(), aggregate.count(degree)).toString());
+            }
+            lines.add(Templates.AVERAGE_SALARY.appendTo(OutputBuffer.acquire(),
+                    department.name(), aggregate.averageSalary()).toString());
+        }
+        return lines;
+    }
+}
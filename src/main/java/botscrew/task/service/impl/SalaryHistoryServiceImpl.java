@@ -0,0 +1,138 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.history.SalaryHistory;
+import botscrew.task.history.SalaryRollupUpdater;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.service.SalaryHistoryService;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SalaryHistoryServiceImpl implements SalaryHistoryService {
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final DepartmentRegistry departmentRegistry;
+    private final SalaryHistory salaryHistory;
+    private final SalaryRollupUpdater salaryRollupUpdater;
+
+    @Override
+    public String showAverageSalaryAsOf(String departmentName, String date) {
+        LocalDate day = parseDate(date);
+        DepartmentCountsDto counts = findCountsAsOf(departmentName, day);
+        return String.format(Messages.AVERAGE_SALARY_AS_OF_MESSAGE, counts.department(), day,
+                counts.averageSalary());
+    }
+
+    @Override
+    public String showSalaryHistory(String departmentName, String fromMonth, String toMonth) {
+        YearMonth to = toMonth == null ? YearMonth.now() : parseMonth(toMonth);
+        YearMonth from = fromMonth == null ? to.minusMonths(DEFAULT_MONTHS - 1)
+                : parseMonth(fromMonth);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException(String.format(
+                    Messages.INVALID_MONTH_RANGE_MESSAGE, from, to));
+        }
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        salaryRollupUpdater.rollUp();
+        Optional<YearMonth> lastRolledUp = salaryHistory.lastRolledUpMonth();
+        Map<YearMonth, List<DegreeTotalDto>> rollups = lastRolledUp.isEmpty()
+                || lastRolledUp.get().isBefore(from) ? Map.of()
+                : salaryHistory.rollups(department.id(), from, min(to, lastRolledUp.get()));
+        StringBuilder out = new StringBuilder();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            List<DegreeTotalDto> totals = lastRolledUp.isPresent()
+                    && !month.isAfter(lastRolledUp.get())
+                    ? rollups.getOrDefault(month, List.of())
+                    : salaryHistory.totalsAsOf(department.id(), endOf(month));
+            DepartmentCountsDto counts = countsOf(department, totals);
+            if (!out.isEmpty()) {
+                out.append(System.lineSeparator());
+            }
+            out.append(counts.count() == 0
+                    ? String.format(Messages.SALARY_HISTORY_EMPTY_LINE_MESSAGE, month)
+                    : String.format(Messages.SALARY_HISTORY_LINE_MESSAGE, month, counts.count(),
+                    counts.averageSalary()));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String rollUp() {
+        int months = salaryRollupUpdater.rollUp();
+        return String.format(Messages.SALARY_ROLLUP_MESSAGE,
+                salaryRollupUpdater.lastClosedMonth(), months);
+    }
+
+    // the end of the last day of a rolled up month is answered from its rollup
+    @Override
+    public DepartmentCountsDto findCountsAsOf(String departmentName, LocalDate date) {
+        DepartmentRefDto department = departmentRegistry.resolve(departmentName);
+        YearMonth month = YearMonth.from(date);
+        if (date.equals(month.atEndOfMonth()) && salaryHistory.lastRolledUpMonth()
+                .filter(lastRolledUp -> !month.isAfter(lastRolledUp)).isPresent()) {
+            return countsOf(department, salaryHistory.rollups(department.id(), month, month)
+                    .getOrDefault(month, List.of()));
+        }
+        return countsOf(department, salaryHistory.totalsAsOf(department.id(),
+                date.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    private static DepartmentCountsDto countsOf(DepartmentRefDto department,
+                                                List<DegreeTotalDto> totals) {
+        Map<Employee.Degree, Long> counts = new EnumMap<>(Employee.Degree.class);
+        BigDecimal salarySum = BigDecimal.ZERO;
+        for (DegreeTotalDto total : totals) {
+            counts.put(total.degree(), total.count());
+            salarySum = salarySum.add(total.salarySum());
+        }
+        DepartmentAggregate aggregate = new DepartmentAggregate(department.headId(), null,
+                counts, salarySum);
+        return new DepartmentCountsDto(department.name(), aggregate.countsByDegree(),
+                aggregate.count(), aggregate.averageSalary());
+    }
+
+    private static Instant endOf(YearMonth month) {
+        Instant end = SalaryRollupUpdater.startOf(month.plusMonths(1));
+        Instant now = Instant.now();
+        return end.isAfter(now) ? now : end;
+    }
+
+    private static YearMonth min(YearMonth first, YearMonth second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(Messages.INVALID_DATE_MESSAGE,
+                    date), e);
+        }
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(String.format(Messages.INVALID_MONTH_MESSAGE,
+                    month), e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package botscrew.task.service.impl;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.service.SnapshotService;
+import botscrew.task.snapshot.EmployeeSnapshot;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.snapshot.SalarySketch;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SnapshotServiceImpl implements SnapshotService {
+    private static final int[] PERCENTILES = {25, 50, 75, 90, 95, 99};
+    private static final int MAX_BUCKETS = 100;
+    private static final String MIN = "min";
+    private static final String MAX = "max";
+
+    private final DepartmentRegistry departmentRegistry;
+    private final EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Override
+    public String showSalaryPercentiles(String departmentName, Employee.Degree degree) {
+        DepartmentRefDto department = resolve(departmentName);
+        SalarySketch sketch = sketch(department, degree);
+        if (sketch.count() == 0) {
+            return noSalaries(department, degree);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Messages.SALARY_BOUND_LINE_MESSAGE, MIN,
+                EmployeeSnapshot.fromCents(sketch.min())));
+        for (int percentile : PERCENTILES) {
+            lines.add(String.format(Messages.SALARY_PERCENTILE_LINE_MESSAGE, percentile,
+                    EmployeeSnapshot.fromCents(sketch.quantile(percentile / 100.0))));
+        }
+        lines.add(String.format(Messages.SALARY_BOUND_LINE_MESSAGE, MAX,
+                EmployeeSnapshot.fromCents(sketch.max())));
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    @Override
+    public String showSalaryHistogram(String departmentName, Employee.Degree degree,
+                                      int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException(String.format(Messages.INVALID_BUCKETS_MESSAGE,
+                    MAX_BUCKETS, buckets));
+        }
+        DepartmentRefDto department = resolve(departmentName);
+        SalarySketch sketch = sketch(department, degree);
+        if (sketch.count() == 0) {
+            return noSalaries(department, degree);
+        }
+        long[] counts = sketch.histogram(buckets);
+        long width = sketch.binWidth(buckets);
+        List<String> lines = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long from = sketch.min() + bucket * width;
+            lines.add(String.format(Messages.SALARY_HISTOGRAM_LINE_MESSAGE,
+                    EmployeeSnapshot.fromCents(from), EmployeeSnapshot.fromCents(from + width),
+                    counts[bucket]));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    @Override
+    public String refresh() {
+        long start = System.nanoTime();
+        EmployeeSnapshot snapshot = employeeSnapshotStore.refresh();
+        return String.format(Messages.SNAPSHOT_REFRESHED_MESSAGE, snapshot.employees(),
+                snapshot.memberships(), snapshot.sizeBytes(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public String check() {
+        List<EmployeeSnapshotStore.Mismatch> mismatches = employeeSnapshotStore.check();
+        if (mismatches.isEmpty()) {
+            return String.format(Messages.SNAPSHOT_CONSISTENT_MESSAGE,
+                    employeeSnapshotStore.get().employees());
+        }
+        List<String> lines = new ArrayList<>();
+        for (EmployeeSnapshotStore.Mismatch mismatch : mismatches) {
+            lines.add(mismatch.departmentId() == null
+                    ? String.format(Messages.SNAPSHOT_EMPLOYEES_MISMATCH_MESSAGE,
+                    mismatch.expectedCount(), mismatch.actualCount())
+                    : String.format(Messages.SNAPSHOT_DEPARTMENT_MISMATCH_MESSAGE,
+                    mismatch.departmentId(), mismatch.expectedCount(),
+                    EmployeeSnapshot.fromCents(mismatch.expectedSalaryCents()),
+                    mismatch.actualCount(),
+                    EmployeeSnapshot.fromCents(mismatch.actualSalaryCents())));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private DepartmentRefDto resolve(String departmentName) {
+        return departmentName == null ? null : departmentRegistry.resolve(departmentName);
+    }
+
+    private SalarySketch sketch(DepartmentRefDto department, Employee.Degree degree) {
+        EmployeeSnapshot snapshot = employeeSnapshotStore.get();
+        return department == null ? snapshot.salarySketch(degree)
+                : snapshot.salarySketch(department.id(), degree);
+    }
+
+    private static String noSalaries(DepartmentRefDto department, Employee.Degree degree) {
+        return String.format(Messages.NO_SALARIES_MESSAGE,
+                degree == null ? Messages.EMPLOYEES_TITLE : degree.getTitle(),
+                department == null ? Messages.UNIVERSITY_TITLE : department.name());
+    }
+}
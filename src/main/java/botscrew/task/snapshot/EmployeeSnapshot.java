@@ -0,0 +1,295 @@
+package botscrew.task.snapshot;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+public final class EmployeeSnapshot {
+    private static final Employee.Degree[] DEGREES = Employee.Degree.values();
+    private static final int SALARY_SCALE = 2;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private final long[] ids;
+    private final byte[] degrees;
+    private final long[] salaryCents;
+    private final Map<Long, Members> membersByDepartment;
+    private final Map<Long, SalarySketch[]> sketchesByDepartment;
+    private final SalarySketch[] universitySketches;
+    private final double sketchAccuracy;
+    private final long version;
+    private final Instant loadedAt;
+
+    private EmployeeSnapshot(long[] ids, byte[] degrees, long[] salaryCents,
+                             Map<Long, Members> membersByDepartment,
+                             Map<Long, SalarySketch[]> sketchesByDepartment,
+                             SalarySketch[] universitySketches, double sketchAccuracy,
+                             long version, Instant loadedAt) {
+        this.ids = ids;
+        this.degrees = degrees;
+        this.salaryCents = salaryCents;
+        this.membersByDepartment = membersByDepartment;
+        this.sketchesByDepartment = sketchesByDepartment;
+        this.universitySketches = universitySketches;
+        this.sketchAccuracy = sketchAccuracy;
+        this.version = version;
+        this.loadedAt = loadedAt;
+    }
+
+    public static Builder builder(int expectedEmployees) {
+        return builder(expectedEmployees, SalarySketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public static Builder builder(int expectedEmployees, double sketchAccuracy) {
+        return new Builder(expectedEmployees, sketchAccuracy);
+    }
+
+    public int employees() {
+        return ids.length;
+    }
+
+    public long memberships() {
+        return membersByDepartment.values().stream().mapToLong(Members::size).sum();
+    }
+
+    public Set<Long> departmentIds() {
+        return Collections.unmodifiableSet(membersByDepartment.keySet());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public int count(Long departmentId) {
+        return members(departmentId).size();
+    }
+
+    public long salarySumCents(Long departmentId) {
+        long[] sum = new long[1];
+        members(departmentId).forEach(row -> sum[0] += salaryCents[row]);
+        return sum[0];
+    }
+
+    public DepartmentAggregate aggregate(Long departmentId, Long headId) {
+        long[] counts = new long[DEGREES.length];
+        long[] sum = new long[1];
+        members(departmentId).forEach(row -> {
+            counts[degrees[row]]++;
+            sum[0] += salaryCents[row];
+        });
+        Map<Employee.Degree, Long> countsByDegree = new EnumMap<>(Employee.Degree.class);
+        for (Employee.Degree degree : DEGREES) {
+            if (counts[degree.ordinal()] > 0) {
+                countsByDegree.put(degree, counts[degree.ordinal()]);
+            }
+        }
+        return new DepartmentAggregate(headId, null, countsByDegree,
+                BigDecimal.valueOf(sum[0], SALARY_SCALE));
+    }
+
+    public SalarySketch salarySketch(Long departmentId, Employee.Degree degree) {
+        return merge(sketchesByDepartment.get(departmentId), degree);
+    }
+
+    public SalarySketch salarySketch(Employee.Degree degree) {
+        return merge(universitySketches, degree);
+    }
+
+    public long sizeBytes() {
+        long bytes = ARRAY_HEADER_BYTES * 3 + ids.length * (Long.BYTES * 2L + Byte.BYTES);
+        for (Members members : membersByDepartment.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + members.sizeBytes();
+        }
+        for (SalarySketch[] sketches : sketchesByDepartment.values()) {
+            bytes += sketchesBytes(sketches);
+        }
+        return bytes + sketchesBytes(universitySketches);
+    }
+
+    public static long toCents(BigDecimal salary) {
+        return salary.setScale(SALARY_SCALE, RoundingMode.HALF_UP).unscaledValue()
+                .longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SALARY_SCALE);
+    }
+
+    // copies, so callers may merge further without touching the snapshot
+    private SalarySketch merge(SalarySketch[] sketches, Employee.Degree degree) {
+        SalarySketch merged = new SalarySketch(sketchAccuracy);
+        if (sketches == null) {
+            return merged;
+        }
+        if (degree != null) {
+            return merged.merge(sketches[degree.ordinal()]);
+        }
+        for (SalarySketch sketch : sketches) {
+            merged.merge(sketch);
+        }
+        return merged;
+    }
+
+    private static long sketchesBytes(SalarySketch[] sketches) {
+        long bytes = ARRAY_HEADER_BYTES;
+        for (SalarySketch sketch : sketches) {
+            bytes += sketch.sizeBytes();
+        }
+        return bytes;
+    }
+
+    private Members members(Long departmentId) {
+        return membersByDepartment.getOrDefault(departmentId, SparseMembers.EMPTY);
+    }
+
+    private interface Members {
+        int size();
+
+        void forEach(IntConsumer action);
+
+        long sizeBytes();
+    }
+
+    private record DenseMembers(BitSet rows, int size) implements Members {
+        @Override
+        public void forEach(IntConsumer action) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                action.accept(row);
+            }
+        }
+
+        @Override
+        public long sizeBytes() {
+            return ARRAY_HEADER_BYTES + rows.size() / Byte.SIZE;
+        }
+    }
+
+    private record SparseMembers(int[] rows) implements Members {
+        private static final SparseMembers EMPTY = new SparseMembers(new int[0]);
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        @Override
+        public void forEach(IntConsumer action) {
+            for (int row : rows) {
+                action.accept(row);
+            }
+        }
+
+        @Override
+        public long sizeBytes() {
+            return ARRAY_HEADER_BYTES + (long) rows.length * Integer.BYTES;
+        }
+    }
+
+    public static final class Builder {
+        private long[] ids;
+        private byte[] degrees;
+        private long[] salaryCents;
+        private int employees;
+        private final double sketchAccuracy;
+        private final Map<Long, int[]> rowsByDepartment = new HashMap<>();
+        private final Map<Long, Integer> sizesByDepartment = new HashMap<>();
+
+        private Builder(int expectedEmployees, double sketchAccuracy) {
+            this.sketchAccuracy = sketchAccuracy;
+            int capacity = Math.max(expectedEmployees, 16);
+            ids = new long[capacity];
+            degrees = new byte[capacity];
+            salaryCents = new long[capacity];
+        }
+
+        public Builder addEmployee(long id, Employee.Degree degree, long cents) {
+            if (employees > 0 && id <= ids[employees - 1]) {
+                throw new IllegalArgumentException("Employees must be added in id order");
+            }
+            if (employees == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+                salaryCents = Arrays.copyOf(salaryCents, capacity);
+            }
+            ids[employees] = id;
+            degrees[employees] = (byte) degree.ordinal();
+            salaryCents[employees] = cents;
+            employees++;
+            return this;
+        }
+
+        public Builder addMembership(long departmentId, long employeeId) {
+            int row = Arrays.binarySearch(ids, 0, employees, employeeId);
+            if (row < 0) {
+                return this;
+            }
+            int size = sizesByDepartment.getOrDefault(departmentId, 0);
+            int[] rows = rowsByDepartment.computeIfAbsent(departmentId, id -> new int[16]);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size + (size >> 1));
+                rowsByDepartment.put(departmentId, rows);
+            }
+            rows[size] = row;
+            sizesByDepartment.put(departmentId, size + 1);
+            return this;
+        }
+
+        public EmployeeSnapshot build(long version) {
+            Map<Long, Members> membersByDepartment = new HashMap<>();
+            Map<Long, SalarySketch[]> sketchesByDepartment = new HashMap<>();
+            rowsByDepartment.forEach((departmentId, rows) -> {
+                Members members = members(rows, sizesByDepartment.get(departmentId));
+                membersByDepartment.put(departmentId, members);
+                sketchesByDepartment.put(departmentId, sketches(members::forEach));
+            });
+            SalarySketch[] universitySketches = sketches(action -> {
+                for (int row = 0; row < employees; row++) {
+                    action.accept(row);
+                }
+            });
+            return new EmployeeSnapshot(Arrays.copyOf(ids, employees),
+                    Arrays.copyOf(degrees, employees), Arrays.copyOf(salaryCents, employees),
+                    membersByDepartment, sketchesByDepartment, universitySketches,
+                    sketchAccuracy, version, Instant.now());
+        }
+
+        private SalarySketch[] sketches(Consumer<IntConsumer> rows) {
+            SalarySketch[] sketches = new SalarySketch[DEGREES.length];
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new SalarySketch(sketchAccuracy);
+            }
+            rows.accept(row -> sketches[degrees[row]].add(salaryCents[row]));
+            return sketches;
+        }
+
+        // a bitset costs one bit per employee, a row list four bytes per member
+        private Members members(int[] rows, int size) {
+            if ((long) size * Integer.SIZE <= employees) {
+                int[] sorted = Arrays.copyOf(rows, size);
+                Arrays.sort(sorted);
+                return new SparseMembers(sorted);
+            }
+            BitSet bits = new BitSet(employees);
+            for (int i = 0; i < size; i++) {
+                bits.set(rows[i]);
+            }
+            return new DenseMembers(bits, bits.cardinality());
+        }
+    }
+}
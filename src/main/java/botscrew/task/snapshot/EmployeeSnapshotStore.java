@@ -0,0 +1,174 @@
+package botscrew.task.snapshot;
+
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class EmployeeSnapshotStore {
+    private static final String COUNT_EMPLOYEES = "SELECT COUNT(*) FROM employees";
+    private static final String SELECT_EMPLOYEES =
+            "SELECT id, degree, salary FROM employees ORDER BY id";
+    private static final String SELECT_MEMBERSHIPS =
+            "SELECT department_id, employee_id FROM employees_departments";
+    private static final String SELECT_DEPARTMENT_TOTALS = "SELECT ed.department_id, COUNT(*), "
+            + "SUM(e.salary) FROM employees_departments ed "
+            + "JOIN employees e ON e.id = ed.employee_id GROUP BY ed.department_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long refreshIntervalSeconds;
+    private final double sketchAccuracy;
+    private final AtomicLong version = new AtomicLong();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private volatile EmployeeSnapshot snapshot;
+
+    public EmployeeSnapshotStore(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${snapshot.enabled:true}") boolean enabled,
+                                 @Value("${snapshot.fetch-size:10000}") int fetchSize,
+                                 @Value("${snapshot.refresh-interval-seconds:60}")
+                                 long refreshIntervalSeconds,
+                                 @Value("${snapshot.sketch-accuracy:0.01}")
+                                 double sketchAccuracy) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+        this.sketchAccuracy = sketchAccuracy;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled && refreshIntervalSeconds > 0) {
+            executor.scheduleWithFixedDelay(this::refreshIfChanged, refreshIntervalSeconds,
+                    refreshIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void load() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    public synchronized EmployeeSnapshot refresh() {
+        long loadVersion = version.get();
+        EmployeeSnapshot loaded = readOnlyTransaction.execute(status -> read(loadVersion));
+        snapshot = loaded;
+        return loaded;
+    }
+
+    public void markChanged() {
+        version.incrementAndGet();
+    }
+
+    public Optional<EmployeeSnapshot> current() {
+        EmployeeSnapshot current = snapshot;
+        return current != null && current.version() == version.get()
+                ? Optional.of(current) : Optional.empty();
+    }
+
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot current = snapshot;
+        return current != null ? current : loadIfMissing();
+    }
+
+    public boolean isStale() {
+        return current().isEmpty();
+    }
+
+    public List<Mismatch> check() {
+        EmployeeSnapshot checked = get();
+        return readOnlyTransaction.execute(status -> {
+            List<Mismatch> mismatches = new ArrayList<>();
+            int employees = jdbcTemplate.queryForObject(COUNT_EMPLOYEES, Integer.class);
+            if (employees != checked.employees()) {
+                mismatches.add(new Mismatch(null, employees, checked.employees(), 0, 0));
+            }
+            Set<Long> departmentIds = new HashSet<>(checked.departmentIds());
+            jdbcTemplate.query(SELECT_DEPARTMENT_TOTALS, (RowCallbackHandler) rs -> {
+                long departmentId = rs.getLong(1);
+                departmentIds.remove(departmentId);
+                int count = rs.getInt(2);
+                long cents = EmployeeSnapshot.toCents(rs.getBigDecimal(3));
+                if (count != checked.count(departmentId)
+                        || cents != checked.salarySumCents(departmentId)) {
+                    mismatches.add(new Mismatch(departmentId, count,
+                            checked.count(departmentId), cents,
+                            checked.salarySumCents(departmentId)));
+                }
+            });
+            departmentIds.forEach(departmentId -> mismatches.add(new Mismatch(departmentId, 0,
+                    checked.count(departmentId), 0, checked.salarySumCents(departmentId))));
+            return mismatches;
+        });
+    }
+
+    private synchronized EmployeeSnapshot loadIfMissing() {
+        EmployeeSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    private void refreshIfChanged() {
+        try {
+            if (isStale()) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can't refresh employee snapshot", e);
+        }
+    }
+
+    private EmployeeSnapshot read(long loadVersion) {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(
+                jdbcTemplate.queryForObject(COUNT_EMPLOYEES, Integer.class), sketchAccuracy);
+        Map<String, Employee.Degree> degrees = new HashMap<>();
+        for (Employee.Degree degree : Employee.Degree.values()) {
+            degrees.put(degree.name(), degree);
+        }
+        jdbcTemplate.query(SELECT_EMPLOYEES, (RowCallbackHandler) rs -> builder.addEmployee(
+                rs.getLong(1), degrees.get(rs.getString(2)),
+                EmployeeSnapshot.toCents(rs.getBigDecimal(3))));
+        jdbcTemplate.query(SELECT_MEMBERSHIPS,
+                (RowCallbackHandler) rs -> builder.addMembership(rs.getLong(1), rs.getLong(2)));
+        return builder.build(loadVersion);
+    }
+
+    public record Mismatch(Long departmentId, long expectedCount, long actualCount,
+                           long expectedSalaryCents, long actualSalaryCents) {
+    }
+}
@@ -0,0 +1,167 @@
+package botscrew.task.snapshot;
+
+import java.util.Arrays;
+
+// log-spaced buckets: every quantile is within relativeAccuracy of a real salary
+public final class SalarySketch {
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    private static final long OVERHEAD_BYTES = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private int[] counts = new int[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public SalarySketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Salary can't be negative: " + cents);
+        }
+        count++;
+        min = Math.min(min, cents);
+        max = Math.max(max, cents);
+        if (cents == 0) {
+            zeroCount++;
+            return;
+        }
+        int index = index(cents);
+        ensureCapacity(index, index);
+        counts[index - offset]++;
+    }
+
+    public SalarySketch merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Can't merge sketches of different accuracy");
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        ensureCapacity(other.offset, other.offset + other.counts.length - 1);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[other.offset + i - offset] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+
+    public long quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        if (rank == 1 || rank == count) {
+            return rank == 1 ? min : max;
+        }
+        long seen = zeroCount;
+        if (rank <= seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return clamp(value(i + offset));
+            }
+        }
+        return max;
+    }
+
+    // counts per equal-width bin between min and max, each bucket placed by its midpoint
+    public long[] histogram(int bins) {
+        long[] histogram = new long[bins];
+        if (count == 0) {
+            return histogram;
+        }
+        long width = binWidth(bins);
+        histogram[0] += zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                long value = clamp(value(i + offset));
+                histogram[(int) ((value - min()) / width)] += counts[i];
+            }
+        }
+        return histogram;
+    }
+
+    public long binWidth(int bins) {
+        return (max() - min()) / bins + 1;
+    }
+
+    public int buckets() {
+        return counts.length;
+    }
+
+    public long sizeBytes() {
+        return OVERHEAD_BYTES + (long) counts.length * Integer.BYTES;
+    }
+
+    private int index(long cents) {
+        return (int) Math.ceil(Math.log(cents) / logGamma);
+    }
+
+    private long value(int index) {
+        return Math.round(2 * Math.pow(gamma, index) / (gamma + 1));
+    }
+
+    private long clamp(long value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private void ensureCapacity(int from, int to) {
+        if (counts.length == 0) {
+            counts = new int[to - from + 1];
+            offset = from;
+            return;
+        }
+        int newFrom = Math.min(from, offset);
+        int newTo = Math.max(to, offset + counts.length - 1);
+        if (newFrom == offset && newTo == offset + counts.length - 1) {
+            return;
+        }
+        int[] grown = new int[newTo - newFrom + 1];
+        System.arraycopy(counts, 0, grown, offset - newFrom, counts.length);
+        counts = grown;
+        offset = newFrom;
+    }
+
+    public SalarySketch copy() {
+        SalarySketch copy = new SalarySketch(relativeAccuracy);
+        copy.counts = Arrays.copyOf(counts, counts.length);
+        copy.offset = offset;
+        copy.zeroCount = zeroCount;
+        copy.count = count;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+}
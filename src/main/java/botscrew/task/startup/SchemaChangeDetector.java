@@ -0,0 +1,145 @@
+package botscrew.task.startup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class SchemaChangeDetector implements BeanPostProcessor, HibernatePropertiesCustomizer,
+        ApplicationListener<ApplicationStartedEvent> {
+    private static final String CHANGELOG_DIRECTORY = "db/changelog/";
+    private static final String CHANGELOG_PATTERN = "classpath*:" + CHANGELOG_DIRECTORY + "**/*";
+
+    private final ResourcePatternResolver resourceResolver;
+    private final boolean skipUnchanged;
+    private final Path stampFile;
+    private final String datasourceUrl;
+    private String checksum;
+    private Boolean unchanged;
+
+    public SchemaChangeDetector(ResourceLoader resourceLoader,
+                                @Value("${schema-check.skip-unchanged:false}")
+                                boolean skipUnchanged,
+                                @Value("${schema-check.stamp-file:"
+                                        + "${user.home}/.university-management/schema-checksum}")
+                                String stampFile,
+                                @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.resourceResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.skipUnchanged = skipUnchanged;
+        this.stampFile = Path.of(stampFile);
+        this.datasourceUrl = datasourceUrl;
+    }
+
+    public synchronized boolean isUnchanged() {
+        if (unchanged == null) {
+            unchanged = skipUnchanged && checksum().equals(readStamp());
+            if (unchanged) {
+                log.info("Database changelog is unchanged, skipping migration and validation");
+            }
+        }
+        return unchanged;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase liquibase && isUnchanged()) {
+            liquibase.setShouldRun(false);
+        }
+        return bean;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        if (isUnchanged()) {
+            hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (skipUnchanged && !isUnchanged()) {
+            writeStamp();
+        }
+    }
+
+    synchronized String checksum() {
+        if (checksum == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(datasourceUrl.getBytes(StandardCharsets.UTF_8));
+                Resource[] changelogs = resourceResolver.getResources(CHANGELOG_PATTERN);
+                Arrays.sort(changelogs, Comparator.comparing(SchemaChangeDetector::changelogName));
+                for (Resource changelog : changelogs) {
+                    String name = changelogName(changelog);
+                    if (name.endsWith("/") || !changelog.isReadable()) {
+                        continue;
+                    }
+                    digest.update(name.getBytes(StandardCharsets.UTF_8));
+                    try (InputStream content = changelog.getInputStream()) {
+                        digest.update(content.readAllBytes());
+                    }
+                }
+                checksum = HexFormat.of().formatHex(digest.digest());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return checksum;
+    }
+
+    private String readStamp() {
+        try {
+            return Files.exists(stampFile) ? Files.readString(stampFile).strip() : "";
+        } catch (IOException e) {
+            log.warn("Can't read schema checksum from {}", stampFile, e);
+            return "";
+        }
+    }
+
+    private void writeStamp() {
+        try {
+            Path directory = stampFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Files.writeString(stampFile, checksum());
+        } catch (IOException e) {
+            log.warn("Can't write schema checksum to {}", stampFile, e);
+        }
+    }
+
+    // relative to the changelog directory, so exploded classes and jars give the same checksum
+    private static String changelogName(Resource changelog) {
+        try {
+            String url = changelog.getURL().toString();
+            return url.substring(url.lastIndexOf(CHANGELOG_DIRECTORY));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package botscrew.task.startup;
+
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import java.lang.management.ManagementFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StartupWarmup {
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeSnapshotStore employeeSnapshotStore;
+    private final boolean enabled;
+
+    public StartupWarmup(EmployeeNameIndex employeeNameIndex,
+                         EmployeeSnapshotStore employeeSnapshotStore,
+                         @Value("${startup.warmup.enabled:true}") boolean enabled) {
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeSnapshotStore = employeeSnapshotStore;
+        this.enabled = enabled;
+    }
+
+    // the shell blocks the application runner, so ApplicationReadyEvent fires only on exit
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        log.info("Ready for commands in {} ms", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        warmUp("name index", employeeNameIndex::rebuild);
+        warmUp("employee snapshot", employeeSnapshotStore::load);
+    }
+
+    private static void warmUp(String name, Runnable load) {
+        long start = System.nanoTime();
+        try {
+            load.run();
+            log.info("Warmed up {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Can't warm up {}, the first command using it will load it", name, e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package botscrew.task.stats;
+
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRecreateEvent;
+import org.hibernate.event.spi.PreCollectionRecreateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentStatsListener implements PostUpdateEventListener,
+        PreCollectionRecreateEventListener, PreCollectionUpdateEventListener,
+        PreCollectionRemoveEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DepartmentStatsUpdater departmentStatsUpdater;
+    private final MembershipLookup membershipLookup;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Employee employee) || event.getOldState() == null) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Employee.Degree oldDegree = (Employee.Degree) stateOf(persister, event, "degree");
+        BigDecimal oldSalary = (BigDecimal) stateOf(persister, event, "salary");
+        if (oldDegree == employee.getDegree() && oldSalary.compareTo(employee.getSalary()) == 0) {
+            return;
+        }
+        // membership rows are written after entity updates within a flush,
+        // so the table still holds the departments the old values were counted in
+        for (Long departmentId
+                : membershipLookup.findDepartmentIds(event.getSession(), employee.getId())) {
+            departmentStatsUpdater.removeMember(departmentId, oldDegree, oldSalary);
+            departmentStatsUpdater.addMember(departmentId, employee.getDegree(),
+                    employee.getSalary());
+        }
+    }
+
+    @Override
+    public void onPreRecreateCollection(PreCollectionRecreateEvent event) {
+        onMembershipChange(event, true);
+    }
+
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        onMembershipChange(event, true);
+    }
+
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        onMembershipChange(event, false);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onMembershipChange(AbstractCollectionEvent event, boolean keepsElements) {
+        if (!(event.getAffectedOwnerOrNull() instanceof Employee employee)) {
+            return;
+        }
+        Set<Long> oldIds = employee.getId() == null ? Set.of()
+                : membershipLookup.findDepartmentIds(event.getSession(), employee.getId());
+        Set<Long> newIds = keepsElements ? departmentIdsOf(event.getCollection()) : Set.of();
+        oldIds.stream()
+                .filter(id -> !newIds.contains(id))
+                .forEach(id -> departmentStatsUpdater.removeMember(
+                        id, employee.getDegree(), employee.getSalary()));
+        newIds.stream()
+                .filter(id -> !oldIds.contains(id))
+                .forEach(id -> departmentStatsUpdater.addMember(
+                        id, employee.getDegree(), employee.getSalary()));
+    }
+
+    private static Set<Long> departmentIdsOf(Object collection) {
+        Set<Long> ids = new HashSet<>();
+        if (collection instanceof Collection<?> departments) {
+            for (Object department : departments) {
+                ids.add(((Department) department).getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Object stateOf(EntityPersister persister, PostUpdateEvent event,
+                                  String property) {
+        return event.getOldState()[persister.getEntityMetamodel().getPropertyIndex(property)];
+    }
+}
@@ -0,0 +1,60 @@
+package botscrew.task.stats;
+
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentStatsUpdater {
+    private static final String UPDATE_SQL = "UPDATE department_stats "
+            + "SET member_count = member_count + ?, salary_sum = salary_sum + ? "
+            + "WHERE department_id = ? AND degree = ?";
+    private static final String INSERT_SQL = "INSERT INTO department_stats "
+            + "(department_id, degree, member_count, salary_sum) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_ALL_SQL = "DELETE FROM department_stats";
+    private static final String REBUILD_SQL = "INSERT INTO department_stats "
+            + "(department_id, degree, member_count, salary_sum) "
+            + "SELECT ed.department_id, e.degree, COUNT(*), SUM(e.salary) "
+            + "FROM employees_departments ed JOIN employees e ON e.id = ed.employee_id "
+            + "GROUP BY ed.department_id, e.degree";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(Long departmentId, Employee.Degree degree,
+                      long countDelta, BigDecimal salaryDelta) {
+        if (countDelta == 0 && salaryDelta.signum() == 0) {
+            return;
+        }
+        if (update(departmentId, degree, countDelta, salaryDelta) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, departmentId, degree.name(), countDelta, salaryDelta);
+        } catch (DuplicateKeyException e) {
+            update(departmentId, degree, countDelta, salaryDelta);
+        }
+    }
+
+    public void addMember(Long departmentId, Employee.Degree degree, BigDecimal salary) {
+        apply(departmentId, degree, 1, salary);
+    }
+
+    public void removeMember(Long departmentId, Employee.Degree degree, BigDecimal salary) {
+        apply(departmentId, degree, -1, salary.negate());
+    }
+
+    public int rebuild() {
+        jdbcTemplate.update(DELETE_ALL_SQL);
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private int update(Long departmentId, Employee.Degree degree,
+                       long countDelta, BigDecimal salaryDelta) {
+        return jdbcTemplate.update(UPDATE_SQL, countDelta, salaryDelta,
+                departmentId, degree.name());
+    }
+}
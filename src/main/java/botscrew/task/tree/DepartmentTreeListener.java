@@ -0,0 +1,72 @@
+package botscrew.task.tree;
+
+import botscrew.task.model.Department;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DepartmentTreeListener implements PostInsertEventListener,
+        PostUpdateEventListener, PreDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DepartmentTreeUpdater departmentTreeUpdater;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.PRE_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            departmentTreeUpdater.insert(department.getId(), parentIdOf(department));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            Long parentId = parentIdOf(department);
+            if (!Objects.equals(parentId,
+                    departmentTreeUpdater.findParentId(department.getId()))) {
+                departmentTreeUpdater.move(department.getId(), parentId);
+            }
+        }
+    }
+
+    @Override
+    public boolean onPreDelete(PreDeleteEvent event) {
+        if (event.getEntity() instanceof Department department) {
+            departmentTreeUpdater.detachChildren(department.getId());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static Long parentIdOf(Department department) {
+        return department.getParent() == null ? null : department.getParent().getId();
+    }
+}
@@ -0,0 +1,117 @@
+package botscrew.task.tree;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DepartmentTreeUpdater {
+    private static final String INSERT_SELF_SQL = "INSERT INTO department_closure "
+            + "(ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)";
+    private static final String INSERT_UNDER_PARENT_SQL = "INSERT INTO department_closure "
+            + "(ancestor_id, descendant_id, depth) "
+            + "SELECT ancestor_id, :id, depth + 1 FROM department_closure "
+            + "WHERE descendant_id = :parentId";
+    private static final String PARENT_SQL = "SELECT ancestor_id FROM department_closure "
+            + "WHERE descendant_id = :id AND depth = 1";
+    private static final String SUBTREE_SQL =
+            "SELECT descendant_id FROM department_closure WHERE ancestor_id = :id";
+    private static final String ANCESTORS_SQL = "SELECT ancestor_id FROM department_closure "
+            + "WHERE descendant_id = :id AND depth > 0";
+    private static final String CHILDREN_SQL =
+            "SELECT id FROM departments WHERE parent_id = :id";
+    private static final String DELETE_LINKS_SQL = "DELETE FROM department_closure "
+            + "WHERE ancestor_id IN (:ancestors) AND descendant_id IN (:subtree)";
+    private static final String INSERT_LINKS_SQL = "INSERT INTO department_closure "
+            + "(ancestor_id, descendant_id, depth) "
+            + "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+            + "FROM department_closure a, department_closure d "
+            + "WHERE a.descendant_id = :parentId AND d.ancestor_id = :id";
+    private static final String DELETE_ALL_SQL = "DELETE FROM department_closure";
+    private static final String INSERT_ALL_SELF_SQL = "INSERT INTO department_closure "
+            + "(ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM departments";
+    private static final String INSERT_LEVEL_SQL = "INSERT INTO department_closure "
+            + "(ancestor_id, descendant_id, depth) "
+            + "SELECT c.ancestor_id, d.id, c.depth + 1 FROM department_closure c "
+            + "JOIN departments d ON d.parent_id = c.descendant_id WHERE c.depth = :depth";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM departments";
+    private static final String PARENTS_SQL =
+            "SELECT id, parent_id FROM departments WHERE parent_id IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DepartmentTreeUpdater(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Long id, Long parentId) {
+        jdbcTemplate.update(INSERT_SELF_SQL, Map.of("id", id));
+        if (parentId != null) {
+            jdbcTemplate.update(INSERT_UNDER_PARENT_SQL, Map.of("id", id, "parentId", parentId));
+        }
+    }
+
+    public Long findParentId(Long id) {
+        List<Long> parents = jdbcTemplate.queryForList(PARENT_SQL, Map.of("id", id), Long.class);
+        return parents.isEmpty() ? null : parents.get(0);
+    }
+
+    // unlinks the subtree from its old ancestors and links it to every ancestor of the parent
+    public void move(Long id, Long parentId) {
+        List<Long> ancestors = jdbcTemplate.queryForList(ANCESTORS_SQL, Map.of("id", id),
+                Long.class);
+        if (!ancestors.isEmpty()) {
+            List<Long> subtree = jdbcTemplate.queryForList(SUBTREE_SQL, Map.of("id", id),
+                    Long.class);
+            jdbcTemplate.update(DELETE_LINKS_SQL, Map.of("ancestors", ancestors,
+                    "subtree", subtree));
+        }
+        if (parentId != null) {
+            jdbcTemplate.update(INSERT_LINKS_SQL, Map.of("id", id, "parentId", parentId));
+        }
+    }
+
+    // the database clears parent_id of the children, their subtrees become top level
+    public void detachChildren(Long id) {
+        for (Long child : jdbcTemplate.queryForList(CHILDREN_SQL, Map.of("id", id),
+                Long.class)) {
+            move(child, null);
+        }
+    }
+
+    // rows written without the entity listener, such as bulk imports, come from parent_id
+    public void rebuild() {
+        jdbcTemplate.update(DELETE_ALL_SQL, Map.of());
+        jdbcTemplate.update(INSERT_ALL_SELF_SQL, Map.of());
+        long departments = jdbcTemplate.queryForObject(COUNT_SQL, Map.of(), Long.class);
+        for (int depth = 0; depth < departments; depth++) {
+            if (jdbcTemplate.update(INSERT_LEVEL_SQL, Map.of("depth", depth)) == 0) {
+                return;
+            }
+        }
+    }
+
+    // a parent chain that reaches a department already on it is a cycle, which rebuild
+    // can't turn into closure rows
+    public Long findCycleMember() {
+        Map<Long, Long> parents = new HashMap<>();
+        jdbcTemplate.query(PARENTS_SQL, Map.of(), rs -> {
+            parents.put(rs.getLong("id"), rs.getLong("parent_id"));
+        });
+        Set<Long> acyclic = new HashSet<>();
+        for (Long start : parents.keySet()) {
+            Set<Long> chain = new HashSet<>();
+            for (Long id = start; id != null && !acyclic.contains(id); id = parents.get(id)) {
+                if (!chain.add(id)) {
+                    return id;
+                }
+            }
+            acyclic.addAll(chain);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package botscrew.task.cache;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.NO_SECOND_LEVEL_CACHE;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.stats.DepartmentStatsListener;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import java.math.BigDecimal;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@DataJpaTest(properties = NO_SECOND_LEVEL_CACHE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DepartmentAggregateCache.class, DepartmentAggregateCacheListener.class,
+        DepartmentStatsUpdater.class, DepartmentStatsListener.class, MembershipLookup.class})
+class DepartmentAggregateCacheListenerTest {
+    @Autowired
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    @DisplayName("Reload aggregate after committed salary and name change of head")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void onPostUpdate_EmployeeChanged_ReloadsAggregate() {
+        departmentAggregateCache.invalidateAll();
+        departmentAggregateCache.get(VALID_DEPARTMENT_ID);
+        final long missesBefore = departmentAggregateCache.getStatistics().misses();
+
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        Hibernate.initialize(head.getDepartments());
+        head.setSalary(BigDecimal.valueOf(4200));
+        head.setName("Alice Smith");
+        employeeRepository.flush();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        DepartmentAggregate actual = departmentAggregateCache.get(VALID_DEPARTMENT_ID)
+                .orElseThrow();
+        assertEquals(missesBefore + 1, departmentAggregateCache.getStatistics().misses());
+        assertEquals(0, BigDecimal.valueOf(2400).compareTo(actual.averageSalary()));
+        assertEquals("Alice Smith", actual.headName());
+    }
+
+    @Test
+    @DisplayName("Drop cached aggregates on committed membership change")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void onPostUpdateCollection_MembershipChanged_InvalidatesAggregate() {
+        departmentAggregateCache.invalidateAll();
+        departmentAggregateCache.get(VALID_DEPARTMENT_ID);
+
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        head.getDepartments().clear();
+        employeeRepository.flush();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(0, departmentAggregateCache.getStatistics().entries());
+        assertEquals(2, departmentAggregateCache.get(VALID_DEPARTMENT_ID).orElseThrow().count());
+    }
+}
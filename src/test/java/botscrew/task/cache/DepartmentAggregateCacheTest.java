@@ -0,0 +1,143 @@
+package botscrew.task.cache;
+
+import static botscrew.task.res.TestResources.INVALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentAggregateCacheTest {
+    private static final long LARGE_CACHE_SIZE = 1_048_576;
+    private static final Long SECOND_DEPARTMENT_ID = 2L;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Load aggregate of correct department once and count a hit afterwards")
+    public void get_RepeatedCalls_LoadsOnce() {
+        DepartmentAggregateCache cache =
+                new DepartmentAggregateCache(employeeRepository, transactionManager,
+                        LARGE_CACHE_SIZE);
+        when(employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID))
+                .thenReturn(aggregateRows());
+
+        DepartmentAggregate first = cache.get(VALID_DEPARTMENT_ID).orElseThrow();
+        DepartmentAggregate second = cache.get(VALID_DEPARTMENT_ID).orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals(3, first.count());
+        assertEquals(BigDecimal.valueOf(220000, 2), first.averageSalary());
+        assertEquals(expectedHead.getName(), first.headName());
+        verify(employeeRepository, times(1)).findAggregateByDepartmentId(VALID_DEPARTMENT_ID);
+        DepartmentAggregateCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(1, statistics.entries());
+    }
+
+    @Test
+    @DisplayName("Don't cache incorrect department")
+    public void get_IncorrectDepartment_ReturnsEmpty() {
+        DepartmentAggregateCache cache =
+                new DepartmentAggregateCache(employeeRepository, transactionManager,
+                        LARGE_CACHE_SIZE);
+        when(employeeRepository.findAggregateByDepartmentId(INVALID_DEPARTMENT_ID))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(cache.get(INVALID_DEPARTMENT_ID).isEmpty());
+        assertEquals(0, cache.getStatistics().entries());
+    }
+
+    @Test
+    @DisplayName("Load all missing departments in one query and keep cached ones")
+    public void getAll_SomeCached_LoadsMissingInOneQuery() {
+        DepartmentAggregateCache cache =
+                new DepartmentAggregateCache(employeeRepository, transactionManager,
+                        LARGE_CACHE_SIZE);
+        when(employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID))
+                .thenReturn(aggregateRows());
+        when(employeeRepository.findAggregateByDepartmentIds(
+                Set.of(SECOND_DEPARTMENT_ID, INVALID_DEPARTMENT_ID)))
+                .thenReturn(List.of(new DegreeAggregateDto(SECOND_DEPARTMENT_ID, null, null,
+                        Employee.Degree.PROFESSOR, 2, BigDecimal.valueOf(700000, 2))));
+        cache.get(VALID_DEPARTMENT_ID);
+
+        Map<Long, DepartmentAggregate> actual = cache.getAll(
+                List.of(VALID_DEPARTMENT_ID, SECOND_DEPARTMENT_ID, INVALID_DEPARTMENT_ID));
+
+        assertEquals(Set.of(VALID_DEPARTMENT_ID, SECOND_DEPARTMENT_ID), actual.keySet());
+        assertEquals(2, actual.get(SECOND_DEPARTMENT_ID).count());
+        assertEquals(2, cache.getStatistics().entries());
+        assertEquals(1, cache.getStatistics().hits());
+        assertEquals(3, cache.getStatistics().misses());
+    }
+
+    @Test
+    @DisplayName("Evict least recently used department when size limit is exceeded")
+    public void get_SizeLimitExceeded_EvictsLeastRecentlyUsed() {
+        DepartmentAggregateCache cache =
+                new DepartmentAggregateCache(employeeRepository, transactionManager, 400);
+        when(employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID))
+                .thenReturn(aggregateRows());
+        when(employeeRepository.findAggregateByDepartmentId(SECOND_DEPARTMENT_ID))
+                .thenReturn(aggregateRows());
+
+        cache.get(VALID_DEPARTMENT_ID);
+        cache.get(SECOND_DEPARTMENT_ID);
+        cache.get(VALID_DEPARTMENT_ID);
+
+        DepartmentAggregateCache.Statistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.evictions());
+        assertEquals(1, statistics.entries());
+        assertTrue(statistics.sizeBytes() <= statistics.maxSizeBytes());
+        verify(employeeRepository, times(2)).findAggregateByDepartmentId(VALID_DEPARTMENT_ID);
+    }
+
+    @Test
+    @DisplayName("Round average salary half up to cents")
+    public void averageSalary_RepeatingDecimal_RoundsHalfUpToCents() {
+        DepartmentAggregate thirds = new DepartmentAggregate(null, null,
+                Map.of(Employee.Degree.ASSISTANT, 3L), BigDecimal.valueOf(300100, 2));
+        DepartmentAggregate halves = new DepartmentAggregate(null, null,
+                Map.of(Employee.Degree.ASSISTANT, 2L), BigDecimal.valueOf(100001, 2));
+
+        assertEquals(BigDecimal.valueOf(100033, 2), thirds.averageSalary());
+        assertEquals(BigDecimal.valueOf(50001, 2), halves.averageSalary());
+    }
+
+    private static List<DegreeAggregateDto> aggregateRows() {
+        return List.of(
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.ASSISTANT,
+                        1, BigDecimal.valueOf(100000, 2)),
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.ASSOCIATE_PROFESSOR,
+                        1, BigDecimal.valueOf(200000, 2)),
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.PROFESSOR,
+                        1, BigDecimal.valueOf(360000, 2)));
+    }
+}
@@ -0,0 +1,145 @@
+package botscrew.task.cache;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.config.SecondLevelCacheConfig;
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.stats.DepartmentStatsListener;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, SecondLevelCache.class, DepartmentStatsUpdater.class,
+        DepartmentStatsListener.class, MembershipLookup.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class SecondLevelCacheTest {
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        secondLevelCache.evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Load department from the cache in a later session")
+    public void findById_SecondSession_NoStatement() {
+        departmentRepository.findById(VALID_DEPARTMENT_ID).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(VALID_DEPARTMENT, departmentRepository.findById(VALID_DEPARTMENT_ID)
+                .orElseThrow().getName());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(secondLevelCache.getStatistics().stream().anyMatch(region -> region.region()
+                .equals(SecondLevelCache.DEPARTMENTS_REGION) && region.hits() == 1));
+    }
+
+    @Test
+    @DisplayName("Read a committed salary change from the cache in a later session")
+    public void findById_AfterSalaryWrite_ReturnsCommittedSalaryFromCache() {
+        employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                employeeRepository.findById(expectedHead.getId()).orElseThrow()
+                        .setSalary(BigDecimal.valueOf(4600)));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(0, BigDecimal.valueOf(4600).compareTo(employeeRepository
+                .findById(expectedHead.getId()).orElseThrow().getSalary()));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(0, BigDecimal.valueOf(4600).compareTo(jdbcTemplate.queryForObject(
+                "select salary from employees where id = ?", BigDecimal.class,
+                expectedHead.getId())));
+    }
+
+    @Test
+    @DisplayName("Invalidate cached aggregates when salary or membership changes")
+    public void findAggregateByDepartmentId_AfterWrites_ReturnsFreshResults() {
+        assertEquals(3, memberCount());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(3, memberCount());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> employeeRepository
+                .findById(expectedHead.getId()).orElseThrow()
+                .setSalary(BigDecimal.valueOf(4600)));
+        assertEquals(new BigDecimal("7600.00"), salarySum());
+
+        transaction.executeWithoutResult(status -> employeeRepository
+                .findById(expectedHead.getId()).orElseThrow().getDepartments().clear());
+        assertEquals(2, memberCount());
+    }
+
+    @Test
+    @DisplayName("Reload rows changed outside Hibernate after eviction")
+    public void evictAll_JdbcWrite_ReloadsDepartment() {
+        departmentRepository.findById(VALID_DEPARTMENT_ID).orElseThrow();
+        jdbcTemplate.update("update departments set name = 'Physics' where id = ?",
+                VALID_DEPARTMENT_ID);
+
+        secondLevelCache.evictAll();
+
+        assertEquals("Physics", departmentRepository.findById(VALID_DEPARTMENT_ID)
+                .orElseThrow().getName());
+    }
+
+    private long memberCount() {
+        return employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID).stream()
+                .mapToLong(DegreeAggregateDto::count).sum();
+    }
+
+    private BigDecimal salarySum() {
+        return employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID).stream()
+                .map(DegreeAggregateDto::salarySum).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
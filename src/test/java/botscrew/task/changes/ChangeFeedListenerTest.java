@@ -0,0 +1,152 @@
+package botscrew.task.changes;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = "change-feed.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ChangeFeedWriter.class, ChangeFeedListener.class, ChangeFeed.class,
+        MembershipLookup.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ChangeFeedListenerTest {
+    private static final long DEPARTMENT_ID = 1L;
+    private static final long NEW_EMPLOYEE_ID = 100L;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.execute("ALTER TABLE employees ALTER COLUMN id RESTART WITH "
+                + NEW_EMPLOYEE_ID);
+        start = changeFeed.latestSequence();
+    }
+
+    @Test
+    @DisplayName("Record committed inserts, updates, deletes and memberships in sequence")
+    public void commit_EntitiesChanged_RecordsChangesInOrder() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Department department = departmentRepository.findById(DEPARTMENT_ID)
+                    .orElseThrow();
+            Employee employee = new Employee();
+            employee.setName("Freddie Mercury");
+            employee.setDegree(Employee.Degree.ASSISTANT);
+            employee.setSalary(BigDecimal.valueOf(1500));
+            employee.setDepartments(new HashSet<>(Set.of(department)));
+            employeeRepository.save(employee);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = employeeRepository.findById(1L).orElseThrow();
+            employee.setSalary(BigDecimal.valueOf(1100));
+            employee.getDepartments().clear();
+            departmentRepository.findById(DEPARTMENT_ID).orElseThrow().setName("Mechanics");
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                employeeRepository.deleteById(NEW_EMPLOYEE_ID));
+
+        List<ChangeEvent> events = changeFeed.read(start, 100);
+
+        assertEquals(List.of(
+                change(ChangeEntity.EMPLOYEE, ChangeOperation.INSERT, NEW_EMPLOYEE_ID, null),
+                change(ChangeEntity.MEMBERSHIP, ChangeOperation.INSERT, NEW_EMPLOYEE_ID,
+                        DEPARTMENT_ID),
+                change(ChangeEntity.EMPLOYEE, ChangeOperation.UPDATE, 1L, null),
+                change(ChangeEntity.DEPARTMENT, ChangeOperation.UPDATE, DEPARTMENT_ID, null),
+                change(ChangeEntity.MEMBERSHIP, ChangeOperation.DELETE, 1L, DEPARTMENT_ID),
+                change(ChangeEntity.MEMBERSHIP, ChangeOperation.DELETE, NEW_EMPLOYEE_ID,
+                        DEPARTMENT_ID),
+                change(ChangeEntity.EMPLOYEE, ChangeOperation.DELETE, NEW_EMPLOYEE_ID, null)),
+                events.stream().map(ChangeFeedListenerTest::changeOf).toList());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(start + i + 1, events.get(i).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Record nothing for a transaction that is rolled back")
+    public void rollback_EmployeeChanged_RecordsNothing() {
+        assertThrows(IllegalStateException.class, () ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    employeeRepository.findById(1L).orElseThrow()
+                            .setSalary(BigDecimal.valueOf(1100));
+                    employeeRepository.flush();
+                    throw new IllegalStateException("Cancelled");
+                }));
+
+        assertEquals(List.of(), changeFeed.read(start, 100));
+        assertEquals(start, changeFeed.latestSequence());
+    }
+
+    @Test
+    @DisplayName("Catch up in batches from the last consumed sequence")
+    public void catchUp_SeveralBatches_ReturnsLastSequence() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Employee employee : employeeRepository.findAll()) {
+                employee.setSalary(employee.getSalary().add(BigDecimal.TEN));
+            }
+        });
+        List<List<ChangeEvent>> batches = new ArrayList<>();
+
+        long position = changeFeed.catchUp(start, batches::add);
+
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        assertEquals(start + 3, position);
+        assertEquals(position, changeFeed.catchUp(position, batches::add));
+        assertEquals(2, batches.size());
+    }
+
+    private static Change change(ChangeEntity entity, ChangeOperation operation, long entityId,
+                                 Long relatedId) {
+        return new Change(entity, operation, entityId, relatedId);
+    }
+
+    private static Change changeOf(ChangeEvent event) {
+        return new Change(event.entity(), event.operation(), event.entityId(),
+                event.relatedId());
+    }
+}
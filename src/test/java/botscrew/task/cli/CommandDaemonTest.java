@@ -0,0 +1,164 @@
+package botscrew.task.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.batch.CommandRegistry;
+import botscrew.task.service.DepartmentTreeService;
+import botscrew.task.service.EmployeeService;
+import botscrew.task.service.SalaryHistoryService;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+class CommandDaemonTest {
+    private static final int CLIENTS = 8;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final int THREADS = 2;
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(200);
+
+    @TempDir
+    private Path directory;
+
+    private Path socket;
+    private CommandDaemon commandDaemon;
+    private CompletableFuture<Void> serving;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        EmployeeService employeeService = mock(EmployeeService.class);
+        when(employeeService.showCountForDepartment("Mathematics")).thenReturn("10");
+        socket = directory.resolve("daemon.sock");
+        commandDaemon = new CommandDaemon(new OneShotExecutor(new CommandRegistry(employeeService,
+                mock(SalaryHistoryService.class), mock(DepartmentTreeService.class))),
+                mock(ConfigurableApplicationContext.class), THREADS, READ_TIMEOUT);
+        serving = CompletableFuture.runAsync(() -> {
+            try {
+                commandDaemon.serve(socket);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (!Files.exists(socket)) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        commandDaemon.stop();
+    }
+
+    @Test
+    @DisplayName("Answer concurrent clients over the socket with output and exit status")
+    public void send_ConcurrentClients_AnswersEach() throws Exception {
+        List<Future<CommandResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> send(
+                    "Show", "count", "of", "employee", "for", "Mathematics")));
+        }
+
+        for (Future<CommandResponse> response : responses) {
+            assertEquals(CommandResponse.ok("10"),
+                    response.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(CommandResponse.EXIT_USAGE, send("Dance").exitCode());
+    }
+
+    @Test
+    @DisplayName("Disconnect clients sending negative or oversized lengths without answering")
+    public void send_InvalidLengths_Disconnected() throws Exception {
+        for (int[] request : new int[][]{{-1}, {Integer.MAX_VALUE},
+                {DaemonProtocol.MAX_REQUEST_ARGS + 1}, {1, -1},
+                {1, DaemonProtocol.MAX_REQUEST_ARG_BYTES + 1}}) {
+            try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+                DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+                for (int value : request) {
+                    out.writeInt(value);
+                }
+                out.flush();
+
+                assertEquals(-1, readByte(channel));
+            }
+        }
+        assertEquals(CommandResponse.ok("10"),
+                send("Show", "count", "of", "employee", "for", "Mathematics"));
+    }
+
+    @Test
+    @DisplayName("Disconnect clients that stall mid-request so they don't hold the workers")
+    public void send_StalledClients_DisconnectedAfterReadTimeout() throws Exception {
+        List<SocketChannel> stalled = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+                stalled.add(channel);
+                new DataOutputStream(Channels.newOutputStream(channel)).writeInt(1);
+            }
+
+            assertEquals(CommandResponse.ok("10"),
+                    send("Show", "count", "of", "employee", "for", "Mathematics"));
+            for (SocketChannel channel : stalled) {
+                assertEquals(-1, readByte(channel));
+            }
+        } finally {
+            for (SocketChannel channel : stalled) {
+                channel.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Remove the socket when stopped so clients fall back to a new JVM")
+    public void stop_Serving_RemovesSocket()
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        commandDaemon.stop();
+        serving.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertFalse(Files.exists(socket));
+        assertThrows(SocketException.class, () -> DaemonClient.send(socket, "Dance"));
+    }
+
+    // the daemon closing the connection ends the stream
+    private static int readByte(SocketChannel channel) throws Exception {
+        DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return in.read();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private CommandResponse send(String... args) {
+        try {
+            return DaemonClient.send(socket, args);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package botscrew.task.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.batch.CommandRegistry;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.model.Employee;
+import botscrew.task.res.Messages;
+import botscrew.task.service.DepartmentTreeService;
+import botscrew.task.service.EmployeeService;
+import botscrew.task.service.SalaryHistoryService;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OneShotExecutorTest {
+    private static final String DEPARTMENT = "Computer Science";
+    private static final DepartmentCountsDto COUNTS = new DepartmentCountsDto(DEPARTMENT,
+            Map.of(Employee.Degree.ASSISTANT, 2L, Employee.Degree.PROFESSOR, 1L), 3,
+            new BigDecimal("1500.50"));
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private SalaryHistoryService salaryHistoryService;
+
+    @Mock
+    private DepartmentTreeService departmentTreeService;
+
+    private OneShotExecutor oneShotExecutor;
+
+    @BeforeEach
+    void setUp() {
+        oneShotExecutor = new OneShotExecutor(new CommandRegistry(employeeService,
+                salaryHistoryService, departmentTreeService));
+    }
+
+    @Test
+    @DisplayName("Answer a command given as separate words with the shell's text")
+    public void execute_TextFormat_ReturnsShellAnswer() {
+        when(employeeService.showCountForDepartment(DEPARTMENT)).thenReturn("3");
+
+        CommandResponse actual = oneShotExecutor.execute("--exec", "Show", "count", "of",
+                "employee", "for", "Computer", "Science");
+
+        assertEquals(CommandResponse.ok("3"), actual);
+    }
+
+    @Test
+    @DisplayName("Answer department statistics as JSON rows")
+    public void execute_JsonStatistics_ReturnsRowPerDegree() {
+        when(employeeService.findCounts(DEPARTMENT)).thenReturn(COUNTS);
+
+        CommandResponse actual = oneShotExecutor.execute("--format=json",
+                "Show Computer Science statistics");
+
+        assertEquals(CommandResponse.ok("["
+                + "{\"department\":\"Computer Science\",\"degree\":\"ASSISTANT\",\"count\":2},"
+                + "{\"department\":\"Computer Science\",\"degree\":\"ASSOCIATE_PROFESSOR\","
+                + "\"count\":0},"
+                + "{\"department\":\"Computer Science\",\"degree\":\"PROFESSOR\",\"count\":1}]"),
+                actual);
+    }
+
+    @Test
+    @DisplayName("Answer as CSV with a header and quoted values")
+    public void execute_CsvHead_QuotesSpecialCharacters() {
+        when(employeeService.findHead("Law, Politics"))
+                .thenReturn(new DepartmentHeadDto("Law, Politics", "John \"Jack\" Doe"));
+
+        CommandResponse actual = oneShotExecutor.execute("--format=csv",
+                "Who is head of department Law, Politics");
+
+        assertEquals(CommandResponse.ok(String.join(System.lineSeparator(), "department,head",
+                "\"Law, Politics\",\"John \"\"Jack\"\" Doe\"")), actual);
+    }
+
+    @Test
+    @DisplayName("Answer average salary and a requested search page as CSV")
+    public void execute_CsvAverageAndSearch_ReturnsRows() {
+        when(employeeService.findCounts(DEPARTMENT)).thenReturn(COUNTS);
+        when(employeeService.findNames("van", 2, 2))
+                .thenReturn(new NamePageDto(List.of("Ivan Petrov", "Peter Ivanov"), true));
+
+        CommandResponse average = oneShotExecutor.execute("--format=CSV",
+                "Show the average salary for the department Computer Science");
+        CommandResponse search = oneShotExecutor.execute("--format=csv", "--page=2", "--size=2",
+                "Global search by van");
+
+        assertEquals(CommandResponse.ok(String.join(System.lineSeparator(),
+                "department,average_salary", "Computer Science,1500.50")), average);
+        assertEquals(CommandResponse.ok(String.join(System.lineSeparator(),
+                "name", "Ivan Petrov", "Peter Ivanov")), search);
+    }
+
+    @Test
+    @DisplayName("Answer subtree, as-of, history and move commands with their options")
+    public void execute_LaterCommands_ReachServicesWithOptions() {
+        when(departmentTreeService.findSubtreeCounts(DEPARTMENT)).thenReturn(COUNTS);
+        when(salaryHistoryService.showAverageSalaryAsOf(DEPARTMENT, "2024-01-31"))
+                .thenReturn("1400.00");
+        when(salaryHistoryService.showSalaryHistory(DEPARTMENT, "2024-01", null))
+                .thenReturn("2024-01 - 1400.00");
+        when(departmentTreeService.moveDepartment("Robotics", DEPARTMENT)).thenReturn("Moved");
+
+        final CommandResponse subtree = oneShotExecutor.execute("--format=csv",
+                "Show count of employee for subtree Computer Science");
+        final CommandResponse average = oneShotExecutor.execute("--as-of=2024-01-31",
+                "Show the average salary for the department Computer Science");
+        final CommandResponse history = oneShotExecutor.execute("--from=2024-01",
+                "Show salary history for Computer Science");
+        final CommandResponse move = oneShotExecutor.execute("Move department Robotics --under "
+                + DEPARTMENT);
+
+        assertEquals(CommandResponse.ok(String.join(System.lineSeparator(),
+                "department,count", "Computer Science,3")), subtree);
+        assertEquals(CommandResponse.ok("1400.00"), average);
+        assertEquals(CommandResponse.ok("2024-01 - 1400.00"), history);
+        assertEquals(CommandResponse.ok("Moved"), move);
+    }
+
+    @Test
+    @DisplayName("Exit with usage status for a text-only command in another format")
+    public void execute_JsonSalaryHistory_ReturnsUsageStatus() {
+        CommandResponse actual = oneShotExecutor.execute("--format=json",
+                "Show salary history for Computer Science");
+
+        assertEquals(CommandResponse.failure(CommandResponse.EXIT_USAGE, String.format(
+                Messages.TEXT_ONLY_COMMAND_MESSAGE, "Show salary history for")), actual);
+        verifyNoInteractions(salaryHistoryService);
+    }
+
+    @Test
+    @DisplayName("Exit with usage status for unknown commands, formats and pages")
+    public void execute_InvalidUsage_ReturnsUsageStatus() {
+        assertEquals(CommandResponse.failure(CommandResponse.EXIT_USAGE,
+                        Messages.UNKNOWN_BATCH_COMMAND_MESSAGE + "Fire everyone"),
+                oneShotExecutor.execute("Fire", "everyone"));
+        assertEquals(CommandResponse.failure(CommandResponse.EXIT_USAGE,
+                        String.format(Messages.UNKNOWN_FORMAT_MESSAGE, "xml")),
+                oneShotExecutor.execute("--format=xml", "Show Computer Science statistics"));
+        assertEquals(CommandResponse.EXIT_USAGE, oneShotExecutor.execute("--page=first",
+                "Global search by van").exitCode());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    @DisplayName("Exit with not found status when the department doesn't exist")
+    public void execute_UnknownDepartment_ReturnsNotFoundStatus() {
+        when(employeeService.showStatistics("Alchemy")).thenThrow(
+                new EntityNotFoundException(Messages.CANT_FIND_DEPARTMENT_MESSAGE + "Alchemy"));
+
+        CommandResponse actual = oneShotExecutor.execute("Show Alchemy statistics");
+
+        assertEquals(CommandResponse.failure(CommandResponse.EXIT_NOT_FOUND,
+                Messages.CANT_FIND_DEPARTMENT_MESSAGE + "Alchemy"), actual);
+        verify(employeeService).showStatistics("Alchemy");
+    }
+
+    @Test
+    @DisplayName("Exit with failure status when the command fails unexpectedly")
+    public void execute_DatabaseDown_ReturnsFailureStatus() {
+        when(employeeService.headOfDepartment(DEPARTMENT))
+                .thenThrow(new IllegalStateException("Connection refused"));
+
+        CommandResponse actual = oneShotExecutor.execute("Who is head of department "
+                + DEPARTMENT);
+
+        assertEquals(CommandResponse.EXIT_FAILED, actual.exitCode());
+        assertEquals("java.lang.IllegalStateException: Connection refused", actual.error());
+    }
+}
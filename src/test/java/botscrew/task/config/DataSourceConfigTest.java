@@ -0,0 +1,208 @@
+package botscrew.task.config;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.EmployeeService;
+import botscrew.task.service.impl.EmployeeServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshot;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@DataJpaTest(properties = {
+        "replica.datasource.url=jdbc:h2:mem:replica",
+        "replica.read-your-writes-window=PT1M",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DataSourceConfig.class, EmployeeServiceImpl.class, DepartmentAggregateCache.class,
+        DepartmentRegistry.class, DataSourceConfigTest.ReplicaSchema.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class DataSourceConfigTest {
+    private static final String REPLICA_HEAD = "Replica Head";
+    private static final int ROUNDS = 1_000;
+    private static final int SNAPSHOT_FETCH_SIZE = 100;
+    private static final double SNAPSHOT_SKETCH_ACCURACY = 0.01;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("insert into employees (id, name, degree, salary) "
+                + "values (7, ?, 'PROFESSOR', 5000.0)", REPLICA_HEAD);
+        replica.update("insert into departments (id, name, head_id) values (1, ?, 7)",
+                VALID_DEPARTMENT);
+        replica.update("insert into employees_departments (employee_id, department_id) "
+                + "values (7, 1)");
+        departmentRegistry.reload();
+        departmentAggregateCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("delete from employees_departments");
+        replica.update("delete from departments");
+        replica.update("delete from employees");
+    }
+
+    @Test
+    @DisplayName("Load cached aggregates from the primary after a local commit the replica lacks")
+    public void headOfDepartment_AfterLocalCommit_ReadsPrimary() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        commitLocalWrite();
+
+        final String head = employeeService.headOfDepartment(VALID_DEPARTMENT);
+        departmentAggregateCache.invalidateAll();
+        final DepartmentAggregate inReadOnlyTransaction = readOnlyTransaction.execute(status ->
+                departmentAggregateCache.get(VALID_DEPARTMENT_ID).orElseThrow());
+
+        assertEquals(String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE, VALID_DEPARTMENT,
+                expectedHead.getName()), head);
+        assertEquals(expectedHead.getName(), inReadOnlyTransaction.headName());
+        assertEquals(3, inReadOnlyTransaction.count());
+    }
+
+    @Test
+    @DisplayName("Load employee snapshot from the primary after a local commit the replica lacks")
+    public void refreshSnapshot_AfterLocalCommit_ReadsPrimary() {
+        commitLocalWrite();
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(dataSource, transactionManager,
+                true, SNAPSHOT_FETCH_SIZE, 0, SNAPSHOT_SKETCH_ACCURACY);
+
+        EmployeeSnapshot snapshot = store.refresh();
+
+        assertEquals(3, snapshot.employees());
+        assertEquals(3, snapshot.count(VALID_DEPARTMENT_ID));
+        assertTrue(store.check().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Load aggregates in read-only transactions and answer cached ones without any")
+    public void showStatistics_ReadOnlyTransaction_NoFlushAndNoReplicaConnection() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        final int replicaActiveBefore = replicaDataSource.getHikariPoolMXBean()
+                .getActiveConnections();
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            departmentAggregateCache.invalidate(VALID_DEPARTMENT_ID);
+            employeeService.showStatistics(VALID_DEPARTMENT);
+        }
+        final long uncachedNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            employeeService.showStatistics(VALID_DEPARTMENT);
+        }
+        final long cachedNanos = System.nanoTime() - start;
+
+        assertEquals(0, statistics.getFlushCount());
+        assertEquals(ROUNDS, statistics.getTransactionCount());
+        assertEquals(ROUNDS, statistics.getPrepareStatementCount());
+        assertEquals("3", employeeService.showCountForDepartment(VALID_DEPARTMENT));
+        assertEquals(replicaActiveBefore,
+                replicaDataSource.getHikariPoolMXBean().getActiveConnections());
+        log.info("Query command per call: {} µs with a primary query, {} µs from cache "
+                        + "without touching the pool, primary pool total {} connections",
+                uncachedNanos / ROUNDS / 1_000, cachedNanos / ROUNDS / 1_000,
+                primaryDataSource.getHikariPoolMXBean().getTotalConnections());
+    }
+
+    private void commitLocalWrite() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).update(
+                        "update employees set salary = salary where id = ?",
+                        expectedHead.getId()));
+    }
+
+    @TestConfiguration
+    static class ReplicaSchema {
+        @Bean
+        InitializingBean replicaSchemaMigration(
+                @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                ResourceLoader resourceLoader) {
+            return () -> {
+                SpringLiquibase liquibase = new SpringLiquibase();
+                liquibase.setDataSource(replicaDataSource);
+                liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+                liquibase.setResourceLoader(resourceLoader);
+                liquibase.afterPropertiesSet();
+            };
+        }
+    }
+}
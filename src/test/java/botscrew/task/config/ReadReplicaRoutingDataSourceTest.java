@@ -0,0 +1,103 @@
+package botscrew.task.config;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadReplicaRoutingDataSourceTest {
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMinutes(1);
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        replica = mock(DataSource.class, RETURNS_DEEP_STUBS);
+    }
+
+    @Test
+    @DisplayName("Send read-only transactions to the replica when nothing was written locally")
+    public void readOnlyTransaction_NoLocalWrite_UsesReplica() throws SQLException {
+        TransactionTemplate transaction = transaction(READ_YOUR_WRITES_WINDOW);
+
+        query(transaction, true);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Send read-only transactions to the primary right after a local commit")
+    public void readOnlyTransaction_AfterLocalCommit_UsesPrimary() throws SQLException {
+        TransactionTemplate transaction = transaction(READ_YOUR_WRITES_WINDOW);
+
+        query(transaction, false);
+        query(transaction, true);
+
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Keep sending read-only transactions to the replica after a rollback")
+    public void readOnlyTransaction_AfterRollback_UsesReplica() throws SQLException {
+        TransactionTemplate transaction = transaction(READ_YOUR_WRITES_WINDOW);
+
+        transaction.executeWithoutResult(status -> {
+            new JdbcTemplate(dataSourceOf(transaction)).execute("select 1");
+            status.setRollbackOnly();
+        });
+        query(transaction, true);
+
+        verify(replica).getConnection();
+    }
+
+    @Test
+    @DisplayName("Return read-only transactions to the replica once the window has passed")
+    public void readOnlyTransaction_WindowPassed_UsesReplica() throws SQLException {
+        TransactionTemplate transaction = transaction(Duration.ZERO);
+
+        query(transaction, false);
+        query(transaction, true);
+
+        verify(replica).getConnection();
+    }
+
+    private TransactionTemplate transaction(Duration readYourWritesWindow) {
+        ReadReplicaRoutingDataSource routingDataSource =
+                new ReadReplicaRoutingDataSource(readYourWritesWindow);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReadReplicaRoutingDataSource.Route.REPLICA, replica));
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(routingDataSource);
+        clearInvocations(primary, replica);
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static void query(TransactionTemplate transaction, boolean readOnly) {
+        transaction.setReadOnly(readOnly);
+        transaction.executeWithoutResult(status ->
+                new JdbcTemplate(dataSourceOf(transaction)).execute("select 1"));
+    }
+
+    private static DataSource dataSourceOf(TransactionTemplate transaction) {
+        return ((DataSourceTransactionManager) transaction.getTransactionManager())
+                .getDataSource();
+    }
+}
@@ -0,0 +1,76 @@
+package botscrew.task.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import org.h2.tools.SimpleResultSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ColumnarExportWriterTest {
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("id", ExportColumn.Type.LONG),
+            new ExportColumn("name", ExportColumn.Type.STRING),
+            new ExportColumn("salary", ExportColumn.Type.DECIMAL));
+    private static final Object[][] ROWS = {
+            {7L, "Bob Marley", new BigDecimal("1000.00")},
+            {3L, null, new BigDecimal("-12.5")},
+            {Long.MAX_VALUE, "Ólena Пчілка", null},
+            {null, "", new BigDecimal("123456789012345678901234567890.01")},
+            {-4L, "Elvis Presley", BigDecimal.ZERO}};
+
+    @Test
+    @DisplayName("Read back rows spread over several row groups")
+    public void write_SeveralRowGroups_ReadsSameRows() throws SQLException, IOException {
+        ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(ROWS, 2)));
+
+        assertEquals(COLUMNS, reader.columns());
+        for (Object[] row : ROWS) {
+            assertArrayEquals(row, reader.read());
+        }
+        assertNull(reader.read());
+    }
+
+    @Test
+    @DisplayName("Read empty table")
+    public void write_NoRows_ReadsNothing() throws SQLException, IOException {
+        ColumnarReader reader = new ColumnarReader(new ByteArrayInputStream(write(
+                new Object[0][], ColumnarExportWriter.ROW_GROUP_SIZE)));
+
+        assertNull(reader.read());
+    }
+
+    @Test
+    @DisplayName("Reject file of another format")
+    public void read_OtherFormat_ThrowsException() {
+        assertThrows(IOException.class, () -> new ColumnarReader(
+                new ByteArrayInputStream("id,name,salary\n".getBytes())));
+    }
+
+    private static byte[] write(Object[][] rows, int rowGroupSize)
+            throws SQLException, IOException {
+        SimpleResultSet resultSet = new SimpleResultSet();
+        resultSet.addColumn("id", Types.BIGINT, 19, 0);
+        resultSet.addColumn("name", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("salary", Types.DECIMAL, 40, 2);
+        for (Object[] row : rows) {
+            resultSet.addRow(row);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ColumnarExportWriter(out, COLUMNS, rowGroupSize);
+        while (resultSet.next()) {
+            writer.write(resultSet);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package botscrew.task.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import botscrew.task.res.Messages;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OutputTemplateTest {
+    @Test
+    @DisplayName("Write the same text as String.format for every compiled message")
+    public void appendTo_CompiledMessages_MatchesStringFormat() {
+        BigDecimal salary = new BigDecimal("1234.50");
+
+        assertEquals(String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE, "Physics", "Ann Lee"),
+                Templates.HEAD_OF_DEPARTMENT.appendTo(new StringBuilder(), "Physics", "Ann Lee")
+                        .toString());
+        assertEquals(String.format(Messages.STATISTIC_LINE_MESSAGE, "professors", 12L),
+                Templates.STATISTIC_LINE.appendTo(new StringBuilder(), "professors", 12L)
+                        .toString());
+        assertEquals(String.format(Messages.AVERAGE_SALARY_MESSAGE, "Physics", salary),
+                Templates.AVERAGE_SALARY.appendTo(new StringBuilder(), "Physics", salary)
+                        .toString());
+        assertEquals(String.format(Messages.AVERAGE_SALARY_MESSAGE, "Physics", null),
+                Templates.AVERAGE_SALARY.appendTo(new StringBuilder(), "Physics", null)
+                        .toString());
+        assertEquals(String.format(Messages.NEXT_PAGE_MESSAGE, 3),
+                Templates.NEXT_PAGE.appendTo(new StringBuilder(), 3).toString());
+        assertEquals(String.format(Messages.REPORT_DEPARTMENT_MESSAGE, "Physics", 40L),
+                Templates.REPORT_DEPARTMENT.appendTo(new StringBuilder(), "Physics", 40L)
+                        .toString());
+    }
+
+    @Test
+    @DisplayName("Append to the text already in the buffer and keep literal percent signs")
+    public void appendTo_FilledBuffer_Appends() {
+        OutputTemplate template = OutputTemplate.compile("%s: %d%%");
+
+        StringBuilder actual = template.appendTo(new StringBuilder("> "), "staff", 50L);
+
+        assertEquals("> staff: 50%", actual.toString());
+    }
+
+    @Test
+    @DisplayName("Reject unsupported placeholders and a wrong number of arguments")
+    public void compileAndAppend_InvalidUsage_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> OutputTemplate.compile(Messages.METRIC_LINE_MESSAGE));
+        assertThrows(IllegalArgumentException.class,
+                () -> Templates.HEAD_OF_DEPARTMENT.appendTo(new StringBuilder(), "Physics"));
+    }
+
+    @Test
+    @DisplayName("Start every acquired buffer empty")
+    public void acquire_UsedBuffer_ReturnsEmptyBuffer() {
+        OutputBuffer.acquire().append("previous answer");
+
+        assertEquals(0, OutputBuffer.acquire().length());
+    }
+}
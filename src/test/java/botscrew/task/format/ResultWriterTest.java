@@ -0,0 +1,59 @@
+package botscrew.task.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.dto.DepartmentHeadDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.model.Employee;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ResultWriterTest {
+    private static final DepartmentCountsDto EMPTY_DEPARTMENT = new DepartmentCountsDto(
+            "Physics", Map.of(), 0, null);
+    private static final NamePageDto NAMES = new NamePageDto(List.of("Ann Lee", "Bob Ray"), true);
+
+    @Test
+    @DisplayName("Write statistics and search pages as the shell shows them")
+    public void text_StatisticsAndNames_WritesShellAnswers() {
+        ResultWriter writer = OutputFormat.TEXT.getWriter();
+        DepartmentCountsDto counts = new DepartmentCountsDto("Physics",
+                Map.of(Employee.Degree.PROFESSOR, 2L), 2, null);
+
+        assertEquals(String.join(System.lineSeparator(), "assistants - 0",
+                        "associate professors - 0", "professors - 2"),
+                writer.statistics(counts, new StringBuilder()).toString());
+        assertEquals("Ann Lee, Bob Ray" + System.lineSeparator() + "... more results on page 2",
+                writer.names(NAMES, 1, new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("Escape JSON strings and write a missing average salary as null")
+    public void json_SpecialValues_WritesValidJson() {
+        ResultWriter writer = OutputFormat.JSON.getWriter();
+
+        assertEquals("[{\"department\":\"Law \\\"A\\\"\\\\B\",\"head\":\"Ann\\n\\u0001Lee\"}]",
+                writer.head(new DepartmentHeadDto("Law \"A\"\\B", "Ann\n\u0001Lee"),
+                        new StringBuilder()).toString());
+        assertEquals("[{\"department\":\"Physics\",\"average_salary\":null}]",
+                writer.averageSalary(EMPTY_DEPARTMENT, new StringBuilder()).toString());
+        assertEquals("[{\"name\":\"Ann Lee\"},{\"name\":\"Bob Ray\"}]",
+                writer.names(NAMES, 0, new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("Write CSV with a header, empty missing values and no rows for no names")
+    public void csv_EmptyValues_WritesHeaderOnly() {
+        ResultWriter writer = OutputFormat.CSV.getWriter();
+
+        assertEquals(String.join(System.lineSeparator(), "department,average_salary", "Physics,"),
+                writer.averageSalary(EMPTY_DEPARTMENT, new StringBuilder()).toString());
+        assertEquals(String.join(System.lineSeparator(), "department,count", "Physics,0"),
+                writer.count(EMPTY_DEPARTMENT, new StringBuilder()).toString());
+        assertEquals("name", writer.names(new NamePageDto(List.of(), false), 0,
+                new StringBuilder()).toString());
+    }
+}
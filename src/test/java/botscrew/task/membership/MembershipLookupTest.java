@@ -0,0 +1,82 @@
+package botscrew.task.membership;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.NO_SECOND_LEVEL_CACHE;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import botscrew.task.changes.ChangeFeedListener;
+import botscrew.task.changes.ChangeFeedWriter;
+import botscrew.task.history.SalaryHistoryListener;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.stats.DepartmentStatsListener;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest(properties = NO_SECOND_LEVEL_CACHE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MembershipLookup.class, DepartmentStatsUpdater.class, DepartmentStatsListener.class,
+        SalaryHistoryWriter.class, SalaryHistoryListener.class, ChangeFeedWriter.class,
+        ChangeFeedListener.class})
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class MembershipLookupTest {
+    private static final String DEPARTMENT_IDS_SQL =
+            "SELECT department_id FROM employees_departments";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Read departments of changed member once for all listeners of a flush")
+    public void findDepartmentIds_SalaryAndMembershipChanged_OneQueryPerFlush() {
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        head.setSalary(BigDecimal.valueOf(4000));
+        head.getDepartments().clear();
+        employeeRepository.flush();
+
+        verify(jdbcTemplate, times(1)).queryForList(startsWith(DEPARTMENT_IDS_SQL),
+                eq(Long.class), (Object) any());
+        assertEquals(0, jdbcTemplate.queryForObject("select member_count from department_stats "
+                + "where department_id = 1 and degree = 'PROFESSOR'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from salary_history "
+                + "where employee_id = ? and salary is null", Integer.class, head.getId()));
+    }
+
+    @Test
+    @DisplayName("Read departments again in a later flush")
+    public void findDepartmentIds_TwoFlushes_QueryPerFlush() {
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        head.setSalary(BigDecimal.valueOf(4000));
+        employeeRepository.flush();
+        head.setSalary(BigDecimal.valueOf(4200));
+        employeeRepository.flush();
+
+        verify(jdbcTemplate, times(2)).queryForList(startsWith(DEPARTMENT_IDS_SQL),
+                eq(Long.class), (Object) any());
+        assertEquals(0, BigDecimal.valueOf(4200).compareTo(jdbcTemplate.queryForObject(
+                "select salary_sum from department_stats "
+                        + "where department_id = 1 and degree = 'PROFESSOR'", BigDecimal.class)));
+    }
+}
@@ -0,0 +1,158 @@
+package botscrew.task.metrics;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.config.MetricsConfig;
+import botscrew.task.controller.EmployeeController;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.SalaryHistoryService;
+import botscrew.task.service.impl.EmployeeServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest(properties = "metrics.export.file=target/metrics-test.jsonl")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MetricsConfig.class, QueryCounter.class, CommandMetrics.class,
+        MetricsFileExporter.class, EmployeeController.class, EmployeeServiceImpl.class,
+        DepartmentAggregateCache.class, DepartmentRegistry.class,
+        CommandMetricsTest.DepartmentListing.class})
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CommandMetricsTest {
+    private static final String COMMAND = "EmployeeController.showAverageSalary";
+    private static final int HEADS_COUNT = 12;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private DepartmentListing departmentListing;
+
+    @Autowired
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MetricsFileExporter metricsFileExporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @MockBean
+    private SalaryHistoryService salaryHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        departmentRegistry.reload();
+        meterRegistry.clear();
+        departmentAggregateCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Time command, service and repository layers and count queries per command")
+    public void record_CommandWithCacheMiss_RecordsEveryLayer() throws IOException {
+        employeeController.showAverageSalary(VALID_DEPARTMENT, null);
+        employeeController.showAverageSalary(VALID_DEPARTMENT, null);
+
+        assertEquals(2, meterRegistry.get(Layer.COMMAND.getMeterName())
+                .tag("method", COMMAND).timer().count());
+        assertEquals(2, meterRegistry.get(Layer.SERVICE.getMeterName())
+                .tag("method", "EmployeeService.showAverageSalary").timer().count());
+        assertEquals(1, meterRegistry.get(Layer.REPOSITORY.getMeterName())
+                .tag("method", "EmployeeRepository.findAggregateByDepartmentId").timer().count());
+        assertEquals(1, meterRegistry.get(CommandMetrics.QUERIES_METER)
+                .tag("method", COMMAND).summary().max());
+        assertEquals(3, meterRegistry.get(CommandMetrics.ROWS_METER)
+                .tag("method", COMMAND).summary().totalAmount());
+
+        Path file = Path.of("target/metrics-test.jsonl");
+        Files.deleteIfExists(file);
+        metricsFileExporter.export();
+        assertTrue(Files.readString(file).contains(COMMAND));
+    }
+
+    @Test
+    @DisplayName("Flag a command that repeats the same query for every row")
+    public void record_RepeatedQueryPerRow_FlagsNPlusOne() {
+        for (int id = 1; id <= HEADS_COUNT; id++) {
+            jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                    + "values (?, ?, 'PROFESSOR', 3000.0)", 100 + id, "Head " + id);
+            jdbcTemplate.update("insert into departments (id, name, head_id) values (?, ?, ?)",
+                    100 + id, "Department " + id, 100 + id);
+        }
+
+        departmentListing.listDepartments();
+
+        assertEquals(1, meterRegistry.get(CommandMetrics.N_PLUS_ONE_METER)
+                .tag("method", "DepartmentListing.listDepartments").counter().count());
+    }
+
+    @Test
+    @DisplayName("Count statements a command runs through JdbcTemplate")
+    public void record_JdbcTemplateStatements_CountsEveryStatement() {
+        departmentListing.renameDepartment(VALID_DEPARTMENT_ID, VALID_DEPARTMENT);
+
+        assertEquals(2, meterRegistry.get(CommandMetrics.QUERIES_METER)
+                .tag("method", "DepartmentListing.renameDepartment").summary().max());
+    }
+
+    @ShellComponent
+    @RequiredArgsConstructor
+    static class DepartmentListing {
+        private final DepartmentRepository departmentRepository;
+        private final EmployeeRepository employeeRepository;
+        private final JdbcTemplate jdbcTemplate;
+
+        public String renameDepartment(Long id, String name) {
+            jdbcTemplate.update("update departments set name = ? where id = ?", name, id);
+            return jdbcTemplate.queryForObject("select name from departments where id = "
+                    + id, String.class);
+        }
+
+        public List<Optional<Employee>> listDepartments() {
+            return departmentRepository.findAll().stream()
+                    .map(department -> employeeRepository
+                            .findByDepartmentAndIsHead(department.getName()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package botscrew.task.registry;
+
+import static botscrew.task.res.TestResources.INVALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.res.Messages;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentRegistryTest {
+    private static final DepartmentRefDto ENGINEERING =
+            new DepartmentRefDto(VALID_DEPARTMENT_ID, VALID_DEPARTMENT, 2L);
+    private static final DepartmentRefDto MATH = new DepartmentRefDto(2L, "Math", 3L);
+    private static final DepartmentRefDto MUSIC = new DepartmentRefDto(3L, "Music", 4L);
+    private static final DepartmentRefDto MUSIK = new DepartmentRefDto(4L, "Musik", 5L);
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @InjectMocks
+    private DepartmentRegistry departmentRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(departmentRepository.findAllRefs()).thenReturn(List.of(ENGINEERING, MATH, MUSIC));
+        departmentRegistry.reload();
+    }
+
+    @Test
+    @DisplayName("Resolve department name regardless of case and surrounding spaces")
+    public void resolve_DifferentCase_ReturnsDepartment() {
+        assertEquals(ENGINEERING, departmentRegistry.resolve(" ENGINEERING "));
+    }
+
+    @Test
+    @DisplayName("Try to resolve name that is equally close to two departments")
+    public void resolve_AmbiguousTypo_ExceptionWithSuggestions() {
+        departmentRegistry.put(MUSIK);
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> departmentRegistry.resolve("Musig"));
+
+        assertTrue(exception.getMessage().startsWith(
+                Messages.CANT_FIND_DEPARTMENT_MESSAGE + "Musig"));
+        assertTrue(exception.getMessage().contains(MUSIC.name()));
+        assertTrue(exception.getMessage().contains(MUSIK.name()));
+    }
+
+    @Test
+    @DisplayName("Try to resolve a typo and get the closest department as a suggestion")
+    public void resolve_Typo_ExceptionWithSuggestion() {
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> departmentRegistry.resolve("Enginering"));
+
+        assertEquals(Messages.CANT_FIND_DEPARTMENT_MESSAGE + "Enginering"
+                + String.format(Messages.DID_YOU_MEAN_MESSAGE, ENGINEERING.name()),
+                exception.getMessage());
+        assertThrows(EntityNotFoundException.class, () -> departmentRegistry.resolve("Mtah"));
+    }
+
+    @Test
+    @DisplayName("Try to resolve unknown department")
+    public void resolve_UnknownDepartment_ExceptionThrown() {
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> departmentRegistry.resolve(INVALID_DEPARTMENT));
+
+        assertEquals(Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT,
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Follow renamed and removed departments")
+    public void put_RenamedDepartment_ReplacesOldName() {
+        departmentRegistry.put(new DepartmentRefDto(MATH.id(), "Mathematics", MATH.headId()));
+        departmentRegistry.remove(MUSIC.id());
+
+        assertTrue(departmentRegistry.find(MATH.name()).isEmpty());
+        assertEquals(MATH.id(), departmentRegistry.find("mathematics").orElseThrow().id());
+        assertTrue(departmentRegistry.find(MUSIC.name()).isEmpty());
+        assertEquals(2, departmentRegistry.size());
+    }
+}
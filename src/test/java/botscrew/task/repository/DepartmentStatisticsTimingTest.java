@@ -0,0 +1,129 @@
+package botscrew.task.repository;
+
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import botscrew.task.dto.DegreeAggregateDto;
+import botscrew.task.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class DepartmentStatisticsTimingTest {
+    private static final int MEMBERS_COUNT = 100_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int from = 1; from <= MEMBERS_COUNT; from += BATCH_SIZE) {
+            int first = from;
+            jdbcTemplate.batchUpdate(
+                    "insert into employees (id, name, degree, salary) values (?, ?, ?, ?)",
+                    IntStream.range(first, first + BATCH_SIZE)
+                            .mapToObj(id -> new Object[]{id, "Employee " + id,
+                                    degreeOf(id).name(), 1000 + id % 1000})
+                            .toList());
+        }
+        jdbcTemplate.update("insert into departments (id, name, head_id) values (1, ?, 1)",
+                VALID_DEPARTMENT);
+        jdbcTemplate.update("insert into employees_departments (employee_id, department_id) "
+                + "select id, 1 from employees");
+        jdbcTemplate.update("insert into department_stats "
+                + "(department_id, degree, member_count, salary_sum) "
+                + "select 1, degree, count(*), sum(salary) from employees group by degree");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Aggregate query needs one round trip instead of one per degree")
+    public void findAggregateByDepartmentId_LargeDepartment_SingleRoundTrip() {
+        Map<Employee.Degree, Long> expected = new EnumMap<>(Employee.Degree.class);
+        for (int id = 1; id <= MEMBERS_COUNT; id++) {
+            expected.merge(degreeOf(id), 1L, Long::sum);
+        }
+
+        Map<Employee.Degree, Long> before = new EnumMap<>(Employee.Degree.class);
+        Map<Employee.Degree, Long> after = new EnumMap<>(Employee.Degree.class);
+        Measurement perDegree = measure(() -> {
+            departmentRepository.existsByName(VALID_DEPARTMENT);
+            for (Employee.Degree degree : Employee.Degree.values()) {
+                before.put(degree, (long) employeeRepository
+                        .countByDepartmentAndDegree(VALID_DEPARTMENT, degree));
+            }
+        });
+        Measurement aggregate = measure(() -> {
+            for (DegreeAggregateDto degreeAggregate
+                    : employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID)) {
+                after.put(degreeAggregate.degree(), degreeAggregate.count());
+            }
+        });
+        log.info("Statistics of {} members: per-degree {} round trips, {} ms; "
+                        + "aggregate {} round trips, {} ms",
+                MEMBERS_COUNT, perDegree.roundTrips(), perDegree.millis(),
+                aggregate.roundTrips(), aggregate.millis());
+
+        assertEquals(expected, before);
+        assertEquals(expected, after);
+        assertEquals(Employee.Degree.values().length + 1, perDegree.roundTrips());
+        assertEquals(1, aggregate.roundTrips());
+    }
+
+    private Measurement measure(Runnable statisticsQuery) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            statisticsQuery.run();
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            statisticsQuery.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Measurement(statistics.getPrepareStatementCount() / MEASURED_ROUNDS,
+                elapsed / MEASURED_ROUNDS / 1_000_000.0);
+    }
+
+    private static Employee.Degree degreeOf(int id) {
+        Employee.Degree[] degrees = Employee.Degree.values();
+        return degrees[id % degrees.length];
+    }
+
+    private record Measurement(long roundTrips, double millis) {
+    }
+}
@@ -2,22 +2,31 @@ package botscrew.task.repository;
 
 import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
 import static botscrew.task.res.TestResources.INVALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.INVALID_DEPARTMENT_ID;
 import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
 import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
 import static botscrew.task.res.TestResources.expectedHead;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import botscrew.task.dto.DegreeAggregateDto;
 import botscrew.task.model.Employee;
 import botscrew.task.res.TestResources;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -26,6 +35,9 @@ class EmployeeRepositoryTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("Find existing head of correct department")
     @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
@@ -83,6 +95,91 @@ class EmployeeRepositoryTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Find aggregate of correct department")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAggregateByDepartmentId_CorrectData_ReturnsAggregatePerDegree() {
+        Set<DegreeAggregateDto> expected = Set.of(
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.ASSISTANT,
+                        1, new BigDecimal("1000.00")),
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.ASSOCIATE_PROFESSOR,
+                        1, new BigDecimal("2000.00")),
+                new DegreeAggregateDto(VALID_DEPARTMENT_ID, expectedHead.getId(),
+                        expectedHead.getName(), Employee.Degree.PROFESSOR,
+                        1, new BigDecimal("3600.00")));
+
+        Set<DegreeAggregateDto> actual = Set.copyOf(
+                employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Find aggregate of incorrect department")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAggregateByDepartmentId_IncorrectDepartment_ReturnsEmptyList() {
+        assertTrue(employeeRepository.findAggregateByDepartmentId(INVALID_DEPARTMENT_ID)
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Find aggregate of department without members")
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAggregateByDepartmentId_NoMembers_ReturnsSingleEmptyRow() {
+        jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                + "values (1, 'Bob Marley', 'ASSISTANT', 1000.0)");
+        jdbcTemplate.update("insert into departments (id, name, head_id) values (1, ?, 1)",
+                VALID_DEPARTMENT);
+
+        List<DegreeAggregateDto> actual =
+                employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID);
+
+        assertEquals(List.of(new DegreeAggregateDto(VALID_DEPARTMENT_ID, null, null,
+                null, 0, null)), actual);
+    }
+
+    @Test
+    @DisplayName("Don't report head of department who isn't its member")
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAggregateByDepartmentId_HeadNotMember_ReturnsNoHead() {
+        jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                + "values (1, 'Bob Marley', 'ASSISTANT', 1000.0)");
+        jdbcTemplate.update("insert into departments (id, name, head_id) values (1, ?, 1)",
+                VALID_DEPARTMENT);
+        jdbcTemplate.update("insert into departments (id, name, head_id) values (2, 'Physics', 1)");
+        jdbcTemplate.update("insert into employees_departments (employee_id, department_id) "
+                + "values (1, 2)");
+
+        List<DegreeAggregateDto> actual =
+                employeeRepository.findAggregateByDepartmentId(VALID_DEPARTMENT_ID);
+
+        assertEquals(List.of(new DegreeAggregateDto(VALID_DEPARTMENT_ID, null, null,
+                null, 0, null)), actual);
+        assertTrue(employeeRepository.findByDepartmentAndIsHead(VALID_DEPARTMENT).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Find aggregates of several departments in one query")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findAggregateByDepartmentIds_MixedIds_ReturnsOnlyExistingDepartments() {
+        List<DegreeAggregateDto> actual = employeeRepository.findAggregateByDepartmentIds(
+                List.of(VALID_DEPARTMENT_ID, INVALID_DEPARTMENT_ID));
+
+        assertEquals(3, actual.size());
+        assertTrue(actual.stream()
+                .allMatch(row -> VALID_DEPARTMENT_ID.equals(row.departmentId())));
+    }
+
     @Test
     @DisplayName("Finds average salary in correct department")
     @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
@@ -106,17 +203,38 @@ class EmployeeRepositoryTest {
     }
 
     @Test
-    @DisplayName("Finds all by name part")
+    @DisplayName("Finds names by name part")
     @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
             executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
     @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
-    public void findAllByNameContains_CorrectData_ReturnsEmployeeList() {
+    public void findNamesByNameContains_CorrectData_ReturnsNames() {
         String namePart = "lice";
-        List<Employee> expected = List.of(expectedHead);
+        List<String> expected = List.of(expectedHead.getName());
 
-        List<Employee> actual = employeeRepository.findAllByNameContains(namePart);
+        Slice<String> actual = employeeRepository.findNamesByNameContains(namePart,
+                PageRequest.of(0, 10));
 
-        assertEquals(expected, actual);
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    @DisplayName("Finds names by name part page by page")
+    @Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    public void findNamesByNameContains_SecondPage_ReturnsNextNames() {
+        String namePart = "e";
+
+        Slice<String> first = employeeRepository.findNamesByNameContains(namePart,
+                PageRequest.of(0, 2));
+        Slice<String> second = employeeRepository.findNamesByNameContains(namePart,
+                PageRequest.of(1, 2));
+
+        assertEquals(List.of("Alice Cooper", "Bob Marley"), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Elvis Presley"), second.getContent());
+        assertFalse(second.hasNext());
     }
 
     @Test
@@ -0,0 +1,89 @@
+package botscrew.task.repository;
+
+import static botscrew.task.res.TestResources.ADD_TWENTY_EMPLOYEES_OF_FIVE_DEPARTMENTS;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import botscrew.task.model.Department;
+import botscrew.task.model.Employee;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_TWENTY_EMPLOYEES_OF_FIVE_DEPARTMENTS},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class FetchPlanTest {
+    private static final List<Long> EMPLOYEE_IDS = LongStream.rangeClosed(1, 20).boxed().toList();
+    private static final int DEPARTMENTS_COUNT = 5;
+    private static final int MEMBERSHIPS_COUNT = 36;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Walk departments of lazily loaded employees in batches, not one by one")
+    public void findAllById_WalkDepartments_BatchFetched() {
+        List<Employee> employees = employeeRepository.findAllById(EMPLOYEE_IDS);
+
+        assertEquals(MEMBERSHIPS_COUNT, countMemberships(employees));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Load departments without their heads")
+    public void findAll_LazyHead_SingleStatement() {
+        List<Department> departments = departmentRepository.findAll();
+
+        assertEquals(DEPARTMENTS_COUNT, departments.size());
+        departments.forEach(department -> assertFalse(Hibernate.isInitialized(
+                department.getHead())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        departments.forEach(department -> department.getHead().getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Walk employees of several departments with one subselect")
+    public void findAll_WalkEmployees_SingleSubselect() {
+        List<Department> departments = departmentRepository.findAll();
+
+        long members = departments.stream().mapToLong(d -> d.getEmployees().size()).sum();
+
+        assertEquals(MEMBERSHIPS_COUNT, members);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private static long countMemberships(List<Employee> employees) {
+        return employees.stream().mapToLong(e -> e.getDepartments().size()).sum();
+    }
+}
@@ -0,0 +1,204 @@
+package botscrew.task.repository;
+
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.history.SalaryHistory;
+import botscrew.task.model.Employee;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.jdbc.Sql;
+
+// plans are taken of the statements the repositories and writers actually run
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanTest.StatementCapture.class)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class QueryPlanTest {
+    private static final int DEPARTMENTS_COUNT = 100;
+    private static final int SMALL_MEMBERS_PER_DEPARTMENT = 10;
+    private static final int LARGE_MEMBERS_PER_DEPARTMENT = 1_000;
+    private static final int HISTORY_MONTHS = 12;
+    private static final Long DEPARTMENT_ID = 42L;
+    private static final Long EMPLOYEE_ID = 424L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Test
+    @DisplayName("Read department aggregate by department id from stats and link table")
+    public void explain_DepartmentAggregate_SeeksByDepartmentId() {
+        seed(LARGE_MEMBERS_PER_DEPARTMENT);
+        jdbcTemplate.update("insert into department_stats "
+                + "(department_id, degree, member_count, salary_sum) "
+                + "select ed.department_id, e.degree, count(*), sum(e.salary) "
+                + "from employees_departments ed join employees e on e.id = ed.employee_id "
+                + "group by ed.department_id, e.degree");
+        jdbcTemplate.execute("analyze");
+
+        String sql = statementCapture.single(
+                () -> employeeRepository.findAggregateByDepartmentId(DEPARTMENT_ID));
+
+        assertPlanMatches(sql, List.of(DEPARTMENT_ID),
+                "\"DEPARTMENT_STATS\" \"\\w+\"\\s+/\\* PUBLIC\\.\\w+: "
+                        + "DEPARTMENT_ID = \\w+\\.ID \\*/",
+                "\"EMPLOYEES_DEPARTMENTS\" \"\\w+\"\\s+/\\* PUBLIC\\.PRIMARY_KEY_\\w*: "
+                        + "DEPARTMENT_ID = \\w+\\.ID\\s+AND EMPLOYEE_ID = \\w+\\.HEAD_ID");
+    }
+
+    @Test
+    @DisplayName("Load employee departments through reverse link table index")
+    public void explain_EmployeeDepartments_UsesReverseIndex() {
+        seed(SMALL_MEMBERS_PER_DEPARTMENT);
+        Employee employee = employeeRepository.findById(EMPLOYEE_ID).orElseThrow();
+
+        String sql = statementCapture.single(() -> employee.getDepartments().size());
+
+        assertPlanMatches(sql, List.of(EMPLOYEE_ID), "IDX_EMPLOYEES_DEPARTMENTS_EMPLOYEE");
+    }
+
+    @Test
+    @DisplayName("Search names in name order through name index when index is disabled")
+    public void explain_NamesByNameContains_ReadsNameIndexInOrder() {
+        seed(SMALL_MEMBERS_PER_DEPARTMENT);
+
+        String sql = statementCapture.single(() -> employeeRepository.findNamesByNameContains(
+                "ployee 42", PageRequest.of(0, 10)));
+
+        assertPlanMatches(sql, List.of("ployee 42", 0, 11), "IDX_EMPLOYEES_NAME",
+                "index sorted");
+    }
+
+    @Test
+    @DisplayName("Resolve subtree members from closure table instead of scanning employees")
+    public void explain_SubtreeTotals_StartsFromClosureTable() {
+        seed(SMALL_MEMBERS_PER_DEPARTMENT);
+        jdbcTemplate.update("insert into department_closure (ancestor_id, descendant_id, depth) "
+                + "select id, id, 0 from departments");
+        jdbcTemplate.execute("analyze");
+
+        String sql = statementCapture.single(
+                () -> employeeRepository.findTotalsBySubtreeGroupByDegree(DEPARTMENT_ID));
+
+        assertPlanMatches(sql, List.of(DEPARTMENT_ID),
+                "DEPARTMENT_CLOSURE \\w+\\s+/\\* PUBLIC\\.PRIMARY_KEY_\\w*: ANCESTOR_ID = ");
+    }
+
+    @Test
+    @DisplayName("Find later salary rows of a member through member index")
+    public void explain_SalaryAsOf_SeeksLaterRowsOfMember() {
+        seed(SMALL_MEMBERS_PER_DEPARTMENT);
+        for (int month = 1; month <= HISTORY_MONTHS; month++) {
+            jdbcTemplate.update("insert into salary_history "
+                    + "(department_id, employee_id, degree, salary, effective_from) "
+                    + "select ed.department_id, e.id, e.degree, e.salary + ?, ? "
+                    + "from employees_departments ed join employees e on e.id = ed.employee_id",
+                    month, String.format("2025-%02d-15 12:00:00", month));
+        }
+        jdbcTemplate.execute("analyze");
+        List<String> statements = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        JdbcTemplate recording = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                statements.add(sql);
+                parameters.addAll(List.of(args));
+                return super.query(sql, rowMapper, args);
+            }
+        };
+
+        new SalaryHistory(recording).totalsAsOf(DEPARTMENT_ID,
+                Instant.parse("2025-06-01T00:00:00Z"));
+
+        assertEquals(1, statements.size());
+        assertPlanMatches(statements.get(0), parameters,
+                "IDX_SALARY_HISTORY_MEMBER: EFFECTIVE_FROM < .*"
+                        + "\\s+AND EFFECTIVE_FROM >= H\\.EFFECTIVE_FROM"
+                        + "\\s+AND DEPARTMENT_ID = H\\.DEPARTMENT_ID"
+                        + "\\s+AND EMPLOYEE_ID = H\\.EMPLOYEE_ID");
+    }
+
+    private void seed(int membersPerDepartment) {
+        int employeesCount = DEPARTMENTS_COUNT * membersPerDepartment;
+        Employee.Degree[] degrees = Employee.Degree.values();
+        jdbcTemplate.batchUpdate(
+                "insert into employees (id, name, degree, salary) values (?, ?, ?, ?)",
+                IntStream.rangeClosed(1, employeesCount)
+                        .mapToObj(id -> new Object[]{id, "Employee " + id,
+                                degrees[id % degrees.length].name(), 1000 + id % 1000})
+                        .toList());
+        jdbcTemplate.batchUpdate("insert into departments (id, name, head_id) values (?, ?, ?)",
+                IntStream.rangeClosed(1, DEPARTMENTS_COUNT)
+                        .mapToObj(id -> new Object[]{id, "Department " + id, id})
+                        .toList());
+        jdbcTemplate.update("insert into employees_departments (employee_id, department_id) "
+                + "select id, mod(id, " + DEPARTMENTS_COUNT + ") + 1 from employees");
+        jdbcTemplate.execute("analyze");
+        entityManager.clear();
+    }
+
+    private void assertPlanMatches(String query, List<?> parameters, String... indexUsages) {
+        String plan = String.join(System.lineSeparator(), jdbcTemplate.queryForList(
+                "explain " + query, String.class, parameters.toArray()));
+        log.info("Plan of {}:{}{}", query, System.lineSeparator(), plan);
+        for (String indexUsage : indexUsages) {
+            assertTrue(Pattern.compile(indexUsage).matcher(plan).find(), plan);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCapture implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized String single(Runnable action) {
+            statements.clear();
+            action.run();
+            assertFalse(statements.isEmpty());
+            assertEquals(1, statements.size(), statements::toString);
+            return statements.get(0);
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+    }
+}
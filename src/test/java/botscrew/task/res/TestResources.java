@@ -1,28 +1,45 @@
 package botscrew.task.res;
 
+import botscrew.task.cache.DepartmentAggregate;
 import botscrew.task.model.Department;
 import botscrew.task.model.Employee;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
 import java.util.Set;
 
 public record TestResources() {
     public static final String ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD =
             "classpath:database/add_three_employees_of_same_department_with_head.sql";
+    public static final String ADD_SALARY_HISTORY =
+            "classpath:database/add_salary_history.sql";
+    public static final String ADD_DEPARTMENT_TREE =
+            "classpath:database/add_department_tree.sql";
+    public static final String ADD_TWENTY_EMPLOYEES_OF_FIVE_DEPARTMENTS =
+            "classpath:database/add_twenty_employees_of_five_departments.sql";
     public static final String REMOVE_ALL_EMPLOYEES =
             "classpath:database/remove_all_employees.sql";
+    public static final String REMOVE_IMPORT_PROGRESS =
+            "classpath:database/remove_import_progress.sql";
+    // for classes whose scripts rewrite rows behind Hibernate between test methods
+    public static final String NO_SECOND_LEVEL_CACHE =
+            "spring.jpa.properties.hibernate.cache.use_second_level_cache=false";
     public static final String VALID_DEPARTMENT = "Engineering";
     public static final String INVALID_DEPARTMENT = "Dancing";
+    public static final Long VALID_DEPARTMENT_ID = 1L;
+    public static final Long INVALID_DEPARTMENT_ID = 99L;
     public static final int PROFESSORS_COUNT = 1;
     public static final int ASSOCIATE_PROFESSORS_COUNT = 2;
     public static final int ASSISTANTS_COUNT = 3;
     public static final int DEPARTMENT_COUNT = 6;
     public static final BigDecimal EXPECTED_AVERAGE_SALARY = BigDecimal.valueOf(2200);
+    public static final BigDecimal EXPECTED_SALARY_SUM = BigDecimal.valueOf(13200);
     public static final String INVALID_PART = "sdgdfgsdfg";
     public static final String SPECIFIC_PART = "Alice";
     public static final String NOT_SPECIFIC_PART = "a";
     public static final Employee expectedHead = new Employee();
     public static final Employee secondEmployee = new Employee();
+    public static final DepartmentAggregate expectedAggregate;
 
     static {
         expectedHead.setId(2L);
@@ -38,5 +55,11 @@ public record TestResources() {
         department.setName(VALID_DEPARTMENT);
         secondEmployee.setDepartments(Set.of(department));
         secondEmployee.setSalary(BigDecimal.valueOf(1000.0).setScale(2, RoundingMode.HALF_UP));
+
+        expectedAggregate = new DepartmentAggregate(expectedHead.getId(), expectedHead.getName(),
+                Map.of(Employee.Degree.ASSISTANT, (long) ASSISTANTS_COUNT,
+                        Employee.Degree.ASSOCIATE_PROFESSOR, (long) ASSOCIATE_PROFESSORS_COUNT,
+                        Employee.Degree.PROFESSOR, (long) PROFESSORS_COUNT),
+                EXPECTED_SALARY_SUM);
     }
 }
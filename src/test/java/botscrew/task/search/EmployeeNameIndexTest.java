@@ -0,0 +1,223 @@
+package botscrew.task.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.dto.EmployeeNameDto;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.repository.EmployeeRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class EmployeeNameIndexTest {
+    private static final int LOAD_BATCH_SIZE = 2;
+    private static final int COMPACTION_THRESHOLD = 3;
+    private static final int LARGE_INDEX_SIZE = 1_000_000;
+    private static final int MEASURED_SEARCHES = 1_000;
+    private static final String[] FIRST_NAMES =
+            {"Ivan", "Peter", "Alice", "Bob", "Elvis", "Olena", "Taras", "Marta"};
+    private static final String[] LAST_NAMES =
+            {"Petrov", "Ivanov", "Cooper", "Marley", "Presley", "Shevchenko", "Franko"};
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    @DisplayName("Find names by trigrams ignoring case, sorted by name")
+    public void search_TrigramPart_ReturnsSortedNames() {
+        EmployeeNameIndex index = indexOf(
+                new EmployeeNameDto(1L, "Peter Ivanov"),
+                new EmployeeNameDto(2L, "Ivan Petrov"),
+                new EmployeeNameDto(3L, "Alice Cooper"));
+
+        assertEquals(List.of("Ivan Petrov", "Peter Ivanov"), names(index, "VAN"));
+        assertEquals(List.of("Alice Cooper"), names(index, "lice"));
+        assertTrue(names(index, "sdgdfgsdfg").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Find names by part shorter than a trigram")
+    public void search_ShortPart_ReturnsSortedNames() {
+        EmployeeNameIndex index = indexOf(
+                new EmployeeNameDto(1L, "Peter Ivanov"),
+                new EmployeeNameDto(2L, "Bob Marley"),
+                new EmployeeNameDto(3L, "Alice Cooper"));
+
+        assertEquals(List.of("Alice Cooper", "Bob Marley", "Peter Ivanov"), names(index, "r"));
+        assertEquals(List.of("Bob Marley"), names(index, "ar"));
+    }
+
+    @Test
+    @DisplayName("Reflect added, renamed and removed employees with and without compaction")
+    public void search_AfterChanges_ReturnsCurrentNames() {
+        EmployeeNameIndex index = indexOf(
+                new EmployeeNameDto(1L, "Peter Ivanov"),
+                new EmployeeNameDto(2L, "Ivan Petrov"));
+
+        index.put(3L, "Ivanna Franko");
+        index.put(1L, "Peter Smith");
+        assertEquals(List.of("Ivan Petrov", "Ivanna Franko"), names(index, "ivan"));
+
+        index.remove(2L);
+        assertEquals(List.of("Ivanna Franko"), names(index, "ivan"));
+        assertEquals(List.of("Peter Smith"), names(index, "smith"));
+    }
+
+    @Test
+    @DisplayName("Answer substring searches over a million names")
+    public void search_LargeIndex_ReturnsMatches() {
+        List<EmployeeNameDto> employees = new ArrayList<>(LARGE_INDEX_SIZE);
+        LongStream.rangeClosed(1, LARGE_INDEX_SIZE).forEach(id -> employees.add(
+                new EmployeeNameDto(id, FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[(int) (id / FIRST_NAMES.length % LAST_NAMES.length)]
+                        + " " + id)));
+        when(employeeRepository.findNamesAfterId(anyLong(), any(Pageable.class)))
+                .thenReturn(employees)
+                .thenReturn(Collections.emptyList());
+        EmployeeNameIndex index =
+                new EmployeeNameIndex(employeeRepository, true, LARGE_INDEX_SIZE,
+                        COMPACTION_THRESHOLD);
+        index.rebuild();
+
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            names(index, "Franko " + (LARGE_INDEX_SIZE - i));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            names(index, "Shevchenko " + (LARGE_INDEX_SIZE - i));
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_SEARCHES;
+        log.info("Selective search over {} names took {} us on average", LARGE_INDEX_SIZE, micros);
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_SEARCHES; i++) {
+            names(index, "xy");
+        }
+        micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_SEARCHES;
+        log.info("Two-letter search without matches over {} names took {} us on average",
+                LARGE_INDEX_SIZE, micros);
+
+        String expected = employees.get(LARGE_INDEX_SIZE - 1).name();
+        assertEquals(List.of(expected), names(index, expected));
+        assertTrue(names(index, "xy").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Return requested page of names and flag further pages")
+    public void search_SecondPage_ReturnsNextNames() {
+        EmployeeNameIndex index = indexOf(
+                new EmployeeNameDto(1L, "Peter Ivanov"),
+                new EmployeeNameDto(2L, "Ivan Petrov"),
+                new EmployeeNameDto(3L, "Alice Cooper"));
+        index.put(4L, "Bob Marley");
+
+        NamePageDto first = index.search("r", PageRequest.of(0, 2));
+        NamePageDto second = index.search("r", PageRequest.of(1, 2));
+
+        assertEquals(new NamePageDto(List.of("Alice Cooper", "Bob Marley"), true), first);
+        assertEquals(new NamePageDto(List.of("Ivan Petrov", "Peter Ivanov"), false), second);
+    }
+
+    @Test
+    @DisplayName("Answer pages far beyond the last name without overflowing")
+    public void search_HugePage_ReturnsAvailableNames() {
+        EmployeeNameIndex index = indexOf(
+                new EmployeeNameDto(1L, "Peter Ivanov"),
+                new EmployeeNameDto(2L, "Ivan Petrov"));
+
+        NamePageDto first = index.search("van", PageRequest.of(0, Integer.MAX_VALUE));
+        NamePageDto third = index.search("van", PageRequest.of(2, Integer.MAX_VALUE));
+
+        assertEquals(new NamePageDto(List.of("Ivan Petrov", "Peter Ivanov"), false), first);
+        assertEquals(new NamePageDto(List.of(), false), third);
+    }
+
+    @Test
+    @DisplayName("Search names in database when index is disabled")
+    public void search_IndexDisabled_QueriesRepository() {
+        EmployeeNameIndex index = new EmployeeNameIndex(employeeRepository, false,
+                LOAD_BATCH_SIZE, COMPACTION_THRESHOLD);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(employeeRepository.findNamesByNameContains("van", pageable))
+                .thenReturn(new SliceImpl<>(List.of("Ivan Petrov"), pageable, true));
+
+        index.rebuild();
+        NamePageDto actual = index.search("van", pageable);
+
+        assertEquals(new NamePageDto(List.of("Ivan Petrov"), true), actual);
+        verify(employeeRepository).findNamesByNameContains("van", pageable);
+        verifyNoMoreInteractions(employeeRepository);
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Wait for a rebuild in progress instead of loading names twice")
+    public void search_DuringBackgroundRebuild_LoadsNamesOnce() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeRepository.findNamesAfterId(eq(0L), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return List.of(new EmployeeNameDto(1L, "Ivan Petrov"));
+                });
+        EmployeeNameIndex index = new EmployeeNameIndex(employeeRepository, true,
+                LOAD_BATCH_SIZE, COMPACTION_THRESHOLD);
+        Thread warmup = new Thread(index::rebuild);
+        warmup.start();
+        loading.await();
+
+        List<List<String>> found = new CopyOnWriteArrayList<>();
+        Thread search = new Thread(() -> found.add(names(index, "ivan")));
+        search.start();
+        while (search.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        warmup.join();
+        search.join();
+
+        assertEquals(List.of(List.of("Ivan Petrov")), found);
+        verify(employeeRepository).findNamesAfterId(eq(0L), any(Pageable.class));
+    }
+
+    private EmployeeNameIndex indexOf(EmployeeNameDto... employees) {
+        List<EmployeeNameDto> all = List.of(employees);
+        for (int from = 0; from <= all.size(); from += LOAD_BATCH_SIZE) {
+            long lastId = from == 0 ? 0 : all.get(from - 1).id();
+            when(employeeRepository.findNamesAfterId(eq(lastId), any(Pageable.class)))
+                    .thenReturn(all.subList(from, Math.min(from + LOAD_BATCH_SIZE, all.size())));
+        }
+        EmployeeNameIndex index =
+                new EmployeeNameIndex(employeeRepository, true, LOAD_BATCH_SIZE,
+                        COMPACTION_THRESHOLD);
+        index.rebuild();
+        return index;
+    }
+
+    private static List<String> names(EmployeeNameIndex index, String namePart) {
+        return index.search(namePart, PageRequest.of(0, Integer.MAX_VALUE / 2)).names();
+    }
+}
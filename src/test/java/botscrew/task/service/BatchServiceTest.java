@@ -0,0 +1,174 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.INVALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.batch.CommandRegistry;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.dto.NamePageDto;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.impl.BatchServiceImpl;
+import botscrew.task.service.impl.EmployeeServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BatchServiceImpl.class, CommandRegistry.class, EmployeeServiceImpl.class,
+        DepartmentAggregateCache.class, DepartmentRegistry.class})
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BatchServiceTest {
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @MockBean
+    private SalaryHistoryService salaryHistoryService;
+
+    @MockBean
+    private DepartmentTreeService departmentTreeService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        departmentRegistry.reload();
+        departmentAggregateCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Answer every command of a file in order with one aggregate query")
+    public void runFile_MixedCommands_ResolvesDepartmentsInBulk() throws IOException {
+        when(employeeNameIndex.search(eq("Alice"), any()))
+                .thenReturn(new NamePageDto(List.of("Alice Cooper"), false));
+        Path file = Files.write(directory.resolve("report.txt"), List.of(
+                "# nightly report",
+                "Who is head of department " + VALID_DEPARTMENT,
+                "Show count of employee for " + VALID_DEPARTMENT,
+                "",
+                "Show " + INVALID_DEPARTMENT + " statistics",
+                "Global search by Alice",
+                "Fire everyone"));
+        List<String> output = new ArrayList<>();
+
+        String actual = batchService.runFile(file.toString(), output::add);
+
+        assertEquals(List.of(
+                "> Who is head of department " + VALID_DEPARTMENT,
+                String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE, VALID_DEPARTMENT,
+                        "Alice Cooper"),
+                "> Show count of employee for " + VALID_DEPARTMENT,
+                "3",
+                "> Show " + INVALID_DEPARTMENT + " statistics",
+                Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT,
+                "> Global search by Alice",
+                "Alice Cooper",
+                "> Fire everyone",
+                Messages.UNKNOWN_BATCH_COMMAND_MESSAGE + "Fire everyone"), output);
+        assertEquals(String.format(Messages.BATCH_COMPLETED_MESSAGE, 5, 2), actual);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Read the aggregates of a report in the batch's own read-only transaction")
+    public void runDepartmentReport_UncachedDepartment_LoadsInOneTransaction() {
+        List<String> output = new ArrayList<>();
+
+        batchService.runDepartmentReport(List.of(VALID_DEPARTMENT), output::add);
+
+        assertEquals(1, statistics.getTransactionCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Run subtree, history and move commands from a file, moves in their own writes")
+    public void runFile_TreeAndHistoryCommands_AnsweredByTheirServices() throws IOException {
+        when(departmentTreeService.showSubtreeCount(VALID_DEPARTMENT)).thenReturn("5");
+        when(salaryHistoryService.showSalaryHistory(VALID_DEPARTMENT, "2024-01", "2024-02"))
+                .thenReturn("2024-01 - 2200.00");
+        when(departmentTreeService.moveDepartment("Robotics", "Computer Science"))
+                .thenAnswer(invocation -> TransactionSynchronizationManager
+                        .isCurrentTransactionReadOnly() ? "Read-only" : "Moved");
+        Path file = Files.write(directory.resolve("tree.txt"), List.of(
+                "Show count of employee for subtree " + VALID_DEPARTMENT,
+                "Show salary history for " + VALID_DEPARTMENT + " --from 2024-01 --to=2024-02",
+                "Move department Robotics --under \"Computer Science\"",
+                "Show count of employee for " + VALID_DEPARTMENT + " --as-of 2024-01-31"));
+        List<String> output = new ArrayList<>();
+
+        String actual = batchService.runFile(file.toString(), output::add);
+
+        assertEquals(List.of("5", "2024-01 - 2200.00", "Moved",
+                Messages.UNKNOWN_BATCH_COMMAND_MESSAGE + "Show count of employee for "
+                        + VALID_DEPARTMENT + " --as-of 2024-01-31"),
+                List.of(output.get(1), output.get(3), output.get(5), output.get(7)));
+        assertEquals(String.format(Messages.BATCH_COMPLETED_MESSAGE, 4, 1), actual);
+    }
+
+    @Test
+    @DisplayName("Run all department commands for a list of departments")
+    public void runDepartmentReport_TwoDepartments_AnswersFourCommandsEach() {
+        List<String> output = new ArrayList<>();
+
+        final String actual = batchService.runDepartmentReport(
+                List.of(VALID_DEPARTMENT, INVALID_DEPARTMENT), output::add);
+
+        assertEquals(16, output.size());
+        assertEquals("> Show " + VALID_DEPARTMENT + " statistics", output.get(2));
+        assertEquals(String.format(Messages.AVERAGE_SALARY_MESSAGE, VALID_DEPARTMENT,
+                "2200.00"), output.get(5));
+        assertEquals(String.format(Messages.BATCH_COMPLETED_MESSAGE, 8, 4), actual);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
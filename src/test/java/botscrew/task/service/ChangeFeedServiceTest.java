@@ -0,0 +1,65 @@
+package botscrew.task.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.changes.ChangeEntity;
+import botscrew.task.changes.ChangeEvent;
+import botscrew.task.changes.ChangeFeed;
+import botscrew.task.changes.ChangeOperation;
+import botscrew.task.res.Messages;
+import botscrew.task.service.impl.ChangeFeedServiceImpl;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+    private static final Instant CHANGED_AT = Instant.parse("2024-03-01T10:15:30Z");
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    @InjectMocks
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @Test
+    @DisplayName("Show one line per change with membership departments")
+    public void showChanges_ChangesExist_ReturnsLines() {
+        when(changeFeed.read(10, 2)).thenReturn(List.of(
+                new ChangeEvent(11, ChangeEntity.EMPLOYEE, ChangeOperation.UPDATE, 4, null,
+                        CHANGED_AT),
+                new ChangeEvent(12, ChangeEntity.MEMBERSHIP, ChangeOperation.INSERT, 4, 2L,
+                        CHANGED_AT)));
+
+        String actual = changeFeedService.showChanges(10, 2);
+
+        assertEquals("11 2024-03-01T10:15:30Z UPDATE EMPLOYEE 4" + System.lineSeparator()
+                + "12 2024-03-01T10:15:30Z INSERT MEMBERSHIP employee 4 in department 2", actual);
+    }
+
+    @Test
+    @DisplayName("Show the latest sequence when there are no newer changes")
+    public void showChanges_NoChanges_ReturnsLatestSequence() {
+        when(changeFeed.read(12, 100)).thenReturn(List.of());
+        when(changeFeed.latestSequence()).thenReturn(12L);
+
+        assertEquals(String.format(Messages.NO_CHANGES_MESSAGE, 12, 12),
+                changeFeedService.showChanges(12, 100));
+    }
+
+    @Test
+    @DisplayName("Reject negative sequence and non-positive limit")
+    public void showChanges_InvalidRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.showChanges(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.showChanges(0, 0));
+        verifyNoInteractions(changeFeed);
+    }
+}
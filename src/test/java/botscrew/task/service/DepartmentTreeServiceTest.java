@@ -0,0 +1,157 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_DEPARTMENT_TREE;
+import static botscrew.task.res.TestResources.NO_SECOND_LEVEL_CACHE;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.service.impl.DepartmentTreeServiceImpl;
+import botscrew.task.tree.DepartmentTreeListener;
+import botscrew.task.tree.DepartmentTreeUpdater;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = NO_SECOND_LEVEL_CACHE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DepartmentTreeServiceImpl.class, DepartmentRegistry.class, DepartmentTreeUpdater.class,
+        DepartmentTreeListener.class})
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_DEPARTMENT_TREE},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class DepartmentTreeServiceTest {
+    private static final String REJECTED = "rejected";
+    private static final long MOVE_TIMEOUT_SECONDS = 30;
+    private static final String CLOSURE_SQL = "SELECT CONCAT(ancestor_id, '>', descendant_id, "
+            + "':', depth) FROM department_closure ORDER BY ancestor_id, descendant_id";
+
+    @Autowired
+    private DepartmentTreeService departmentTreeService;
+
+    @Autowired
+    private DepartmentTreeUpdater departmentTreeUpdater;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        departmentTreeUpdater.rebuild();
+        departmentRegistry.reload();
+    }
+
+    @Test
+    @DisplayName("Count every employee of the subtree once, even with several memberships")
+    public void findSubtreeCounts_NestedDepartments_CountsDistinctEmployees() {
+        DepartmentCountsDto actual = departmentTreeService.findSubtreeCounts("Science");
+
+        assertEquals(4, actual.count());
+        assertEquals(1, actual.count(Employee.Degree.ASSISTANT));
+        assertEquals(2, actual.count(Employee.Degree.ASSOCIATE_PROFESSOR));
+        assertEquals(1, actual.count(Employee.Degree.PROFESSOR));
+        assertEquals(new BigDecimal("2275.00"), actual.averageSalary());
+        assertEquals("3", departmentTreeService.showSubtreeCount("Physics"));
+        assertEquals("The average salary of Physics is 1833.33",
+                departmentTreeService.showSubtreeAverageSalary("Physics"));
+    }
+
+    @Test
+    @DisplayName("Move the whole subtree under its new parent")
+    public void moveDepartment_NewParent_MovesSubtree() {
+        departmentTreeService.moveDepartment("Physics", "Arts");
+        departmentRepository.flush();
+
+        assertEquals(4, departmentTreeService.findSubtreeCounts("Arts").count());
+        assertEquals(1, departmentTreeService.findSubtreeCounts("Science").count());
+        assertEquals(List.of("1>1:0", "2>2:0", "2>3:1", "3>3:0", "4>2:1", "4>3:2", "4>4:0"),
+                closure());
+    }
+
+    @Test
+    @DisplayName("Keep the closure table equal to one rebuilt from parents")
+    public void moveDepartment_SeveralMoves_MatchesRebuild() {
+        departmentTreeService.moveDepartment("Optics Lab", "Arts");
+        departmentTreeService.moveDepartment("Arts", "Physics");
+        departmentTreeService.moveDepartment("Physics", null);
+        departmentRepository.flush();
+        List<String> incremental = closure();
+
+        departmentTreeUpdater.rebuild();
+
+        assertEquals(closure(), incremental);
+        assertEquals(4, departmentTreeService.findSubtreeCounts("Physics").count());
+    }
+
+    @Test
+    @DisplayName("Reject moving a department under its own subtree")
+    public void moveDepartment_UnderDescendant_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentTreeService.moveDepartment("Science", "Optics Lab"));
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentTreeService.moveDepartment("Physics", "Physics"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Let only one of two concurrent moves that would form a cycle through")
+    public void moveDepartment_ConcurrentOppositeMoves_OneRejected() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier start = new CyclicBarrier(2);
+        List<Future<String>> moves = new ArrayList<>();
+        try {
+            moves.add(executor.submit(() -> move(start, "Physics", "Arts")));
+            moves.add(executor.submit(() -> move(start, "Arts", "Physics")));
+            List<String> answers = new ArrayList<>();
+            for (Future<String> move : moves) {
+                answers.add(move.get(MOVE_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, answers.stream().filter(REJECTED::equals).count());
+            assertNull(departmentTreeUpdater.findCycleMember());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String move(CyclicBarrier start, String departmentName, String parentName)
+            throws Exception {
+        start.await();
+        try {
+            return departmentTreeService.moveDepartment(departmentName, parentName);
+        } catch (IllegalArgumentException e) {
+            return REJECTED;
+        }
+    }
+
+    private List<String> closure() {
+        return jdbcTemplate.queryForList(CLOSURE_SQL, String.class);
+    }
+}
@@ -10,22 +10,33 @@ import static botscrew.task.res.TestResources.NOT_SPECIFIC_PART;
 import static botscrew.task.res.TestResources.PROFESSORS_COUNT;
 import static botscrew.task.res.TestResources.SPECIFIC_PART;
 import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedAggregate;
 import static botscrew.task.res.TestResources.expectedHead;
 import static botscrew.task.res.TestResources.secondEmployee;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.dto.NamePageDto;
 import botscrew.task.model.Employee;
-import botscrew.task.repository.DepartmentRepository;
-import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.registry.DepartmentRegistry;
 import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
 import botscrew.task.service.impl.EmployeeServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshot;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
 import jakarta.persistence.EntityNotFoundException;
+import java.math.RoundingMode;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,14 +44,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
+    private static final int PAGE_SIZE = 100;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, PAGE_SIZE);
+    private static final DepartmentRefDto VALID_REF =
+            new DepartmentRefDto(VALID_DEPARTMENT_ID, VALID_DEPARTMENT, expectedHead.getId());
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
     @Mock
-    private EmployeeRepository employeeRepository;
+    private DepartmentAggregateCache departmentAggregateCache;
 
     @Mock
-    private DepartmentRepository departmentRepository;
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Mock
+    private EmployeeNameIndex employeeNameIndex;
 
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -48,22 +72,19 @@ class EmployeeServiceTest {
     @Test
     @DisplayName("Find existing head of correct department")
     public void headOfDepartment_CorrectData_ReturnsString() {
-        Employee expectedEmployee = expectedHead;
-        Optional<Employee> optionalEmployee = Optional.of(expectedEmployee);
         String expected = String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE,
-                VALID_DEPARTMENT, expectedEmployee.getName());
+                VALID_DEPARTMENT, expectedHead.getName());
 
-        when(departmentRepository.existsByName(VALID_DEPARTMENT)).thenReturn(true);
-        when(employeeRepository.findByDepartmentAndIsHead(VALID_DEPARTMENT))
-                .thenReturn(optionalEmployee);
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(expectedAggregate));
 
         String actual = employeeService.headOfDepartment(VALID_DEPARTMENT);
 
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
-        verify(employeeRepository).findByDepartmentAndIsHead(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(departmentAggregateCache).get(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
     }
 
     @Test
@@ -71,62 +92,124 @@ class EmployeeServiceTest {
     public void headOfDepartment_IncorrectDepartment_ExceptionThrown() {
         String expected = Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT;
 
-        when(departmentRepository.existsByName(INVALID_DEPARTMENT)).thenReturn(false);
+        when(departmentRegistry.resolve(INVALID_DEPARTMENT))
+                .thenThrow(new EntityNotFoundException(expected));
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> employeeService.headOfDepartment(INVALID_DEPARTMENT));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(INVALID_DEPARTMENT);
-        verifyNoMoreInteractions(employeeRepository);
+        verifyNoInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
+    }
+
+    @Test
+    @DisplayName("Answer with the stored department name when asked in another case")
+    public void headOfDepartment_DifferentCase_ReturnsStoredName() {
+        String expected = String.format(Messages.HEAD_OF_DEPARTMENT_MESSAGE,
+                VALID_DEPARTMENT, expectedHead.getName());
+        String requested = VALID_DEPARTMENT.toUpperCase();
+
+        when(departmentRegistry.resolve(requested)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(expectedAggregate));
+
+        String actual = employeeService.headOfDepartment(requested);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Try to find head of department deleted after it was registered")
+    public void headOfDepartment_DeletedDepartment_ExceptionThrown() {
+        String expected = Messages.CANT_FIND_DEPARTMENT_MESSAGE + VALID_DEPARTMENT;
+
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(EntityNotFoundException.class,
+                () -> employeeService.headOfDepartment(VALID_DEPARTMENT));
+
+        assertEquals(expected, exception.getMessage());
     }
 
     @Test
     @DisplayName("Try to find non-existing head of correct department")
     public void headOfDepartment_NonExistingHead_ExceptionThrown() {
         String expected = Messages.CANT_FIND_HEAD_OF_DEPARTMENT_MESSAGE + VALID_DEPARTMENT;
+        DepartmentAggregate withoutHead = new DepartmentAggregate(null, null,
+                expectedAggregate.countsByDegree(), expectedAggregate.salarySum());
 
-        when(departmentRepository.existsByName(VALID_DEPARTMENT)).thenReturn(true);
-        when(employeeRepository.findByDepartmentAndIsHead(VALID_DEPARTMENT))
-                .thenReturn(Optional.empty());
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(withoutHead));
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> employeeService.headOfDepartment(VALID_DEPARTMENT));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
+        verify(departmentAggregateCache).get(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
     }
 
     @Test
     @DisplayName("Show existing department statistics")
     public void showStatistics_CorrectData_ReturnsString() {
+        String expected = String.format(
+                "assistants - %d%nassociate professors - %d%nprofessors - %d",
+                ASSISTANTS_COUNT, ASSOCIATE_PROFESSORS_COUNT, PROFESSORS_COUNT);
 
-        when(departmentRepository.existsByName(VALID_DEPARTMENT)).thenReturn(true);
-        when(employeeRepository.countByDepartmentAndDegree(
-                VALID_DEPARTMENT, Employee.Degree.ASSISTANT)).thenReturn(ASSISTANTS_COUNT);
-        when(employeeRepository.countByDepartmentAndDegree(
-                VALID_DEPARTMENT, Employee.Degree.ASSOCIATE_PROFESSOR))
-                .thenReturn(ASSOCIATE_PROFESSORS_COUNT);
-        when(employeeRepository.countByDepartmentAndDegree(
-                VALID_DEPARTMENT, Employee.Degree.PROFESSOR)).thenReturn(PROFESSORS_COUNT);
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(expectedAggregate));
 
         String actual = employeeService.showStatistics(VALID_DEPARTMENT);
 
-        String expected = String.format(Messages.STATISTIC_MESSAGE, ASSISTANTS_COUNT,
-                ASSOCIATE_PROFESSORS_COUNT, PROFESSORS_COUNT);
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
-        verify(employeeRepository)
-                .countByDepartmentAndDegree(VALID_DEPARTMENT, Employee.Degree.ASSISTANT);
-        verify(employeeRepository)
-                .countByDepartmentAndDegree(VALID_DEPARTMENT, Employee.Degree.ASSOCIATE_PROFESSOR);
-        verify(employeeRepository)
-                .countByDepartmentAndDegree(VALID_DEPARTMENT, Employee.Degree.PROFESSOR);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(departmentAggregateCache).getIfPresent(VALID_DEPARTMENT_ID);
+        verify(departmentAggregateCache).get(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
+    }
+
+    @Test
+    @DisplayName("Show statistics of department without employees")
+    public void showStatistics_EmptyDepartment_ReturnsZeroCounts() {
+        String expected = String.format(
+                "assistants - 0%nassociate professors - 0%nprofessors - 0");
+        DepartmentAggregate empty = new DepartmentAggregate(expectedHead.getId(),
+                expectedHead.getName(), Map.of(), null);
+
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID)).thenReturn(Optional.of(empty));
+
+        String actual = employeeService.showStatistics(VALID_DEPARTMENT);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Show statistics of uncached department from an up-to-date snapshot")
+    public void showStatistics_UpToDateSnapshot_DoesNotLoadAggregate() {
+        String expected = String.format(
+                "assistants - 1%nassociate professors - 0%nprofessors - 1");
+        EmployeeSnapshot snapshot = EmployeeSnapshot.builder(2)
+                .addEmployee(1, Employee.Degree.ASSISTANT, 1_000_00)
+                .addEmployee(2, Employee.Degree.PROFESSOR, 3_600_00)
+                .addMembership(VALID_DEPARTMENT_ID, 1)
+                .addMembership(VALID_DEPARTMENT_ID, 2)
+                .build(0);
+
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(employeeSnapshotStore.current()).thenReturn(Optional.of(snapshot));
+
+        String actual = employeeService.showStatistics(VALID_DEPARTMENT);
+
+        assertEquals(expected, actual);
+        verify(departmentAggregateCache).getIfPresent(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
     }
 
     @Test
@@ -134,34 +217,35 @@ class EmployeeServiceTest {
     public void showStatistics_IncorrectDepartment_ExceptionThrown() {
         String expected = Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT;
 
-        when(departmentRepository.existsByName(INVALID_DEPARTMENT)).thenReturn(false);
+        when(departmentRegistry.resolve(INVALID_DEPARTMENT))
+                .thenThrow(new EntityNotFoundException(expected));
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> employeeService.showStatistics(INVALID_DEPARTMENT));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(INVALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
+        verifyNoInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
     }
 
     @Test
     @DisplayName("Show average salary of correct department")
     public void showAverageSalary_CorrectData_ReturnsString() {
-        String expected = String.format(Messages.AVERAGE_SALARY_MESSAGE,
-                VALID_DEPARTMENT, EXPECTED_AVERAGE_SALARY);
+        String expected = String.format(Messages.AVERAGE_SALARY_MESSAGE, VALID_DEPARTMENT,
+                EXPECTED_AVERAGE_SALARY.setScale(2, RoundingMode.HALF_UP));
 
-        when(departmentRepository.existsByName(VALID_DEPARTMENT)).thenReturn(true);
-        when(employeeRepository.findAverageSalaryByDepartment(VALID_DEPARTMENT))
-                .thenReturn(EXPECTED_AVERAGE_SALARY);
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(expectedAggregate));
 
         String actual = employeeService.showAverageSalary(VALID_DEPARTMENT);
 
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
-        verify(employeeRepository).findAverageSalaryByDepartment(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(departmentAggregateCache).getIfPresent(VALID_DEPARTMENT_ID);
+        verify(departmentAggregateCache).get(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
     }
 
     @Test
@@ -169,15 +253,15 @@ class EmployeeServiceTest {
     public void showAverageSalary_IncorrectDepartment_ExceptionThrown() {
         String expected = Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT;
 
-        when(departmentRepository.existsByName(INVALID_DEPARTMENT)).thenReturn(false);
+        when(departmentRegistry.resolve(INVALID_DEPARTMENT))
+                .thenThrow(new EntityNotFoundException(expected));
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> employeeService.showAverageSalary(INVALID_DEPARTMENT));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(INVALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
+        verifyNoInteractions(departmentAggregateCache);
     }
 
     @Test
@@ -185,16 +269,17 @@ class EmployeeServiceTest {
     public void showCountForDepartment_CorrectData_ReturnsString() {
         String expected = String.valueOf(DEPARTMENT_COUNT);
 
-        when(departmentRepository.existsByName(VALID_DEPARTMENT)).thenReturn(true);
-        when(employeeRepository.countByDepartment(VALID_DEPARTMENT)).thenReturn(DEPARTMENT_COUNT);
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(VALID_REF);
+        when(departmentAggregateCache.get(VALID_DEPARTMENT_ID))
+                .thenReturn(Optional.of(expectedAggregate));
 
         String actual = employeeService.showCountForDepartment(VALID_DEPARTMENT);
 
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(departmentRepository);
-        verify(employeeRepository).countByDepartment(VALID_DEPARTMENT);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(departmentAggregateCache).getIfPresent(VALID_DEPARTMENT_ID);
+        verify(departmentAggregateCache).get(VALID_DEPARTMENT_ID);
+        verifyNoMoreInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
     }
 
     @Test
@@ -202,15 +287,16 @@ class EmployeeServiceTest {
     public void showCountForDepartment_IncorrectDepartment_ExceptionThrown() {
         String expected = Messages.CANT_FIND_DEPARTMENT_MESSAGE + INVALID_DEPARTMENT;
 
-        when(departmentRepository.existsByName(INVALID_DEPARTMENT)).thenReturn(false);
+        when(departmentRegistry.resolve(INVALID_DEPARTMENT))
+                .thenThrow(new EntityNotFoundException(expected));
 
         Exception exception = assertThrows(EntityNotFoundException.class,
                 () -> employeeService.showCountForDepartment(INVALID_DEPARTMENT));
 
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(departmentRepository).existsByName(INVALID_DEPARTMENT);
-        verifyNoMoreInteractions(employeeRepository);
+        verifyNoInteractions(departmentAggregateCache);
+        verifyNoInteractions(employeeNameIndex);
     }
 
     @Test
@@ -218,46 +304,67 @@ class EmployeeServiceTest {
     public void globalSearchBy_NoEmployeesFound_ReturnsEmptyString() {
         String expected = "";
 
-        when(employeeRepository.findAllByNameContains(INVALID_PART))
-                .thenReturn(Collections.emptyList());
+        when(employeeNameIndex.search(INVALID_PART, FIRST_PAGE))
+                .thenReturn(new NamePageDto(Collections.emptyList(), false));
 
-        String actual = employeeService.globalSearchBy(INVALID_PART);
+        String actual = employeeService.globalSearchBy(INVALID_PART, 0, PAGE_SIZE);
 
         assertEquals(expected, actual);
-        verify(employeeRepository).findAllByNameContains(INVALID_PART);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(employeeNameIndex).search(INVALID_PART, FIRST_PAGE);
+        verifyNoMoreInteractions(employeeNameIndex);
     }
 
     @Test
     @DisplayName("Find one employee in global search")
     public void globalSearchBy_OneEmployeeFound_ReturnsCorrectString() {
-        Employee expectedEmployee = expectedHead;
-        String expected = expectedEmployee.getName();
+        String expected = expectedHead.getName();
 
-        when(employeeRepository.findAllByNameContains(SPECIFIC_PART))
-                .thenReturn(List.of(expectedEmployee));
+        when(employeeNameIndex.search(SPECIFIC_PART, FIRST_PAGE))
+                .thenReturn(new NamePageDto(List.of(expectedHead.getName()), false));
 
-        String actual = employeeService.globalSearchBy(SPECIFIC_PART);
+        String actual = employeeService.globalSearchBy(SPECIFIC_PART, 0, PAGE_SIZE);
 
         assertEquals(expected, actual);
-        verify(employeeRepository).findAllByNameContains(SPECIFIC_PART);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(employeeNameIndex).search(SPECIFIC_PART, FIRST_PAGE);
+        verifyNoMoreInteractions(employeeNameIndex);
     }
 
     @Test
-    @DisplayName("Find one employee in global search")
+    @DisplayName("Find two employees in global search")
     public void globalSearchBy_TwoEmployeesFound_ReturnsCorrectString() {
-        Employee first = expectedHead;
-        Employee second = secondEmployee;
-        String expected = first.getName() + ", " + second.getName();
+        String expected = expectedHead.getName() + ", " + secondEmployee.getName();
 
-        when(employeeRepository.findAllByNameContains(NOT_SPECIFIC_PART))
-                .thenReturn(List.of(first, second));
+        when(employeeNameIndex.search(NOT_SPECIFIC_PART, FIRST_PAGE)).thenReturn(new NamePageDto(
+                List.of(expectedHead.getName(), secondEmployee.getName()), false));
 
-        String actual = employeeService.globalSearchBy(NOT_SPECIFIC_PART);
+        String actual = employeeService.globalSearchBy(NOT_SPECIFIC_PART, 0, PAGE_SIZE);
 
         assertEquals(expected, actual);
-        verify(employeeRepository).findAllByNameContains(NOT_SPECIFIC_PART);
-        verifyNoMoreInteractions(employeeRepository);
+        verify(employeeNameIndex).search(NOT_SPECIFIC_PART, FIRST_PAGE);
+        verifyNoMoreInteractions(employeeNameIndex);
+    }
+
+    @Test
+    @DisplayName("Point to next page when global search has more results")
+    public void globalSearchBy_MoreResults_ReturnsNextPageHint() {
+        String expected = expectedHead.getName()
+                + String.format(Messages.NEXT_PAGE_MESSAGE, 1);
+
+        when(employeeNameIndex.search(NOT_SPECIFIC_PART, PageRequest.of(0, 1)))
+                .thenReturn(new NamePageDto(List.of(expectedHead.getName()), true));
+
+        String actual = employeeService.globalSearchBy(NOT_SPECIFIC_PART, 0, 1);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Try global search with invalid page size")
+    public void globalSearchBy_InvalidPageSize_ExceptionThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.globalSearchBy(NOT_SPECIFIC_PART, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.globalSearchBy(NOT_SPECIFIC_PART, 2, Integer.MAX_VALUE));
+        verifyNoInteractions(employeeNameIndex);
     }
 }
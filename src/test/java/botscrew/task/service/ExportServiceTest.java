@@ -0,0 +1,173 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.bulk.CsvRecordReader;
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.bulk.ImportRecordReader;
+import botscrew.task.bulk.JsonLinesRecordReader;
+import botscrew.task.changes.ChangeFeed;
+import botscrew.task.export.ColumnarReader;
+import botscrew.task.export.ExportFormat;
+import botscrew.task.res.Messages;
+import botscrew.task.service.impl.ExportServiceImpl;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = "export.fetch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ExportServiceImpl.class, ChangeFeed.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ExportServiceTest {
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Export every table as CSV that can be imported again")
+    public void export_Csv_WritesImportableFiles() throws IOException {
+        jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                + "values (4, 'Marley, \"Bob\"', 'ASSISTANT', 1500.0)");
+        List<String> progress = new ArrayList<>();
+
+        String actual = exportService.export(directory.toString(), ExportFormat.CSV, false,
+                progress::add);
+
+        assertTrue(actual.matches("Exported 8 records to " + Pattern.quote(directory.toString())
+                + " in \\d+ ms, as of change \\d+"), actual);
+        assertEquals(List.of(
+                String.format(Messages.EXPORT_PROGRESS_MESSAGE, "employees", 4,
+                        directory.resolve("employees.csv")),
+                String.format(Messages.EXPORT_PROGRESS_MESSAGE, "departments", 1,
+                        directory.resolve("departments.csv")),
+                String.format(Messages.EXPORT_PROGRESS_MESSAGE, "memberships", 3,
+                        directory.resolve("memberships.csv"))), progress);
+        List<String[]> employees = read(new CsvRecordReader(reader(
+                Files.newInputStream(directory.resolve("employees.csv"))),
+                ImportKind.EMPLOYEES.getColumns()));
+        assertArrayEquals(new String[]{"4", "Marley, \"Bob\"", "ASSISTANT", "1500.00"},
+                employees.get(3));
+        assertEquals("id,name,head_id,parent_id",
+                Files.readAllLines(directory.resolve("departments.csv")).get(0));
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Export gzipped JSON lines")
+    public void export_GzipJsonLines_WritesCompressedFiles() throws IOException {
+        exportService.export(directory.toString(), ExportFormat.JSONL, true, progress -> { });
+
+        List<String[]> memberships = read(new JsonLinesRecordReader(reader(new GZIPInputStream(
+                Files.newInputStream(directory.resolve("memberships.jsonl.gz")))),
+                ImportKind.MEMBERSHIPS.getColumns()));
+        List<String[]> departments = read(new JsonLinesRecordReader(reader(new GZIPInputStream(
+                Files.newInputStream(directory.resolve("departments.jsonl.gz")))),
+                List.of("name", "head_id", "parent_id")));
+
+        assertEquals(3, memberships.size());
+        assertArrayEquals(new String[]{"3", "1"}, memberships.get(2));
+        assertArrayEquals(new String[]{"Engineering", "2", null}, departments.get(0));
+    }
+
+    @Test
+    @DisplayName("Export typed columns with nulls")
+    public void export_Columnar_WritesTypedColumns() throws IOException {
+        exportService.export(directory.toString(), ExportFormat.COLUMNAR, false,
+                progress -> { });
+
+        try (InputStream in = Files.newInputStream(directory.resolve("employees.ucol"))) {
+            ColumnarReader reader = new ColumnarReader(in);
+            assertArrayEquals(new Object[]{2L, "Alice Cooper", "PROFESSOR",
+                    new BigDecimal("3600.00")}, skip(reader, 1));
+        }
+        try (InputStream in = Files.newInputStream(directory.resolve("departments.ucol"))) {
+            ColumnarReader reader = new ColumnarReader(in);
+            assertArrayEquals(new Object[]{1L, "Engineering", 2L, null}, reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    @DisplayName("Leave out changes committed while the export runs")
+    public void export_ConcurrentChange_ReadsOneSnapshot() throws IOException {
+        exportService.export(directory.toString(), ExportFormat.CSV, false, progress -> {
+            if (progress.contains("employees")) {
+                CompletableFuture.runAsync(() -> {
+                    jdbcTemplate.update("insert into departments (id, name, head_id) "
+                            + "values (2, 'Dancing', 1)");
+                    jdbcTemplate.update("insert into employees_departments "
+                            + "(employee_id, department_id) values (1, 2)");
+                }).join();
+            }
+        });
+
+        assertEquals(2, Files.readAllLines(directory.resolve("departments.csv")).size());
+        assertEquals(4, Files.readAllLines(directory.resolve("memberships.csv")).size());
+    }
+
+    @Test
+    @DisplayName("Reject unknown export format")
+    public void of_UnknownFormat_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.of("parquet"));
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static List<String[]> read(ImportRecordReader reader) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (reader) {
+            String[] values;
+            while ((values = reader.read()) != null) {
+                records.add(values);
+            }
+        }
+        return records;
+    }
+
+    private static Object[] skip(ColumnarReader reader, int rows) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            reader.read();
+        }
+        return reader.read();
+    }
+}
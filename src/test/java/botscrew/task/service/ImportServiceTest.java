@@ -0,0 +1,258 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.REMOVE_IMPORT_PROGRESS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import botscrew.task.bulk.ImportKind;
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.changes.ChangeFeedWriter;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.impl.DepartmentStatsServiceImpl;
+import botscrew.task.service.impl.DepartmentTreeServiceImpl;
+import botscrew.task.service.impl.ImportServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import botscrew.task.tree.DepartmentTreeUpdater;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = {"bulk-import.batch-size=2", "bulk-import.chunk-size=3"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ImportServiceImpl.class, DepartmentStatsServiceImpl.class,
+        DepartmentStatsUpdater.class, DepartmentRegistry.class, ChangeFeedWriter.class,
+        DepartmentTreeUpdater.class, SalaryHistoryWriter.class, DepartmentTreeServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, REMOVE_IMPORT_PROGRESS},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, REMOVE_IMPORT_PROGRESS},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ImportServiceTest {
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private DepartmentTreeService departmentTreeService;
+
+    @MockBean
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @MockBean
+    private SecondLevelCache secondLevelCache;
+
+    @Test
+    @DisplayName("Import employees, departments and memberships from CSV and JSON lines")
+    public void importFile_CorrectFiles_ImportsAllRecords() throws IOException {
+        Path employees = write("employees.csv", "id,name,degree,salary",
+                "1,\"Marley, Bob\",ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00",
+                "3,Elvis Presley,ASSOCIATE_PROFESSOR,2000.00",
+                "4,Freddie Mercury,PROFESSOR,3000.00");
+        Path departments = write("departments.jsonl",
+                "{\"id\": 1, \"name\": \"Engineering\", \"head_id\": 2}");
+        Path memberships = write("memberships.csv", "department_id,employee_id",
+                "1,1", "1,2", "1,3");
+        List<String> progress = new ArrayList<>();
+
+        String actual = importService.importFile(ImportKind.EMPLOYEES, employees.toString(),
+                progress::add);
+        importService.importFile(ImportKind.DEPARTMENTS, departments.toString(), progress::add);
+        importService.importFile(ImportKind.MEMBERSHIPS, memberships.toString(), progress::add);
+
+        assertEquals(String.format(Messages.IMPORT_COMPLETED_MESSAGE, 4, "employees",
+                employees), actual);
+        assertEquals(List.of(
+                String.format(Messages.IMPORT_PROGRESS_MESSAGE, "employees", 3),
+                String.format(Messages.IMPORT_PROGRESS_MESSAGE, "employees", 4),
+                String.format(Messages.IMPORT_PROGRESS_MESSAGE, "departments", 1),
+                String.format(Messages.IMPORT_PROGRESS_MESSAGE, "memberships", 3)), progress);
+        assertEquals("Marley, Bob", jdbcTemplate.queryForObject(
+                "select name from employees where id = 1", String.class));
+        assertEquals(3, count("employees_departments"));
+        assertEquals(8, count("change_events"));
+        assertEquals(1, count("department_closure"));
+        assertEquals(6600, jdbcTemplate.queryForObject(
+                "select sum(salary) from salary_history", Integer.class));
+        assertEquals(6600, jdbcTemplate.queryForObject(
+                "select sum(salary_sum) from department_stats", Integer.class));
+        verify(departmentAggregateCache, times(3)).invalidateAll();
+        verify(employeeSnapshotStore, times(3)).markChanged();
+        verify(secondLevelCache, times(3)).evictAll();
+        assertEquals(1L, departmentRegistry.find("engineering").orElseThrow().id());
+    }
+
+    @Test
+    @DisplayName("Link imported departments to parents that come later in the file")
+    public void importFile_ChildrenBeforeParents_SubtreesCounted() throws IOException {
+        Path employees = write("employees.csv", "id,name,degree,salary",
+                "1,Bob Marley,ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00",
+                "3,Elvis Presley,ASSOCIATE_PROFESSOR,2000.00",
+                "4,Freddie Mercury,PROFESSOR,3000.00",
+                "5,John Lennon,PROFESSOR,3100.00");
+        Path departments = write("departments.csv", "id,name,head_id,parent_id",
+                "4,Robotics,4,3",
+                "3,Labs,3,2",
+                "2,Engineering,2,1",
+                "1,Faculty,1,",
+                "5,Arts,5,");
+        Path memberships = write("memberships.csv", "employee_id,department_id",
+                "1,1", "2,2", "3,3", "4,4", "1,4", "5,5");
+
+        importService.importFile(ImportKind.EMPLOYEES, employees.toString(), progress -> { });
+        importService.importFile(ImportKind.DEPARTMENTS, departments.toString(), progress -> { });
+        importService.importFile(ImportKind.MEMBERSHIPS, memberships.toString(), progress -> { });
+
+        assertEquals("4", departmentTreeService.showSubtreeCount("Faculty"));
+        assertEquals("4", departmentTreeService.showSubtreeCount("Engineering"));
+        assertEquals("3", departmentTreeService.showSubtreeCount("Labs"));
+        assertEquals("2", departmentTreeService.showSubtreeCount("Robotics"));
+        assertEquals("1", departmentTreeService.showSubtreeCount("Arts"));
+        assertEquals(11, count("department_closure"));
+    }
+
+    @Test
+    @DisplayName("Import departments without a head from CSV and JSON lines")
+    public void importFile_BlankHead_HeadIsNull() throws IOException {
+        Path csv = write("departments.csv", "id,name,head_id", "1,Engineering,");
+        Path jsonLines = write("departments.jsonl",
+                "{\"id\": 2, \"name\": \"Arts\", \"head_id\": null}");
+
+        importService.importFile(ImportKind.DEPARTMENTS, csv.toString(), progress -> { });
+        importService.importFile(ImportKind.DEPARTMENTS, jsonLines.toString(), progress -> { });
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from departments where head_id is null", Integer.class));
+        assertEquals(2, count("department_closure"));
+    }
+
+    @Test
+    @DisplayName("Try to import departments whose parents form a cycle")
+    public void importFile_ParentCycle_ExceptionThrown() throws IOException {
+        Path employees = write("employees.csv", "id,name,degree,salary",
+                "1,Bob Marley,ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00");
+        Path departments = write("departments.jsonl",
+                "{\"id\": 1, \"name\": \"Engineering\", \"head_id\": 1, \"parent_id\": 2}",
+                "{\"id\": 2, \"name\": \"Labs\", \"head_id\": 2, \"parent_id\": 1}");
+        importService.importFile(ImportKind.EMPLOYEES, employees.toString(), progress -> { });
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> importService
+                .importFile(ImportKind.DEPARTMENTS, departments.toString(), progress -> { }));
+
+        assertTrue(exception.getMessage().contains("would be its own ancestor"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from departments where parent_id is not null", Integer.class));
+        assertEquals(2, count("department_closure"));
+    }
+
+    @Test
+    @DisplayName("Resume failed import after the last committed chunk")
+    public void importFile_InvalidRecord_ResumesFromLastChunk() throws IOException {
+        Path employees = write("employees.csv", "id,name,degree,salary",
+                "1,Bob Marley,ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00",
+                "3,Elvis Presley,ASSOCIATE_PROFESSOR,2000.00",
+                "4,Freddie Mercury,DANCER,3000.00",
+                "5,John Lennon,PROFESSOR,3100.00");
+
+        assertThrows(IllegalArgumentException.class, () -> importService
+                .importFile(ImportKind.EMPLOYEES, employees.toString(), progress -> { }));
+        assertEquals(3, count("employees"));
+
+        write("employees.csv", "id,name,degree,salary",
+                "1,Bob Marley,ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00",
+                "3,Elvis Presley,ASSOCIATE_PROFESSOR,2000.00",
+                "4,Freddie Mercury,PROFESSOR,3000.00",
+                "5,John Lennon,PROFESSOR,3100.00");
+        String resumed = importService.importFile(ImportKind.EMPLOYEES, employees.toString(),
+                progress -> { });
+        String repeated = importService.importFile(ImportKind.EMPLOYEES, employees.toString(),
+                progress -> { });
+
+        assertEquals(String.format(Messages.IMPORT_COMPLETED_MESSAGE, 2, "employees",
+                employees), resumed);
+        assertEquals(String.format(Messages.IMPORT_ALREADY_COMPLETED_MESSAGE, employees),
+                repeated);
+        assertEquals(5, count("employees"));
+    }
+
+    @Test
+    @DisplayName("Keep import error when refreshing after failed import fails too")
+    public void importFile_InvalidRecordAndRefreshFails_ImportErrorThrown() throws IOException {
+        Path employees = write("employees.csv", "id,name,degree,salary",
+                "1,Bob Marley,ASSISTANT,1000.00",
+                "2,Alice Cooper,PROFESSOR,3600.00",
+                "3,Elvis Presley,ASSOCIATE_PROFESSOR,2000.00",
+                "4,Freddie Mercury,DANCER,3000.00");
+        IllegalStateException refreshFailure = new IllegalStateException("Index unavailable");
+        doThrow(refreshFailure).when(employeeNameIndex).rebuild();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> importService
+                .importFile(ImportKind.EMPLOYEES, employees.toString(), progress -> { }));
+
+        assertArrayEquals(new Throwable[]{refreshFailure}, exception.getSuppressed());
+        assertEquals(3, count("employees"));
+        verify(departmentAggregateCache).invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Try to import file without required column")
+    public void importFile_MissingColumn_ExceptionThrown() throws IOException {
+        Path memberships = write("memberships.csv", "employee_id", "1");
+
+        assertThrows(IllegalArgumentException.class, () -> importService
+                .importFile(ImportKind.MEMBERSHIPS, memberships.toString(), progress -> { }));
+        verify(departmentAggregateCache, never()).invalidateAll();
+    }
+
+    private Path write(String fileName, String... lines) throws IOException {
+        return Files.write(directory.resolve(fileName), List.of(lines));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
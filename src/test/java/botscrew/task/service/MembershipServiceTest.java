@@ -0,0 +1,334 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_TWENTY_EMPLOYEES_OF_FIVE_DEPARTMENTS;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.cache.SecondLevelCache;
+import botscrew.task.changes.ChangeFeedListener;
+import botscrew.task.changes.ChangeFeedWriter;
+import botscrew.task.history.SalaryHistoryListener;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.membership.MembershipWriter;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.service.impl.MembershipServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.stats.DepartmentStatsListener;
+import botscrew.task.stats.DepartmentStatsUpdater;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@DataJpaTest(properties = "membership.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MembershipServiceImpl.class, MembershipWriter.class, DepartmentRegistry.class,
+        SecondLevelCache.class,
+        DepartmentStatsUpdater.class, DepartmentStatsListener.class, SalaryHistoryWriter.class,
+        SalaryHistoryListener.class, ChangeFeedWriter.class, ChangeFeedListener.class,
+        MembershipLookup.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_TWENTY_EMPLOYEES_OF_FIVE_DEPARTMENTS},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class MembershipServiceTest {
+    private static final String FIRST_DEPARTMENT = "Department 1";
+    private static final int DEPARTMENTS = 5;
+    private static final int EMPLOYEES = 20;
+    private static final int WRITER_THREADS = 16;
+    private static final int WRITES_PER_THREAD = 100;
+    private static final int IDS_PER_WRITE = 3;
+    private static final int MAX_RAISE_ATTEMPTS = 50;
+    private static final long WRITERS_TIMEOUT_SECONDS = 120;
+    private static final BigDecimal RAISE = BigDecimal.TEN;
+    private static final String STATS_SQL = "SELECT department_id, degree, member_count, "
+            + "salary_sum FROM department_stats WHERE member_count <> 0";
+    private static final String EXPECTED_STATS_SQL = "SELECT ed.department_id, e.degree, "
+            + "COUNT(*) AS member_count, SUM(e.salary) AS salary_sum "
+            + "FROM employees_departments ed JOIN employees e ON e.id = ed.employee_id "
+            + "GROUP BY ed.department_id, e.degree";
+    private static final String HEADS_OUTSIDE_SQL = "SELECT COUNT(*) FROM departments d "
+            + "WHERE NOT EXISTS (SELECT 1 FROM employees_departments ed "
+            + "WHERE ed.employee_id = d.head_id AND ed.department_id = d.id)";
+    // the latest row of a membership must show whether it exists and at what salary
+    private static final String STALE_HISTORY_SQL = "SELECT COUNT(*) FROM salary_history h "
+            + "WHERE NOT EXISTS (SELECT 1 FROM salary_history n "
+            + "WHERE n.department_id = h.department_id AND n.employee_id = h.employee_id "
+            + "AND (n.effective_from > h.effective_from "
+            + "OR n.effective_from = h.effective_from AND n.id > h.id)) "
+            + "AND (h.salary IS NULL AND EXISTS (SELECT 1 FROM employees_departments ed "
+            + "WHERE ed.employee_id = h.employee_id AND ed.department_id = h.department_id) "
+            + "OR h.salary IS NOT NULL AND NOT EXISTS (SELECT 1 FROM employees_departments ed "
+            + "JOIN employees e ON e.id = ed.employee_id WHERE ed.employee_id = h.employee_id "
+            + "AND ed.department_id = h.department_id AND e.salary = h.salary))";
+    private static final String MEMBERSHIP_CHANGES_SQL = "SELECT COALESCE(SUM(CASE operation "
+            + "WHEN 'INSERT' THEN 1 ELSE -1 END), 0) FROM change_events "
+            + "WHERE entity = 'MEMBERSHIP'";
+    private static final String SEQUENCE_GAPS_SQL = "SELECT COUNT(*) - COUNT(DISTINCT sequence) "
+            + "+ COALESCE(MAX(sequence) - MIN(sequence) + 1 - COUNT(*), 0) FROM change_events";
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private DepartmentStatsUpdater departmentStatsUpdater;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @BeforeEach
+    void setUp() {
+        secondLevelCache.evictAll();
+        departmentRegistry.reload();
+        departmentStatsUpdater.rebuild();
+    }
+
+    @Test
+    @DisplayName("Assign a member as head and bump the department version")
+    public void assignHead_Member_ChangesHead() {
+        assertEquals("Head of Department 1 department is now Employee 1",
+                membershipService.assignHead(FIRST_DEPARTMENT, 1L));
+
+        assertEquals(1L, queryForLong("SELECT head_id FROM departments WHERE id = 1"));
+        assertEquals(1L, queryForLong("SELECT version FROM departments WHERE id = 1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> membershipService.assignHead(FIRST_DEPARTMENT, 6L));
+        assertThrows(EntityNotFoundException.class,
+                () -> membershipService.assignHead(FIRST_DEPARTMENT, 99L));
+        assertThrows(EntityNotFoundException.class,
+                () -> membershipService.addMembers("Departmnt 1", List.of(6L)));
+        assertEquals(1L, queryForLong("SELECT head_id FROM departments WHERE id = 1"));
+        assertEquals(0L, queryForLong("SELECT COUNT(*) FROM employees_departments "
+                + "WHERE department_id = 1 AND employee_id = 6"));
+    }
+
+    @Test
+    @DisplayName("Insert only missing membership rows and keep statistics and history in step")
+    public void addMembers_SomeAlreadyMembers_InsertsMissingRows() {
+        assertEquals("Added 3 employees to Department 1, 1 were already members",
+                membershipService.addMembers(FIRST_DEPARTMENT, List.of(6L, 7L, 1L, 8L)));
+
+        assertEquals(11L, queryForLong("SELECT COUNT(*) FROM employees_departments "
+                + "WHERE department_id = 1"));
+        assertEquals(expectedStats(), stats());
+        assertEquals(3L, queryForLong("SELECT COUNT(*) FROM salary_history "
+                + "WHERE department_id = 1 AND salary IS NOT NULL"));
+        assertEquals(3L, queryForLong(MEMBERSHIP_CHANGES_SQL));
+        assertEquals(4L, queryForLong("SELECT SUM(version) FROM employees"));
+    }
+
+    @Test
+    @DisplayName("Delete only existing membership rows and never the head's")
+    public void removeMembers_SomeNotMembers_DeletesExistingRows() {
+        assertEquals("Removed 2 employees from Department 1, 1 were not members",
+                membershipService.removeMembers(FIRST_DEPARTMENT, List.of(1L, 2L, 6L)));
+
+        assertEquals(6L, queryForLong("SELECT COUNT(*) FROM employees_departments "
+                + "WHERE department_id = 1"));
+        assertEquals(expectedStats(), stats());
+        assertEquals(-2L, queryForLong(MEMBERSHIP_CHANGES_SQL));
+        assertEquals(0L, queryForLong(STALE_HISTORY_SQL));
+        assertThrows(IllegalArgumentException.class,
+                () -> membershipService.removeMembers(FIRST_DEPARTMENT, List.of(3L, 4L)));
+        assertEquals(6L, queryForLong("SELECT COUNT(*) FROM employees_departments "
+                + "WHERE department_id = 1"));
+    }
+
+    @Test
+    @DisplayName("Save employees cached before a write that only locked them")
+    public void save_EmployeeCachedBeforeLock_Saved() {
+        employeeRepository.findAllById(List.of(1L, 6L));
+        membershipService.addMembers(FIRST_DEPARTMENT, List.of(1L, 6L));
+        employeeRepository.findById(6L);
+        membershipService.assignHead(FIRST_DEPARTMENT, 6L);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Long employeeId : List.of(1L, 6L)) {
+            transactionTemplate.executeWithoutResult(status -> employeeRepository
+                    .findById(employeeId).orElseThrow().setSalary(BigDecimal.valueOf(2000)));
+        }
+
+        assertEquals(2L, queryForLong("SELECT COUNT(*) FROM employees "
+                + "WHERE id IN (1, 6) AND salary = 2000"));
+    }
+
+    @Test
+    @DisplayName("Reject saving an employee read before its memberships changed")
+    public void save_EmployeeReadBeforeMembershipWrite_Rejected() {
+        Employee employee = new TransactionTemplate(transactionManager).execute(status -> {
+            Employee loaded = employeeRepository.findById(6L).orElseThrow();
+            Hibernate.initialize(loaded.getDepartments());
+            return loaded;
+        });
+        membershipService.addMembers(FIRST_DEPARTMENT, List.of(6L));
+
+        employee.getDepartments().clear();
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeRepository.save(employee));
+        assertEquals(2L, queryForLong("SELECT COUNT(*) FROM employees_departments "
+                + "WHERE employee_id = 6"));
+    }
+
+    @Test
+    @DisplayName("Keep heads, statistics, history and change feed consistent under many writers")
+    public void concurrentWriters_RandomChanges_KeepDerivedDataConsistent() throws Exception {
+        final long initialMemberships = queryForLong("SELECT COUNT(*) FROM employees_departments");
+        final BigDecimal initialSalaries = jdbcTemplate.queryForObject(
+                "SELECT SUM(salary) FROM employees", BigDecimal.class);
+        AtomicInteger raises = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS);
+        List<Future<?>> writers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int thread = 0; thread < WRITER_THREADS; thread++) {
+            Random random = new Random(thread);
+            writers.add(executor.submit(() -> write(random, transactionTemplate, raises,
+                    rejected)));
+        }
+        try {
+            for (Future<?> writer : writers) {
+                writer.get(WRITERS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int writes = WRITER_THREADS * WRITES_PER_THREAD;
+        log.info("{} writers made {} writes in {} s, {} writes/s, {} rejected",
+                WRITER_THREADS, writes, String.format("%.2f", seconds),
+                String.format("%.0f", writes / seconds), rejected.get());
+
+        assertEquals(expectedStats(), stats());
+        assertEquals(0L, queryForLong(HEADS_OUTSIDE_SQL));
+        assertEquals(0L, queryForLong(STALE_HISTORY_SQL));
+        assertEquals(queryForLong("SELECT COUNT(*) FROM employees_departments")
+                - initialMemberships, queryForLong(MEMBERSHIP_CHANGES_SQL));
+        assertEquals(0L, queryForLong(SEQUENCE_GAPS_SQL));
+        assertEquals(0, initialSalaries.add(RAISE.multiply(BigDecimal.valueOf(raises.get())))
+                .compareTo(jdbcTemplate.queryForObject("SELECT SUM(salary) FROM employees",
+                        BigDecimal.class)));
+    }
+
+    private Void write(Random random, TransactionTemplate transactionTemplate,
+                       AtomicInteger raises, AtomicInteger rejected) {
+        for (int i = 0; i < WRITES_PER_THREAD; i++) {
+            String department = "Department " + (1 + random.nextInt(DEPARTMENTS));
+            try {
+                switch (random.nextInt(4)) {
+                    case 0 -> membershipService.addMembers(department, randomIds(random));
+                    case 1 -> membershipService.removeMembers(department, randomIds(random));
+                    case 2 -> membershipService.assignHead(department, randomId(random));
+                    default -> {
+                        raiseSalary(transactionTemplate, randomId(random));
+                        raises.incrementAndGet();
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        }
+        return null;
+    }
+
+    // a JPA save of the whole employee, as scripts did before, retried when it read stale rows
+    private void raiseSalary(TransactionTemplate transactionTemplate, long employeeId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+                    employee.setSalary(employee.getSalary().add(RAISE));
+                });
+                return;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_RAISE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static List<Long> randomIds(Random random) {
+        List<Long> ids = new ArrayList<>(IDS_PER_WRITE);
+        for (int i = 0; i < IDS_PER_WRITE; i++) {
+            ids.add(randomId(random));
+        }
+        return ids;
+    }
+
+    private static long randomId(Random random) {
+        return 1 + random.nextInt(EMPLOYEES);
+    }
+
+    private long queryForLong(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private Map<String, String> stats() {
+        return statsOf(STATS_SQL);
+    }
+
+    private Map<String, String> expectedStats() {
+        return statsOf(EXPECTED_STATS_SQL);
+    }
+
+    private Map<String, String> statsOf(String sql) {
+        Map<String, String> stats = new TreeMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            stats.put(rs.getLong("department_id") + ":" + rs.getString("degree"),
+                    rs.getLong("member_count") + ":"
+                            + rs.getBigDecimal("salary_sum").setScale(2).toPlainString());
+        });
+        return stats;
+    }
+}
@@ -0,0 +1,135 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.cache.DepartmentAggregateCache;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.service.impl.EmployeeServiceImpl;
+import botscrew.task.service.impl.ReportServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = {"report.chunk-size=2", "report.parallelism=2",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReportServiceImpl.class, EmployeeServiceImpl.class, DepartmentAggregateCache.class,
+        DepartmentRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ReportServiceTest {
+    private static final List<String> DEPARTMENTS =
+            List.of("Art", "Biology", "Chemistry", "Dancing", "Engineering");
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private DepartmentAggregateCache departmentAggregateCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EmployeeNameIndex employeeNameIndex;
+
+    @MockBean
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Engineering comes from the script, the others get one or two of its employees
+        for (int i = 0; i < 4; i++) {
+            jdbcTemplate.update("insert into departments (id, name, head_id) values (?, ?, ?)",
+                    10 + i, DEPARTMENTS.get(3 - i), 1 + i % 3);
+            jdbcTemplate.update("insert into employees_departments (employee_id, department_id) "
+                    + "values (?, ?)", 1 + i % 3, 10 + i);
+        }
+        jdbcTemplate.update("insert into employees_departments (employee_id, department_id) "
+                + "values (2, 10)");
+        jdbcTemplate.update("insert into department_stats "
+                + "(department_id, degree, member_count, salary_sum) "
+                + "select ed.department_id, e.degree, count(*), sum(e.salary) "
+                + "from employees_departments ed join employees e on e.id = ed.employee_id "
+                + "where ed.department_id >= 10 group by ed.department_id, e.degree");
+        departmentRegistry.reload();
+        departmentAggregateCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Stream every department in name order with one query per chunk")
+    public void universityReport_FiveDepartments_MatchesCommandAnswers() {
+        List<String> output = new ArrayList<>();
+
+        String actual = reportService.universityReport(output::add);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(expectedReport(), output);
+        assertTrue(actual.startsWith("Report of 5 departments finished in "));
+    }
+
+    @Test
+    @DisplayName("Compare with the original command queries and leave the shared cache alone")
+    public void compareWithSequentialCommands_FiveDepartments_ReportsSpeedup() {
+        reportService.universityReport(line -> { });
+        final DepartmentAggregateCache.Statistics cached = departmentAggregateCache.getStatistics();
+        statistics.clear();
+        List<String> output = new ArrayList<>();
+
+        final String actual = reportService.compareWithSequentialCommands(output::add);
+
+        assertEquals(cached, departmentAggregateCache.getStatistics());
+        assertTrue(statistics.getPrepareStatementCount() >= 50);
+        assertEquals(expectedReport(), output);
+        assertEquals(2, actual.lines().count());
+        assertTrue(actual.lines().toList().get(1).startsWith(
+                "Sequential commands ran 50 queries in "));
+    }
+
+    private List<String> expectedReport() {
+        List<String> expected = new ArrayList<>();
+        for (String department : DEPARTMENTS) {
+            expected.add(String.format(Messages.REPORT_DEPARTMENT_MESSAGE, department,
+                    Long.parseLong(employeeService.showCountForDepartment(department))));
+            expected.add(employeeService.headOfDepartment(department));
+            expected.addAll(employeeService.showStatistics(department).lines().toList());
+            expected.add(employeeService.showAverageSalary(department));
+        }
+        return expected;
+    }
+}
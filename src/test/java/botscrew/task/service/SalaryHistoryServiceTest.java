@@ -0,0 +1,165 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.ADD_SALARY_HISTORY;
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.NO_SECOND_LEVEL_CACHE;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import botscrew.task.dto.DegreeTotalDto;
+import botscrew.task.dto.DepartmentCountsDto;
+import botscrew.task.history.SalaryHistory;
+import botscrew.task.history.SalaryHistoryListener;
+import botscrew.task.history.SalaryHistoryWriter;
+import botscrew.task.history.SalaryRollupUpdater;
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.repository.EmployeeRepository;
+import botscrew.task.res.Messages;
+import botscrew.task.service.impl.SalaryHistoryServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = NO_SECOND_LEVEL_CACHE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SalaryHistoryServiceImpl.class, SalaryHistory.class, SalaryRollupUpdater.class,
+        SalaryHistoryWriter.class, SalaryHistoryListener.class, DepartmentRegistry.class,
+        MembershipLookup.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD,
+        ADD_SALARY_HISTORY}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class SalaryHistoryServiceTest {
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2025, 1);
+    private static final int CHANGED_MONTHS = 4;
+
+    @Autowired
+    private SalaryHistoryService salaryHistoryService;
+
+    @Autowired
+    private SalaryHistory salaryHistory;
+
+    @Autowired
+    private SalaryRollupUpdater salaryRollupUpdater;
+
+    @Autowired
+    private DepartmentRegistry departmentRegistry;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        departmentRegistry.reload();
+    }
+
+    @Test
+    @DisplayName("Answer the average salary as of the end of a day from the history")
+    public void showAverageSalaryAsOf_PastDays_UsesStateOfThatDay() {
+        assertEquals("The average salary of Engineering as of 2024-12-31 is null",
+                salaryHistoryService.showAverageSalaryAsOf(VALID_DEPARTMENT, "2024-12-31"));
+        assertEquals("The average salary of Engineering as of 2025-02-14 is 2200.00",
+                salaryHistoryService.showAverageSalaryAsOf(VALID_DEPARTMENT, "2025-02-14"));
+        assertEquals("The average salary of Engineering as of 2025-02-15 is 2266.67",
+                salaryHistoryService.showAverageSalaryAsOf(VALID_DEPARTMENT, "2025-02-15"));
+        assertEquals("The average salary of Engineering as of 2025-03-05 is 2400.00",
+                salaryHistoryService.showAverageSalaryAsOf(VALID_DEPARTMENT, "2025-03-05"));
+    }
+
+    @Test
+    @DisplayName("Roll up every closed month and list months from the rollups")
+    public void showSalaryHistory_ClosedMonths_RollsUpAndListsMonths() {
+        String actual = salaryHistoryService.showSalaryHistory(VALID_DEPARTMENT, "2024-12",
+                "2025-04");
+
+        assertEquals(String.join(System.lineSeparator(),
+                "2024-12 - no employees",
+                "2025-01 - 3 employees, average salary 2200.00",
+                "2025-02 - 3 employees, average salary 2266.67",
+                "2025-03 - 2 employees, average salary 2550.00",
+                "2025-04 - 2 employees, average salary 2550.00"), actual);
+        YearMonth lastClosed = salaryRollupUpdater.lastClosedMonth();
+        assertEquals(lastClosed, salaryHistory.lastRolledUpMonth().orElseThrow());
+        assertEquals(String.format(Messages.SALARY_ROLLUP_MESSAGE, lastClosed, 0),
+                salaryHistoryService.rollUp());
+    }
+
+    @Test
+    @DisplayName("Keep rollups equal to the history at the end of each month")
+    public void rollUp_ChangesDuringMonths_MatchesHistoryAtMonthEnd() {
+        int months = salaryRollupUpdater.rollUp();
+
+        YearMonth lastClosed = salaryRollupUpdater.lastClosedMonth();
+        assertEquals(ChronoUnit.MONTHS.between(FIRST_MONTH, lastClosed) + 1, months);
+        for (int i = 0; i < CHANGED_MONTHS; i++) {
+            YearMonth month = FIRST_MONTH.plusMonths(i);
+            List<DegreeTotalDto> fromHistory = sorted(salaryHistory.totalsAsOf(
+                    VALID_DEPARTMENT_ID, SalaryRollupUpdater.startOf(month.plusMonths(1))));
+            assertEquals(fromHistory, sorted(salaryHistory.rollups(VALID_DEPARTMENT_ID, month,
+                    month).get(month)));
+        }
+        DepartmentCountsDto endOfMarch = salaryHistoryService.findCountsAsOf(VALID_DEPARTMENT,
+                LocalDate.of(2025, 3, 31));
+        assertEquals(1, endOfMarch.count(Employee.Degree.ASSOCIATE_PROFESSOR));
+        assertEquals(new BigDecimal("2550.00"), endOfMarch.averageSalary());
+    }
+
+    @Test
+    @DisplayName("Append salary changes and departures of employees to the history")
+    public void onPostUpdate_SalaryChangedAndMemberLeft_AppendsHistory() {
+        Employee assistant = employeeRepository.findById(1L).orElseThrow();
+        assistant.setSalary(BigDecimal.valueOf(1800));
+        employeeRepository.save(assistant);
+        employeeRepository.deleteById(3L);
+
+        DepartmentCountsDto today = salaryHistoryService.findCountsAsOf(VALID_DEPARTMENT,
+                LocalDate.now(ZoneOffset.UTC));
+        assertEquals(2, today.count());
+        assertEquals(new BigDecimal("2700.00"), today.averageSalary());
+        assertEquals(8, jdbcTemplate.queryForObject("select count(*) from salary_history",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Reject dates and month ranges that can't be read")
+    public void showSalaryHistory_InvalidArguments_ExceptionThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> salaryHistoryService.showAverageSalaryAsOf(VALID_DEPARTMENT, "31.03.2025"));
+        assertThrows(IllegalArgumentException.class,
+                () -> salaryHistoryService.showSalaryHistory(VALID_DEPARTMENT, "2025-13", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> salaryHistoryService.showSalaryHistory(VALID_DEPARTMENT, "2025-04",
+                        "2025-01"));
+    }
+
+    private static List<DegreeTotalDto> sorted(List<DegreeTotalDto> totals) {
+        return totals.stream()
+                .map(total -> new DegreeTotalDto(total.degree(), total.count(),
+                        total.salarySum().setScale(2)))
+                .sorted(Comparator.comparing(DegreeTotalDto::degree))
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package botscrew.task.service;
+
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import botscrew.task.dto.DepartmentRefDto;
+import botscrew.task.model.Employee;
+import botscrew.task.registry.DepartmentRegistry;
+import botscrew.task.res.Messages;
+import botscrew.task.service.impl.SnapshotServiceImpl;
+import botscrew.task.snapshot.EmployeeSnapshot;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import botscrew.task.snapshot.SalarySketch;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotServiceTest {
+    private static final DepartmentRefDto DEPARTMENT =
+            new DepartmentRefDto(VALID_DEPARTMENT_ID, VALID_DEPARTMENT, 2L);
+
+    @Mock
+    private DepartmentRegistry departmentRegistry;
+
+    @Mock
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @InjectMocks
+    private SnapshotServiceImpl snapshotService;
+
+    @Test
+    @DisplayName("Show min, max and sketched salary percentiles of department")
+    public void showSalaryPercentiles_TenEmployees_ReturnsPercentiles() {
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(DEPARTMENT);
+        when(employeeSnapshotStore.get()).thenReturn(tenEmployees());
+
+        List<String> actual = List.of(snapshotService.showSalaryPercentiles(VALID_DEPARTMENT,
+                null).split(System.lineSeparator()));
+
+        assertEquals("min - 1000.00", actual.get(0));
+        assertEquals("max - 10000.00", actual.get(actual.size() - 1));
+        long[] exact = {3000, 5000, 8000, 9000, 10000, 10000};
+        for (int i = 0; i < exact.length; i++) {
+            double sketched = Double.parseDouble(actual.get(i + 1).split(" - ")[1]);
+            assertEquals(exact[i], sketched, exact[i] * SalarySketch.DEFAULT_RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    @DisplayName("Show university salary percentiles of one degree")
+    public void showSalaryPercentiles_UniversityProfessors_ReturnsProfessorSalaries() {
+        when(employeeSnapshotStore.get()).thenReturn(tenEmployees());
+
+        List<String> actual = List.of(snapshotService.showSalaryPercentiles(null,
+                Employee.Degree.PROFESSOR).split(System.lineSeparator()));
+
+        assertEquals("min - 10000.00", actual.get(0));
+        assertEquals("p50 - 10000.00", actual.get(2));
+        assertEquals(String.format(Messages.NO_SALARIES_MESSAGE,
+                Employee.Degree.ASSOCIATE_PROFESSOR.getTitle(), Messages.UNIVERSITY_TITLE),
+                snapshotService.showSalaryPercentiles(null,
+                        Employee.Degree.ASSOCIATE_PROFESSOR));
+        verifyNoInteractions(departmentRegistry);
+    }
+
+    @Test
+    @DisplayName("Show equal-width salary histogram of department")
+    public void showSalaryHistogram_TenEmployees_ReturnsBuckets() {
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(DEPARTMENT);
+        when(employeeSnapshotStore.get()).thenReturn(tenEmployees());
+
+        List<String> actual = List.of(snapshotService.showSalaryHistogram(VALID_DEPARTMENT,
+                null, 3).split(System.lineSeparator()));
+
+        assertEquals(List.of("1000.00 - 4000.01: 4", "4000.01 - 7000.02: 3",
+                "7000.02 - 10000.03: 3"), actual);
+    }
+
+    @Test
+    @DisplayName("Answer that department without employees has no salaries")
+    public void showSalaryPercentiles_EmptyDepartment_ReturnsMessage() {
+        when(departmentRegistry.resolve(VALID_DEPARTMENT)).thenReturn(DEPARTMENT);
+        when(employeeSnapshotStore.get()).thenReturn(EmployeeSnapshot.builder(0).build(0));
+
+        assertEquals(String.format(Messages.NO_SALARIES_MESSAGE, Messages.EMPLOYEES_TITLE,
+                VALID_DEPARTMENT), snapshotService.showSalaryPercentiles(VALID_DEPARTMENT, null));
+    }
+
+    @Test
+    @DisplayName("Try to show histogram with invalid bucket count")
+    public void showSalaryHistogram_InvalidBuckets_ExceptionThrown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> snapshotService.showSalaryHistogram(VALID_DEPARTMENT, null, 0));
+        verifyNoInteractions(employeeSnapshotStore);
+    }
+
+    @Test
+    @DisplayName("Report that the snapshot matches the database")
+    public void check_NoMismatches_ReturnsConsistentMessage() {
+        when(employeeSnapshotStore.check()).thenReturn(List.of());
+        when(employeeSnapshotStore.get()).thenReturn(tenEmployees());
+
+        assertEquals(String.format(Messages.SNAPSHOT_CONSISTENT_MESSAGE, 10),
+                snapshotService.check());
+    }
+
+    private static EmployeeSnapshot tenEmployees() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(10);
+        for (int id = 1; id <= 10; id++) {
+            builder.addEmployee(id, id == 10 ? Employee.Degree.PROFESSOR
+                            : Employee.Degree.ASSISTANT, id * 1_000_00L)
+                    .addMembership(VALID_DEPARTMENT_ID, id);
+        }
+        return builder.build(0);
+    }
+}
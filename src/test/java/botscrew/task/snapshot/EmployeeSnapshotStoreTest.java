@@ -0,0 +1,87 @@
+package botscrew.task.snapshot;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.VALID_DEPARTMENT_ID;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = "snapshot.refresh-interval-seconds=0")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmployeeSnapshotStore.class, EmployeeSnapshotListener.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class EmployeeSnapshotStoreTest {
+    @Autowired
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Load committed employees and memberships that match the database")
+    public void refresh_CommittedData_MatchesDatabase() {
+        EmployeeSnapshot snapshot = employeeSnapshotStore.refresh();
+
+        assertEquals(3, snapshot.employees());
+        assertEquals(3, snapshot.count(VALID_DEPARTMENT_ID));
+        assertEquals(6_600_00, snapshot.salarySumCents(VALID_DEPARTMENT_ID));
+        assertEquals(snapshot, employeeSnapshotStore.current().orElseThrow());
+        assertTrue(employeeSnapshotStore.check().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Report rows changed in the database behind the snapshot")
+    public void check_ChangedBehindSnapshot_ReportsMismatches() {
+        employeeSnapshotStore.refresh();
+        jdbcTemplate.update("update employees set salary = 1500.0 where id = 1");
+        jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                + "values (4, 'Freddie Mercury', 'ASSISTANT', 1500.0)");
+
+        List<EmployeeSnapshotStore.Mismatch> actual = employeeSnapshotStore.check();
+
+        assertEquals(List.of(new EmployeeSnapshotStore.Mismatch(null, 4, 3, 0, 0),
+                new EmployeeSnapshotStore.Mismatch(VALID_DEPARTMENT_ID, 3, 3, 7_100_00,
+                        6_600_00)), actual);
+    }
+
+    @Test
+    @DisplayName("Stop serving exact answers after a committed change until refreshed")
+    public void current_CommittedEmployeeChange_StaleUntilRefresh() {
+        employeeSnapshotStore.refresh();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                employeeRepository.findById(expectedHead.getId()).orElseThrow()
+                        .setSalary(BigDecimal.valueOf(4600)));
+
+        assertTrue(employeeSnapshotStore.current().isEmpty());
+        employeeSnapshotStore.refresh();
+        assertEquals(7_600_00, employeeSnapshotStore.current().orElseThrow()
+                .salarySumCents(VALID_DEPARTMENT_ID));
+    }
+}
@@ -0,0 +1,100 @@
+package botscrew.task.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import botscrew.task.cache.DepartmentAggregate;
+import botscrew.task.model.Employee;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+    private static final long SMALL_DEPARTMENT = 1L;
+    private static final long LARGE_DEPARTMENT = 2L;
+    private static final int EMPLOYEES = 1_000;
+
+    @Test
+    @DisplayName("Aggregate counts per degree and salary sum of department members")
+    public void aggregate_SmallAndLargeDepartments_MatchesMembers() {
+        EmployeeSnapshot snapshot = university();
+
+        DepartmentAggregate small = snapshot.aggregate(SMALL_DEPARTMENT, 7L);
+        final DepartmentAggregate large = snapshot.aggregate(LARGE_DEPARTMENT, 8L);
+
+        assertEquals(10, small.count());
+        assertEquals(3, small.count(Employee.Degree.ASSISTANT));
+        assertEquals(new BigDecimal("10000.55"), small.salarySum());
+        assertEquals(EMPLOYEES / 2, large.count());
+        assertEquals(EMPLOYEES / 2, snapshot.count(LARGE_DEPARTMENT));
+        assertEquals(7L, small.headId());
+        assertEquals(0, snapshot.aggregate(3L, null).count());
+    }
+
+    @Test
+    @DisplayName("Keep salary sketches of department members per degree")
+    public void salarySketch_ShuffledMemberships_CountsMembersByDegree() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.builder(3)
+                .addEmployee(1, Employee.Degree.PROFESSOR, 3_600_00)
+                .addEmployee(2, Employee.Degree.ASSISTANT, 1_000_00)
+                .addEmployee(5, Employee.Degree.ASSOCIATE_PROFESSOR, 2_000_50)
+                .addMembership(SMALL_DEPARTMENT, 1)
+                .addMembership(SMALL_DEPARTMENT, 5)
+                .addMembership(SMALL_DEPARTMENT, 2)
+                .addMembership(SMALL_DEPARTMENT, 404)
+                .build(0);
+
+        SalarySketch all = snapshot.salarySketch(SMALL_DEPARTMENT, null);
+        assertEquals(3, all.count());
+        assertEquals(1_000_00, all.min());
+        assertEquals(3_600_00, all.max());
+        assertEquals(1, snapshot.salarySketch(SMALL_DEPARTMENT, Employee.Degree.PROFESSOR)
+                .count());
+        assertEquals(0, snapshot.salarySketch(LARGE_DEPARTMENT, null).count());
+        assertEquals(3, snapshot.salarySketch(null).count());
+        assertEquals(3, snapshot.memberships());
+    }
+
+    @Test
+    @DisplayName("Convert salaries to cents and back without losing precision")
+    public void toCents_DecimalSalary_RoundTrips() {
+        assertEquals(123_456_789_01L, EmployeeSnapshot.toCents(new BigDecimal("123456789.01")));
+        assertEquals(new BigDecimal("1000.50"), EmployeeSnapshot.fromCents(1_000_50));
+    }
+
+    @Test
+    @DisplayName("Try to add employees out of id order")
+    public void addEmployee_DescendingIds_ExceptionThrown() {
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(2)
+                .addEmployee(2, Employee.Degree.PROFESSOR, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.addEmployee(1, Employee.Degree.PROFESSOR, 1));
+    }
+
+    @Test
+    @DisplayName("Keep large departments as bitsets that are smaller than row lists")
+    public void sizeBytes_LargeDepartment_UsesOneBitPerEmployee() {
+        EmployeeSnapshot snapshot = university();
+
+        long columns = 16 * 3 + EMPLOYEES * 17L;
+        long rowListBytes = EMPLOYEES / 2 * Integer.BYTES;
+        assertTrue(snapshot.sizeBytes() - columns < rowListBytes);
+    }
+
+    private static EmployeeSnapshot university() {
+        Employee.Degree[] degrees = Employee.Degree.values();
+        EmployeeSnapshot.Builder builder = EmployeeSnapshot.builder(0);
+        for (int id = 1; id <= EMPLOYEES; id++) {
+            builder.addEmployee(id, degrees[id % degrees.length], 1_000_00 + id);
+        }
+        for (int id = 1; id <= 10; id++) {
+            builder.addMembership(SMALL_DEPARTMENT, id);
+        }
+        for (int id = 2; id <= EMPLOYEES; id += 2) {
+            builder.addMembership(LARGE_DEPARTMENT, id);
+        }
+        return builder.build(0);
+    }
+}
@@ -0,0 +1,91 @@
+package botscrew.task.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SalarySketchTest {
+    private static final double ACCURACY = 0.01;
+    private static final int SALARIES = 100_000;
+
+    @Test
+    @DisplayName("Keep every quantile within relative accuracy of the exact value")
+    public void quantile_RandomSalaries_WithinRelativeAccuracy() {
+        long[] salaries = salaries(new Random(42), SALARIES);
+        SalarySketch sketch = new SalarySketch(ACCURACY);
+        Arrays.stream(salaries).forEach(sketch::add);
+        Arrays.sort(salaries);
+
+        for (double quantile : new double[]{0.01, 0.25, 0.5, 0.9, 0.99, 1}) {
+            long exact = salaries[(int) Math.ceil(quantile * salaries.length) - 1];
+            assertTrue(Math.abs(sketch.quantile(quantile) - exact) <= exact * ACCURACY,
+                    "quantile " + quantile);
+        }
+        assertEquals(salaries[0], sketch.min());
+        assertEquals(salaries[salaries.length - 1], sketch.max());
+        assertTrue(sketch.buckets() < 1_000);
+    }
+
+    @Test
+    @DisplayName("Merge sketches into the sketch of all their salaries")
+    public void merge_TwoHalves_EqualsWholeSketch() {
+        long[] salaries = salaries(new Random(7), 10_000);
+        SalarySketch whole = new SalarySketch(ACCURACY);
+        SalarySketch low = new SalarySketch(ACCURACY);
+        SalarySketch high = new SalarySketch(ACCURACY);
+        for (long salary : salaries) {
+            whole.add(salary);
+            (salary < 5_000_00 ? low : high).add(salary);
+        }
+
+        SalarySketch merged = low.copy().merge(high);
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.min(), merged.min());
+        assertEquals(whole.max(), merged.max());
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            assertEquals(whole.quantile(quantile), merged.quantile(quantile));
+        }
+        assertEquals(low.count(), low.copy().count());
+    }
+
+    @Test
+    @DisplayName("Split counts into equal-width bins between min and max")
+    public void histogram_ZeroAndPositiveSalaries_CountsEverySalary() {
+        SalarySketch sketch = new SalarySketch(ACCURACY);
+        for (long salary : new long[]{0, 0, 1_000_00, 5_000_00, 9_000_00, 10_000_00}) {
+            sketch.add(salary);
+        }
+
+        assertArrayEquals(new long[]{3, 1, 2}, sketch.histogram(3));
+        assertEquals(0, sketch.quantile(0.25));
+        assertEquals(10_000_00, sketch.quantile(1));
+    }
+
+    @Test
+    @DisplayName("Answer zero for empty sketch and reject invalid arguments")
+    public void quantile_EmptyOrInvalid_ZeroOrExceptionThrown() {
+        SalarySketch sketch = new SalarySketch(ACCURACY);
+
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(0, sketch.max());
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> sketch.merge(new SalarySketch(ACCURACY * 2)));
+    }
+
+    private static long[] salaries(Random random, int size) {
+        long[] salaries = new long[size];
+        for (int i = 0; i < size; i++) {
+            salaries[i] = 500_00 + (long) (Math.abs(random.nextGaussian()) * 3_000_00);
+        }
+        return salaries;
+    }
+}
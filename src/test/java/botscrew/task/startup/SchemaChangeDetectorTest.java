@@ -0,0 +1,101 @@
+package botscrew.task.startup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class SchemaChangeDetectorTest {
+    private static final String DATASOURCE_URL = "jdbc:h2:mem:testdb";
+    private static final String VALIDATE = "validate";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Migrate and validate on first start, then stamp the changelog checksum")
+    public void start_NoStamp_RunsChecksAndWritesStamp() throws IOException {
+        SchemaChangeDetector detector = detector(true, DATASOURCE_URL);
+
+        assertTrue(liquibaseShouldRun(detector));
+        assertEquals(VALIDATE, ddlAuto(detector));
+        detector.onApplicationEvent(mock(ApplicationStartedEvent.class));
+
+        assertEquals(detector.checksum(), Files.readString(stampFile()));
+    }
+
+    @Test
+    @DisplayName("Skip migration and validation when the changelog checksum is unchanged")
+    public void start_StampMatches_SkipsChecks() {
+        detector(true, DATASOURCE_URL).onApplicationEvent(mock(ApplicationStartedEvent.class));
+
+        SchemaChangeDetector detector = detector(true, DATASOURCE_URL);
+
+        assertTrue(detector.isUnchanged());
+        assertFalse(liquibaseShouldRun(detector));
+        assertEquals("none", ddlAuto(detector));
+    }
+
+    @Test
+    @DisplayName("Run checks again for another database")
+    public void start_OtherDatasource_RunsChecks() {
+        detector(true, DATASOURCE_URL).onApplicationEvent(mock(ApplicationStartedEvent.class));
+
+        SchemaChangeDetector detector = detector(true, "jdbc:h2:mem:otherdb");
+
+        assertFalse(detector.isUnchanged());
+        assertTrue(liquibaseShouldRun(detector));
+        assertEquals(VALIDATE, ddlAuto(detector));
+    }
+
+    @Test
+    @DisplayName("Always run checks and leave no stamp unless skipping is enabled")
+    public void start_SkipDisabled_RunsChecksWithoutStamp() {
+        detector(true, DATASOURCE_URL).onApplicationEvent(mock(ApplicationStartedEvent.class));
+
+        SchemaChangeDetector detector = detector(false, DATASOURCE_URL);
+
+        assertTrue(liquibaseShouldRun(detector));
+        assertEquals(VALIDATE, ddlAuto(detector));
+        Path otherStamp = directory.resolve("other");
+        new SchemaChangeDetector(new DefaultResourceLoader(), false, otherStamp.toString(),
+                DATASOURCE_URL).onApplicationEvent(mock(ApplicationStartedEvent.class));
+        assertFalse(Files.exists(otherStamp));
+    }
+
+    private SchemaChangeDetector detector(boolean skipUnchanged, String datasourceUrl) {
+        return new SchemaChangeDetector(new DefaultResourceLoader(), skipUnchanged,
+                stampFile().toString(), datasourceUrl);
+    }
+
+    private Path stampFile() {
+        return directory.resolve("schema").resolve("checksum");
+    }
+
+    private static boolean liquibaseShouldRun(SchemaChangeDetector detector) {
+        SpringLiquibase liquibase = mock(SpringLiquibase.class);
+        detector.postProcessBeforeInitialization(liquibase, "liquibase");
+        return mockingDetails(liquibase).getInvocations().isEmpty();
+    }
+
+    private static String ddlAuto(SchemaChangeDetector detector) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.HBM2DDL_AUTO, VALIDATE);
+        detector.customize(properties);
+        return (String) properties.get(AvailableSettings.HBM2DDL_AUTO);
+    }
+}
@@ -0,0 +1,56 @@
+package botscrew.task.startup;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import botscrew.task.search.EmployeeNameIndex;
+import botscrew.task.snapshot.EmployeeSnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+    private static final long WARMUP_TIMEOUT_MILLIS = 5_000;
+
+    @Mock
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Mock
+    private EmployeeSnapshotStore employeeSnapshotStore;
+
+    private StartupWarmup startupWarmup;
+
+    @BeforeEach
+    void setUp() {
+        startupWarmup = new StartupWarmup(employeeNameIndex, employeeSnapshotStore, true);
+    }
+
+    @Test
+    @DisplayName("Load name index and employee snapshot in background once started")
+    public void start_Started_WarmsUpInBackground() {
+        startupWarmup.start();
+
+        verify(employeeSnapshotStore, timeout(WARMUP_TIMEOUT_MILLIS)).load();
+        InOrder order = inOrder(employeeNameIndex, employeeSnapshotStore);
+        order.verify(employeeNameIndex).rebuild();
+        order.verify(employeeSnapshotStore).load();
+    }
+
+    @Test
+    @DisplayName("Load employee snapshot even when name index can't be loaded")
+    public void warmUp_IndexFails_LoadsSnapshot() {
+        doThrow(new IllegalStateException("Database is unavailable"))
+                .when(employeeNameIndex).rebuild();
+
+        startupWarmup.warmUp();
+
+        verify(employeeSnapshotStore).load();
+    }
+}
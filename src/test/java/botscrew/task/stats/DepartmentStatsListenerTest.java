@@ -0,0 +1,119 @@
+package botscrew.task.stats;
+
+import static botscrew.task.res.TestResources.ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD;
+import static botscrew.task.res.TestResources.NO_SECOND_LEVEL_CACHE;
+import static botscrew.task.res.TestResources.REMOVE_ALL_EMPLOYEES;
+import static botscrew.task.res.TestResources.expectedHead;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import botscrew.task.membership.MembershipLookup;
+import botscrew.task.model.Employee;
+import botscrew.task.repository.DepartmentRepository;
+import botscrew.task.repository.EmployeeRepository;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest(properties = NO_SECOND_LEVEL_CACHE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DepartmentStatsUpdater.class, DepartmentStatsListener.class, MembershipLookup.class})
+@Sql(scripts = {REMOVE_ALL_EMPLOYEES, ADD_THREE_EMPLOYEES_OF_SAME_DEPARTMENT_WITH_HEAD},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = REMOVE_ALL_EMPLOYEES, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class DepartmentStatsListenerTest {
+    private static final long DEPARTMENT_ID = 1L;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentStatsUpdater departmentStatsUpdater;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Move salary and degree change of member between statistic rows")
+    public void onPostUpdate_SalaryAndDegreeChanged_UpdatesStats() {
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        head.setDegree(Employee.Degree.ASSOCIATE_PROFESSOR);
+        head.setSalary(BigDecimal.valueOf(4000));
+        employeeRepository.flush();
+
+        assertEquals(Map.of("ASSISTANT", "1:1000.00", "ASSOCIATE_PROFESSOR", "2:6000.00",
+                "PROFESSOR", "0:0.00"), stats());
+        assertEquals(expectedStats(), stats());
+    }
+
+    @Test
+    @DisplayName("Count members added to and removed from department")
+    public void onPreUpdateCollection_MembershipChanged_UpdatesStats() {
+        Employee head = employeeRepository.findById(expectedHead.getId()).orElseThrow();
+        head.getDepartments().clear();
+        jdbcTemplate.update("insert into employees (id, name, degree, salary) "
+                + "values (4, 'Freddie Mercury', 'ASSISTANT', 1500.0)");
+        Employee newcomer = employeeRepository.findById(4L).orElseThrow();
+        newcomer.getDepartments().add(departmentRepository.findById(DEPARTMENT_ID).orElseThrow());
+        employeeRepository.flush();
+
+        assertEquals(Map.of("ASSISTANT", "2:2500.00", "ASSOCIATE_PROFESSOR", "1:2000.00",
+                "PROFESSOR", "0:0.00"), stats());
+        assertEquals(expectedStats(), stats());
+    }
+
+    @Test
+    @DisplayName("Remove deleted employee from department statistics")
+    public void onPreRemoveCollection_EmployeeDeleted_UpdatesStats() {
+        employeeRepository.deleteById(1L);
+        employeeRepository.flush();
+
+        assertEquals(Map.of("ASSISTANT", "0:0.00", "ASSOCIATE_PROFESSOR", "1:2000.00",
+                "PROFESSOR", "1:3600.00"), stats());
+    }
+
+    @Test
+    @DisplayName("Rebuild drifted statistics from membership table")
+    public void rebuild_DriftedStats_RestoresStats() {
+        jdbcTemplate.update("update department_stats set member_count = 42");
+
+        int rows = departmentStatsUpdater.rebuild();
+
+        assertEquals(3, rows);
+        assertEquals(expectedStats(), stats());
+    }
+
+    private Map<String, String> stats() {
+        Map<String, String> stats = new TreeMap<>();
+        jdbcTemplate.query("select degree, member_count, salary_sum from department_stats "
+                + "where department_id = ?", resultSet -> {
+                    stats.put(resultSet.getString(1), resultSet.getLong(2) + ":"
+                            + resultSet.getBigDecimal(3).setScale(2));
+                }, DEPARTMENT_ID);
+        return stats;
+    }
+
+    private Map<String, String> expectedStats() {
+        Map<String, String> stats = new TreeMap<>();
+        for (Employee.Degree degree : Employee.Degree.values()) {
+            stats.put(degree.name(), "0:0.00");
+        }
+        jdbcTemplate.query("select e.degree, count(*), sum(e.salary) from employees e "
+                + "join employees_departments ed on ed.employee_id = e.id "
+                + "where ed.department_id = ? group by e.degree", resultSet -> {
+                    stats.put(resultSet.getString(1), resultSet.getLong(2) + ":"
+                            + resultSet.getBigDecimal(3).setScale(2));
+                }, DEPARTMENT_ID);
+        return stats;
+    }
+}
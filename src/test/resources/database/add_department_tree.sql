@@ -0,0 +1,15 @@
+insert into employees (id, name, degree, salary) values (1, 'Bob Marley', 'ASSISTANT', 1000.0);
+insert into employees (id, name, degree, salary) values (2, 'Alice Cooper', 'PROFESSOR', 3600.0);
+insert into employees (id, name, degree, salary) values (3, 'Elvis Presley', 'ASSOCIATE_PROFESSOR', 2000.0);
+insert into employees (id, name, degree, salary) values (4, 'Freddie Mercury', 'ASSISTANT', 1500.0);
+insert into employees (id, name, degree, salary) values (5, 'John Lennon', 'ASSOCIATE_PROFESSOR', 2500.0);
+insert into departments (id, name, head_id, parent_id) values (1, 'Science', 2, null);
+insert into departments (id, name, head_id, parent_id) values (2, 'Physics', 3, 1);
+insert into departments (id, name, head_id, parent_id) values (3, 'Optics Lab', 5, 2);
+insert into departments (id, name, head_id, parent_id) values (4, 'Arts', 4, null);
+insert into employees_departments (employee_id, department_id) values (2, 1);
+insert into employees_departments (employee_id, department_id) values (1, 2);
+insert into employees_departments (employee_id, department_id) values (3, 2);
+insert into employees_departments (employee_id, department_id) values (3, 3);
+insert into employees_departments (employee_id, department_id) values (5, 3);
+insert into employees_departments (employee_id, department_id) values (4, 4);
@@ -0,0 +1,6 @@
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 1, 'ASSISTANT', 1000.0, '2025-01-10 12:00:00');
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 2, 'PROFESSOR', 3600.0, '2025-01-10 12:00:00');
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 3, 'ASSOCIATE_PROFESSOR', 2000.0, '2025-01-10 12:00:00');
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 1, 'ASSISTANT', 1200.0, '2025-02-15 12:00:00');
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 3, null, null, '2025-03-05 12:00:00');
+insert into salary_history (department_id, employee_id, degree, salary, effective_from) values (1, 1, 'ASSOCIATE_PROFESSOR', 1500.0, '2025-03-20 12:00:00');
@@ -5,3 +5,4 @@ insert into departments (id, name, head_id) values (1, 'Engineering', 2);
 insert into employees_departments (employee_id, department_id) values (1, 1);
 insert into employees_departments (employee_id, department_id) values (2, 1);
 insert into employees_departments (employee_id, department_id) values (3, 1);
+insert into department_stats (department_id, degree, member_count, salary_sum) select ed.department_id, e.degree, count(*), sum(e.salary) from employees_departments ed join employees e on e.id = ed.employee_id group by ed.department_id, e.degree;
@@ -0,0 +1,61 @@
+insert into employees (id, name, degree, salary) values (1, 'Employee 1', 'ASSOCIATE_PROFESSOR', 1100.0);
+insert into employees (id, name, degree, salary) values (2, 'Employee 2', 'PROFESSOR', 1200.0);
+insert into employees (id, name, degree, salary) values (3, 'Employee 3', 'ASSISTANT', 1300.0);
+insert into employees (id, name, degree, salary) values (4, 'Employee 4', 'ASSOCIATE_PROFESSOR', 1400.0);
+insert into employees (id, name, degree, salary) values (5, 'Employee 5', 'PROFESSOR', 1500.0);
+insert into employees (id, name, degree, salary) values (6, 'Employee 6', 'ASSISTANT', 1600.0);
+insert into employees (id, name, degree, salary) values (7, 'Employee 7', 'ASSOCIATE_PROFESSOR', 1700.0);
+insert into employees (id, name, degree, salary) values (8, 'Employee 8', 'PROFESSOR', 1800.0);
+insert into employees (id, name, degree, salary) values (9, 'Employee 9', 'ASSISTANT', 1900.0);
+insert into employees (id, name, degree, salary) values (10, 'Employee 10', 'ASSOCIATE_PROFESSOR', 2000.0);
+insert into employees (id, name, degree, salary) values (11, 'Employee 11', 'PROFESSOR', 2100.0);
+insert into employees (id, name, degree, salary) values (12, 'Employee 12', 'ASSISTANT', 2200.0);
+insert into employees (id, name, degree, salary) values (13, 'Employee 13', 'ASSOCIATE_PROFESSOR', 2300.0);
+insert into employees (id, name, degree, salary) values (14, 'Employee 14', 'PROFESSOR', 2400.0);
+insert into employees (id, name, degree, salary) values (15, 'Employee 15', 'ASSISTANT', 2500.0);
+insert into employees (id, name, degree, salary) values (16, 'Employee 16', 'ASSOCIATE_PROFESSOR', 2600.0);
+insert into employees (id, name, degree, salary) values (17, 'Employee 17', 'PROFESSOR', 2700.0);
+insert into employees (id, name, degree, salary) values (18, 'Employee 18', 'ASSISTANT', 2800.0);
+insert into employees (id, name, degree, salary) values (19, 'Employee 19', 'ASSOCIATE_PROFESSOR', 2900.0);
+insert into employees (id, name, degree, salary) values (20, 'Employee 20', 'PROFESSOR', 3000.0);
+insert into departments (id, name, head_id) values (1, 'Department 1', 4);
+insert into departments (id, name, head_id) values (2, 'Department 2', 8);
+insert into departments (id, name, head_id) values (3, 'Department 3', 12);
+insert into departments (id, name, head_id) values (4, 'Department 4', 16);
+insert into departments (id, name, head_id) values (5, 'Department 5', 20);
+insert into employees_departments (employee_id, department_id) values (1, 1);
+insert into employees_departments (employee_id, department_id) values (1, 2);
+insert into employees_departments (employee_id, department_id) values (2, 1);
+insert into employees_departments (employee_id, department_id) values (2, 3);
+insert into employees_departments (employee_id, department_id) values (3, 1);
+insert into employees_departments (employee_id, department_id) values (3, 4);
+insert into employees_departments (employee_id, department_id) values (4, 1);
+insert into employees_departments (employee_id, department_id) values (4, 5);
+insert into employees_departments (employee_id, department_id) values (5, 1);
+insert into employees_departments (employee_id, department_id) values (5, 2);
+insert into employees_departments (employee_id, department_id) values (6, 2);
+insert into employees_departments (employee_id, department_id) values (7, 2);
+insert into employees_departments (employee_id, department_id) values (7, 3);
+insert into employees_departments (employee_id, department_id) values (8, 2);
+insert into employees_departments (employee_id, department_id) values (8, 4);
+insert into employees_departments (employee_id, department_id) values (9, 3);
+insert into employees_departments (employee_id, department_id) values (9, 5);
+insert into employees_departments (employee_id, department_id) values (10, 1);
+insert into employees_departments (employee_id, department_id) values (10, 3);
+insert into employees_departments (employee_id, department_id) values (11, 2);
+insert into employees_departments (employee_id, department_id) values (11, 3);
+insert into employees_departments (employee_id, department_id) values (12, 3);
+insert into employees_departments (employee_id, department_id) values (13, 4);
+insert into employees_departments (employee_id, department_id) values (14, 4);
+insert into employees_departments (employee_id, department_id) values (14, 5);
+insert into employees_departments (employee_id, department_id) values (15, 1);
+insert into employees_departments (employee_id, department_id) values (15, 4);
+insert into employees_departments (employee_id, department_id) values (16, 2);
+insert into employees_departments (employee_id, department_id) values (16, 4);
+insert into employees_departments (employee_id, department_id) values (17, 3);
+insert into employees_departments (employee_id, department_id) values (17, 5);
+insert into employees_departments (employee_id, department_id) values (18, 4);
+insert into employees_departments (employee_id, department_id) values (18, 5);
+insert into employees_departments (employee_id, department_id) values (19, 5);
+insert into employees_departments (employee_id, department_id) values (20, 1);
+insert into employees_departments (employee_id, department_id) values (20, 5);
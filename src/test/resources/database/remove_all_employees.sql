@@ -1,3 +1,8 @@
+DELETE FROM change_events;
+DELETE FROM department_stats;
+DELETE FROM salary_rollups;
+DELETE FROM salary_history;
 DELETE FROM employees_departments;
+DELETE FROM department_closure;
 DELETE FROM departments;
 DELETE FROM employees;
@@ -0,0 +1 @@
+DELETE FROM import_progress;
@@ -0,0 +1,14 @@
+#!/bin/sh
+# Runs a single command and exits with its status, for example
+#   ./university.sh --format=json Show count of employee for Mathematics
+# The command goes to the daemon started with `./fast-start.sh --daemon` when one is listening,
+# otherwise it runs in a new JVM. Build the jar first with `./mvnw -P fast-start package`.
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+JAR="$TARGET/university-management.jar"
+ARCHIVE="$TARGET/university-management.jsa"
+SHARE=""
+if [ -f "$ARCHIVE" ] && [ ! "$JAR" -nt "$ARCHIVE" ]; then
+    SHARE="-XX:SharedArchiveFile=$ARCHIVE -Xlog:cds=off"
+fi
+exec java $SHARE -XX:TieredStopAtLevel=1 -Dspring.aot.enabled=true $JAVA_OPTS \
+    -cp "$JAR" botscrew.task.cli.DaemonClient "$@"